@@ -10,6 +10,8 @@ DROP TABLE IF EXISTS transaction;
 DROP TABLE IF EXISTS userCompanyRelation;
 DROP TABLE IF EXISTS company_cryptoAsset;
 DROP TABLE IF EXISTS market;
+DROP TABLE IF EXISTS id_block;
+DROP TABLE IF EXISTS candle;
 
 
 #criando usuario
@@ -70,8 +72,12 @@ create table transaction(
     type VARCHAR(50) not null CHECK (type IN ('BUY', 'SELL')),
     timestamp datetime not null default current_timestamp,
     user_id int null,  
+    price double null, # preço unitário na execução (usado no cálculo de lucro/prejuízo)
+    journal_id bigint null, # journal local de origem (JournaledTransactionDAO)
+    journal_seq bigint null, # sequência da entrada no journal
     primary key(id),
-    unique key uq_user_id(id)
+    unique key uq_user_id(id),
+    unique key uq_journal_entry(journal_id, journal_seq)
 );
 
 use Voltz;
@@ -100,6 +106,28 @@ create table market(
     unique key uq_user_symbol(symbol)
 );
 
+#faixas de IDs reservadas pela aplicação (hi-lo), uma linha por tabela
+use Voltz;
+create table id_block(
+	name VARCHAR(50) not null,
+    next_value bigint not null,
+    primary key(name)
+);
+
+#barras OHLCV fechadas por símbolo e resolução (1m, 5m, 1h, 1d); sem FK para manter o histórico
+use Voltz;
+create table candle(
+	symbol VARCHAR(10) not null,
+    resolution VARCHAR(3) not null,
+    start_time datetime not null,
+    open_price double not null,
+    high_price double not null,
+    low_price double not null,
+    close_price double not null,
+    volume double not null default 0.0,
+    primary key(symbol, resolution, start_time)
+);
+
 #adicionando as fks
 #tabela wallet
 ALTER TABLE wallet
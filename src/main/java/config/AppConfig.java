@@ -0,0 +1,77 @@
+package config;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/**
+ * Acesso centralizado às configurações da aplicação.
+ * Ordem de busca: propriedade de sistema (-DCHAVE=valor), arquivo .env e variáveis de ambiente.
+ */
+public final class AppConfig {
+
+    // Carrega as variáveis do arquivo .env
+    private static final Dotenv dotenv = Dotenv.configure()
+            .directory(".")  // Procura na raiz do projeto
+            .ignoreIfMalformed()
+            .ignoreIfMissing()
+            .load();
+
+    private AppConfig() {
+    }
+
+    public static String get(String key) {
+        String value = System.getProperty(key);
+        return value != null ? value : dotenv.get(key);
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = get(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ Valor inválido para " + key + ": '" + value + "'. Usando padrão " + defaultValue + ".");
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ Valor inválido para " + key + ": '" + value + "'. Usando padrão " + defaultValue + ".");
+            return defaultValue;
+        }
+    }
+
+    public static double getDouble(String key, double defaultValue) {
+        String value = get(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ Valor inválido para " + key + ": '" + value + "'. Usando padrão " + defaultValue + ".");
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+}
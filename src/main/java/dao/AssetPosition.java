@@ -0,0 +1,8 @@
+package dao;
+
+/**
+ * Quantidade de um ativo para um dono (carteira ou empresa), usada nas escritas em lote
+ * de wallet_cryptoAsset e company_cryptoAsset.
+ */
+public record AssetPosition(int ownerId, int cryptoAssetId, double quantity) {
+}
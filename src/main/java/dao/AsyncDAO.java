@@ -0,0 +1,174 @@
+package dao;
+
+import config.AppConfig;
+import db.OracleConnection;
+import model.Company;
+import model.CryptoAsset;
+import model.Transaction;
+import model.User;
+import model.Wallet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fachada assíncrona sobre os DAOs: cada chamada roda em uma virtual thread e devolve um
+ * {@link CompletableFuture}, então consultas independentes podem ser disparadas juntas e a latência
+ * do banco se sobrepõe em vez de se somar.
+ *
+ * A quantidade de chamadas simultâneas é limitada por um semáforo (ASYNC_MAX_CONCURRENCY, por padrão o
+ * tamanho máximo do pool no Oracle). Sem esse limite, as virtual threads excedentes ficariam presas no
+ * pool até o timeout de aquisição; com ele, esperam sua vez sem ocupar conexão nem thread de plataforma.
+ */
+public class AsyncDAO implements AutoCloseable {
+
+    private final DAOFactory factory;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    public AsyncDAO() {
+        this(DAOFactory.getInstance());
+    }
+
+    public AsyncDAO(DAOFactory factory) {
+        this(factory, AppConfig.getInt("ASYNC_MAX_CONCURRENCY", defaultConcurrency(factory)));
+    }
+
+    public AsyncDAO(DAOFactory factory, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concorrência máxima inválida: " + maxConcurrency);
+        }
+        this.factory = factory;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("voltz-async-", 0).factory());
+    }
+
+    private static int defaultConcurrency(DAOFactory factory) {
+        // No Oracle cada chamada segura uma conexão; na memória o limite só evita milhares de tarefas de uma vez
+        return factory.getBackend() == StorageBackend.ORACLE
+                ? OracleConnection.getMaxPoolSize()
+                : Runtime.getRuntime().availableProcessors() * 4;
+    }
+
+    // ===================== GENÉRICOS =====================
+
+    /**
+     * Executa {@code call} com os DAOs da fábrica em uma virtual thread, respeitando o limite de concorrência.
+     * Exceções do DAO completam o future excepcionalmente.
+     */
+    public <T> CompletableFuture<T> supply(Function<DAOFactory, T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException("❌ Chamada assíncrona interrompida aguardando vaga.", e);
+            }
+            try {
+                return call.apply(factory);
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    public CompletableFuture<Void> run(Consumer<DAOFactory> call) {
+        return supply(f -> {
+            call.accept(f);
+            return null;
+        });
+    }
+
+    /**
+     * Dispara {@code call} para cada chave e devolve um future com os resultados na mesma ordem das chaves.
+     */
+    public <K, T> CompletableFuture<List<T>> supplyAll(List<K> keys, BiFunction<DAOFactory, K, T> call) {
+        List<CompletableFuture<T>> futures = keys.stream()
+                .map(key -> supply(f -> call.apply(f, key)))
+                .toList();
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    // ===================== ATALHOS =====================
+
+    public CompletableFuture<User> findUserById(int id) {
+        return supply(f -> f.getUserDAO().findById(id));
+    }
+
+    public CompletableFuture<Company> findCompanyById(int id) {
+        return supply(f -> f.getCompanyDAO().findById(id));
+    }
+
+    public CompletableFuture<CryptoAsset> findCryptoAssetById(int id) {
+        return supply(f -> f.getCryptoAssetDAO().findById(id));
+    }
+
+    public CompletableFuture<Wallet> findWalletById(int id) {
+        return supply(f -> f.getWalletDAO().findById(id));
+    }
+
+    public CompletableFuture<Page<Transaction>> findTransactionsByUserId(int userId, int pageSize, String pageToken) {
+        return supply(f -> f.getTransactionDAO().findByUserId(userId, pageSize, pageToken));
+    }
+
+    public CompletableFuture<List<CryptoAsset>> findCryptoAssetsByWallet(int walletId) {
+        return supply(f -> f.getWalletCryptoAssetDAO().findCryptoAssetsByWallet(walletId));
+    }
+
+    public CompletableFuture<List<CryptoAsset>> findAssetsByCompanyId(int companyId) {
+        return supply(f -> f.getCompanyCryptoAssetDAO().getAssetsByCompanyId(companyId));
+    }
+
+    public CompletableFuture<Map<String, Double>> getAllPrices() {
+        return supply(f -> f.getMarketDAO().getAllPrices());
+    }
+
+    // ===================== ESTADO =====================
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Chamadas executando no momento.
+     */
+    public int getActiveCalls() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * Chamadas aguardando vaga no semáforo.
+     */
+    public int getWaitingCalls() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Não aceita novas chamadas e aguarda as pendentes terminarem.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("⚠️ Chamadas assíncronas ainda pendentes após 30s; interrompendo.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
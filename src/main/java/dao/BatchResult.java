@@ -0,0 +1,126 @@
+package dao;
+
+import config.AppConfig;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma escrita em lote: status de cada linha, na mesma ordem da coleção enviada,
+ * e as mensagens de erro dos lotes/linhas que falharam.
+ */
+public class BatchResult {
+
+    /** Tamanho padrão do lote (DB_BATCH_SIZE no .env). */
+    public static final int DEFAULT_BATCH_SIZE = AppConfig.getInt("DB_BATCH_SIZE", 500);
+
+    // Por linha: contagem de linhas afetadas, Statement.SUCCESS_NO_INFO ou Statement.EXECUTE_FAILED
+    private final int[] rowStatus;
+    private final List<String> errors = new ArrayList<>();
+    private int committedChunks;
+    private int failedChunks;
+
+    public BatchResult(int rows) {
+        this.rowStatus = new int[rows];
+        Arrays.fill(rowStatus, Statement.EXECUTE_FAILED);
+    }
+
+    public void markSuccess(int row, int updateCount) {
+        rowStatus[row] = updateCount;
+    }
+
+    public void markFailed(int row, String error) {
+        rowStatus[row] = Statement.EXECUTE_FAILED;
+        if (error != null) {
+            errors.add("Registro " + row + " do lote: " + error);
+        }
+    }
+
+    public void addError(String error) {
+        errors.add(error);
+    }
+
+    public void chunkCommitted() {
+        committedChunks++;
+    }
+
+    public void chunkFailed() {
+        failedChunks++;
+    }
+
+    public int size() {
+        return rowStatus.length;
+    }
+
+    public boolean isSuccess(int row) {
+        return rowStatus[row] != Statement.EXECUTE_FAILED;
+    }
+
+    /**
+     * @return linhas afetadas pela linha do lote, ou {@link Statement#SUCCESS_NO_INFO} quando o driver não informa
+     */
+    public int getUpdateCount(int row) {
+        return rowStatus[row];
+    }
+
+    public int getSucceededCount() {
+        int count = 0;
+        for (int status : rowStatus) {
+            if (status != Statement.EXECUTE_FAILED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getFailedCount() {
+        return rowStatus.length - getSucceededCount();
+    }
+
+    public List<Integer> getFailedRows() {
+        List<Integer> failed = new ArrayList<>();
+        for (int i = 0; i < rowStatus.length; i++) {
+            if (rowStatus[i] == Statement.EXECUTE_FAILED) {
+                failed.add(i);
+            }
+        }
+        return failed;
+    }
+
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public int getCommittedChunks() {
+        return committedChunks;
+    }
+
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    public boolean isFullySuccessful() {
+        return getFailedCount() == 0;
+    }
+
+    public void printSummary(String description) {
+        int failed = getFailedCount();
+        if (failed == 0) {
+            System.out.println("✅ " + description + ": " + size() + " linha(s) gravada(s) em "
+                    + committedChunks + " lote(s).");
+        } else {
+            System.err.println("⚠️ " + description + ": " + getSucceededCount() + " gravada(s), "
+                    + failed + " com falha.");
+            int shown = Math.min(errors.size(), 5);
+            for (int i = 0; i < shown; i++) {
+                System.err.println("   ❌ " + errors.get(i));
+            }
+            if (errors.size() > shown) {
+                System.err.println("   ... e mais " + (errors.size() - shown) + " erro(s).");
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package dao;
+
+import model.Candle;
+import model.CandleResolution;
+
+import java.util.List;
+
+/**
+ * Operações de persistência da tabela candle (barras OHLCV fechadas por símbolo e resolução).
+ */
+public interface CandleDAO {
+
+    /**
+     * Insere ou atualiza os candles em lote (chave: símbolo, resolução e início).
+     */
+    default BatchResult saveAll(List<Candle> candles) {
+        return saveAll(candles, BatchResult.DEFAULT_BATCH_SIZE);
+    }
+
+    BatchResult saveAll(List<Candle> candles, int batchSize);
+
+    /**
+     * Os {@code limit} candles mais recentes do símbolo, do mais antigo para o mais recente.
+     */
+    List<Candle> findLast(String symbol, CandleResolution resolution, int limit);
+}
@@ -0,0 +1,9 @@
+package dao;
+
+import java.time.LocalDate;
+
+/**
+ * Linha da tabela userCompanyRelation, usada nas escritas em lote.
+ */
+public record CompanyInvestment(int userId, int companyId, double investedAmount, LocalDate startDate) {
+}
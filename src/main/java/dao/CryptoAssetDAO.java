@@ -1,128 +1,54 @@
 package dao;
 
-import db.OracleConnection;
 import model.CryptoAsset;
-import java.sql.*;
-import java.util.ArrayList;
+
 import java.util.List;
+import java.util.stream.Stream;
 
-public class CryptoAssetDAO {
+/**
+ * Operações de persistência da tabela cryptoAsset.
+ */
+public interface CryptoAssetDAO {
 
-    // CREATE - Inserir novo crypto asset
-    public boolean insert(CryptoAsset cryptoAsset) {
-        String sql = "INSERT INTO cryptoAsset (name, symbol, quantity, price) VALUES (?, ?, ?, ?)";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, cryptoAsset.getName());
-            stmt.setString(2, cryptoAsset.getSymbol());
-            stmt.setDouble(3, cryptoAsset.getQuantity());
-            stmt.setDouble(4, cryptoAsset.getPrice());
-            boolean success = stmt.executeUpdate() > 0;
-            
-            if (success) {
-                System.out.println("✅ CryptoAsset inserido com sucesso!");
-            } else {
-                System.out.println("❌ Erro ao inserir cryptoAsset");
-            }
-            return success;
-            
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao inserir cryptoAsset: " + e.getMessage());
-            return false;
-        }
-    }
+    boolean insert(CryptoAsset cryptoAsset);
 
-    // READ - Buscar crypto asset por ID
-    public CryptoAsset findById(int id) {
-        String sql = "SELECT * FROM cryptoAsset WHERE id = ?";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, id);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return new CryptoAsset(
-                        rs.getString("name"),
-                        rs.getString("symbol"),
-                        rs.getDouble("quantity"),
-                        rs.getDouble("price")
-                    );
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao buscar cryptoAsset por ID: " + e.getMessage());
-        }
-        return null;
+    /**
+     * Insere os ativos em lote. O ID é gerado pelo banco, como em {@link #insert}.
+     */
+    default BatchResult insertAll(List<CryptoAsset> cryptoAssets) {
+        return insertAll(cryptoAssets, BatchResult.DEFAULT_BATCH_SIZE);
     }
 
-    // READ - Listar todos os crypto assets
-    public List<CryptoAsset> findAll() {
-        List<CryptoAsset> cryptoAssets = new ArrayList<>();
-        String sql = "SELECT * FROM cryptoAsset";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            while (rs.next()) {
-                cryptoAssets.add(new CryptoAsset(
-                    rs.getString("name"),
-                    rs.getString("symbol"),
-                    rs.getDouble("quantity"),
-                    rs.getDouble("price")
-                ));
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao listar cryptoAssets: " + e.getMessage());
-        }
-        return cryptoAssets;
-    }
+    BatchResult insertAll(List<CryptoAsset> cryptoAssets, int batchSize);
 
-    // UPDATE - Atualizar crypto asset
-    public boolean update(CryptoAsset cryptoAsset, String originalSymbol) {
-        String sql = "UPDATE cryptoAsset SET name = ?, symbol = ?, quantity = ?, price = ? WHERE symbol = ?";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, cryptoAsset.getName());
-            stmt.setString(2, cryptoAsset.getSymbol());
-            stmt.setDouble(3, cryptoAsset.getQuantity());
-            stmt.setDouble(4, cryptoAsset.getPrice());
-            stmt.setString(5, originalSymbol);
-            boolean success = stmt.executeUpdate() > 0;
-            
-            if (success) {
-                System.out.println("✅ CryptoAsset atualizado com sucesso!");
-            } else {
-                System.out.println("❌ CryptoAsset não encontrado para atualizar");
-            }
-            return success;
-            
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao atualizar cryptoAsset: " + e.getMessage());
-            return false;
-        }
-    }
+    CryptoAsset findById(int id);
+
+    List<CryptoAsset> findAll();
 
-    // DELETE - Deletar crypto asset
-    public boolean delete(String symbol) {
-        String sql = "DELETE FROM cryptoAsset WHERE symbol = ?";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, symbol);
-            boolean success = stmt.executeUpdate() > 0;
-            
-            if (success) {
-                System.out.println("✅ CryptoAsset deletado com sucesso!");
-            } else {
-                System.out.println("❌ CryptoAsset não encontrado para deletar");
-            }
-            return success;
-            
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao deletar cryptoAsset: " + e.getMessage());
-            return false;
-        }
+    /**
+     * Página de ativos ordenada por ID.
+     *
+     * @param pageToken {@code null} para a primeira página, ou {@link Page#nextPageToken()} da anterior
+     */
+    Page<CryptoAsset> findAll(int pageSize, String pageToken);
+
+    /**
+     * Todos os ativos ordenados por ID, lidos sob demanda. A stream mantém uma conexão emprestada
+     * até ser fechada: use try-with-resources.
+     */
+    default Stream<CryptoAsset> streamAll() {
+        return streamAll(DAOFactory.DEFAULT_FETCH_SIZE);
     }
-}
\ No newline at end of file
+
+    /**
+     * @param fetchSize linhas buscadas por round trip ao banco
+     */
+    Stream<CryptoAsset> streamAll(int fetchSize);
+
+    /**
+     * Atualiza o ativo identificado por {@code originalSymbol} (o símbolo também pode ser alterado).
+     */
+    boolean update(CryptoAsset cryptoAsset, String originalSymbol);
+
+    boolean delete(String symbol);
+}
@@ -0,0 +1,76 @@
+package dao;
+
+import config.AppConfig;
+import dao.memory.InMemoryDAOFactory;
+import dao.oracle.OracleDAOFactory;
+
+/**
+ * Ponto único de obtenção dos DAOs. O backend é escolhido na inicialização da aplicação
+ * (ver {@link #initialize(StorageBackend)}) ou, se não for escolhido, pela configuração STORAGE_BACKEND.
+ */
+public abstract class DAOFactory {
+
+    /**
+     * Linhas buscadas por round trip nas consultas em stream (ex.: {@link WalletDAO#streamAll()}).
+     */
+    public static final int DEFAULT_FETCH_SIZE = AppConfig.getInt("DB_FETCH_SIZE", 500);
+
+    private static volatile DAOFactory instance;
+
+    public static DAOFactory getInstance() {
+        DAOFactory current = instance;
+        if (current == null) {
+            synchronized (DAOFactory.class) {
+                current = instance;
+                if (current == null) {
+                    current = create(StorageBackend.fromString(AppConfig.get("STORAGE_BACKEND")));
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Define o backend usado por toda a aplicação. Deve ser chamado antes do primeiro acesso aos DAOs.
+     */
+    public static synchronized DAOFactory initialize(StorageBackend backend) {
+        instance = create(backend);
+        return instance;
+    }
+
+    private static DAOFactory create(StorageBackend backend) {
+        return backend == StorageBackend.MEMORY ? new InMemoryDAOFactory() : new OracleDAOFactory();
+    }
+
+    public abstract StorageBackend getBackend();
+
+    /**
+     * Gerador de IDs das tabelas cujo ID é informado pela aplicação (users, wallet).
+     */
+    public abstract IdGenerator getIdGenerator();
+
+    public abstract UserDAO getUserDAO();
+
+    public abstract CompanyDAO getCompanyDAO();
+
+    public abstract CryptoAssetDAO getCryptoAssetDAO();
+
+    public abstract WalletDAO getWalletDAO();
+
+    public abstract MarketDAO getMarketDAO();
+
+    public abstract TransactionDAO getTransactionDAO();
+
+    public abstract TradeDAO getTradeDAO();
+
+    public abstract CandleDAO getCandleDAO();
+
+    public abstract CompanyCryptoAssetDAO getCompanyCryptoAssetDAO();
+
+    public abstract WalletCryptoAssetDAO getWalletCryptoAssetDAO();
+
+    public abstract UserCompanyRelationDAO getUserCompanyRelationDAO();
+
+    public abstract PortfolioDAO getPortfolioDAO();
+}
@@ -0,0 +1,22 @@
+package dao;
+
+/**
+ * Reserva de faixas de IDs (tabela id_block), usada pelo {@link IdGenerator}.
+ */
+public interface IdBlockDAO {
+
+    /**
+     * Reserva atomicamente {@code blockSize} IDs consecutivos da sequência. A faixa devolvida não é
+     * entregue a nenhum outro chamador, nem em outra instância da aplicação.
+     *
+     * @param sequence nome da sequência, igual ao nome da tabela cujos IDs ela gera (ex.: "users")
+     * @return o primeiro ID da faixa [primeiro, primeiro + blockSize)
+     */
+    long reserveBlock(String sequence, int blockSize);
+
+    /**
+     * Garante que as próximas faixas reservadas comecem depois de {@code id}, usado antes de gravar
+     * uma linha com ID explícito (importação, lote, testes).
+     */
+    void advancePast(String sequence, long id);
+}
@@ -0,0 +1,83 @@
+package dao;
+
+import config.AppConfig;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gerador de IDs hi-lo: reserva no banco uma faixa de {@code blockSize} IDs por vez e entrega os IDs
+ * da faixa em memória, então só uma chamada a cada {@code blockSize} faz round trip. Como a reserva é
+ * atômica no banco, várias instâncias da aplicação nunca recebem o mesmo ID.
+ *
+ * IDs de uma faixa não usada até o fim (ex.: reinício da aplicação) são perdidos; a sequência tem
+ * lacunas, mas não repete. Quem grava um ID explícito chama antes {@link #reserveExplicit}, para a
+ * sequência nunca gerar esse ID depois.
+ */
+public class IdGenerator {
+
+    public static final int DEFAULT_BLOCK_SIZE = AppConfig.getInt("ID_BLOCK_SIZE", 50);
+
+    public static final String USERS = "users";
+    public static final String WALLET = "wallet";
+
+    private final IdBlockDAO blockDAO;
+    private final int blockSize;
+    private final ConcurrentHashMap<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public IdGenerator(IdBlockDAO blockDAO) {
+        this(blockDAO, DEFAULT_BLOCK_SIZE);
+    }
+
+    public IdGenerator(IdBlockDAO blockDAO, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Tamanho de bloco de IDs inválido: " + blockSize);
+        }
+        this.blockDAO = blockDAO;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Próximo ID da sequência. Só acessa o banco quando a faixa reservada acaba.
+     */
+    public int nextId(String sequence) {
+        return blocks.computeIfAbsent(sequence, name -> new Block()).next(sequence);
+    }
+
+    /**
+     * Registra que {@code id} vai ser gravado com valor explícito: a sequência no banco passa a começar
+     * depois dele, e o restante da faixa já reservada aqui é descartado se puder chegar a ele.
+     */
+    public void reserveExplicit(String sequence, long id) {
+        if (id <= 0) {
+            return;
+        }
+        blockDAO.advancePast(sequence, id);
+        Block block = blocks.get(sequence);
+        if (block != null) {
+            block.skipPast(id);
+        }
+    }
+
+    /**
+     * Faixa reservada de uma sequência. A reserva de uma nova faixa acontece dentro do lock da própria
+     * sequência, então sequências diferentes não esperam umas pelas outras.
+     */
+    private final class Block {
+        private long next;
+        private long limit;
+
+        private synchronized int next(String sequence) {
+            if (next >= limit) {
+                next = blockDAO.reserveBlock(sequence, blockSize);
+                limit = next + blockSize;
+            }
+            return Math.toIntExact(next++);
+        }
+
+        private synchronized void skipPast(long id) {
+            if (id >= next) {
+                next = limit;
+            }
+        }
+    }
+}
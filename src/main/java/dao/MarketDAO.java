@@ -1,92 +1,52 @@
 package dao;
 
-import db.OracleConnection;
-import model.Market;
-
-import java.sql.*;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-public class MarketDAO {
-
-   public void save(String symbol, double price) {
-        String sql = "MERGE INTO market m " +
-                     "USING (SELECT ? AS symbol, ? AS price FROM dual) src " +
-                     "ON (m.symbol = src.symbol) " +
-                     "WHEN MATCHED THEN " +
-                     "  UPDATE SET m.price = src.price, m.last_updated = ? " +
-                     "WHEN NOT MATCHED THEN " +
-                     "  INSERT (symbol, price, last_updated) VALUES (src.symbol, src.price, ?)";
-        
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
-            stmt.setString(1, symbol);
-            stmt.setDouble(2, price);
-            stmt.setTimestamp(3, now);
-            stmt.setTimestamp(4, now);
-
-
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected > 0) {
-                System.out.println("✅ Preço para o símbolo " + symbol + " salvo/atualizado com sucesso.");
-            } else {
-                System.out.println("⚠️ Nenhuma alteração no preço para o símbolo " + symbol);
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao salvar preço no mercado: " + e.getMessage());
-        }
+/**
+ * Operações de persistência da tabela market (último preço por símbolo).
+ */
+public interface MarketDAO {
+
+    /**
+     * Insere ou atualiza o preço do símbolo.
+     *
+     * @return {@code true} se o preço foi gravado (ou aceito para gravação adiada)
+     */
+    boolean save(String symbol, double price);
+
+    /**
+     * Como {@link #save}, sem a mensagem de sucesso: para feeds de alta frequência (ex.: simulador de
+     * mercado), que mostrariam uma linha por tick. Erros continuam sendo mostrados.
+     *
+     * @return {@code true} se o preço foi gravado (ou aceito para gravação adiada)
+     */
+    boolean saveTick(String symbol, double price);
+
+    /**
+     * Insere ou atualiza os preços em lote. As linhas do resultado seguem a ordem de iteração do mapa.
+     */
+    default BatchResult saveAll(Map<String, Double> prices) {
+        return saveAll(prices, BatchResult.DEFAULT_BATCH_SIZE);
     }
 
-   public Double getPrice(String symbol) {
-        String sql = "SELECT price FROM market WHERE symbol = ?";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    BatchResult saveAll(Map<String, Double> prices, int batchSize);
 
-            stmt.setString(1, symbol);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getDouble("price");
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao buscar preço por símbolo: " + e.getMessage());
-        }
-        return null;
-    }
-
-   public Map<String, Double> getAllPrices() {
-        Map<String, Double> prices = new HashMap<>();
-        String sql = "SELECT symbol, price FROM market";
-        try (Connection conn = OracleConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    /**
+     * @return o preço do símbolo, ou {@code null} se não existir
+     */
+    Double getPrice(String symbol);
 
-            while (rs.next()) {
-                prices.put(rs.getString("symbol"), rs.getDouble("price"));
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao recuperar todos os preços do mercado: " + e.getMessage());
-        }
-        return prices;
-    }
+    Map<String, Double> getAllPrices();
 
-   public void delete(String symbol) {
-        String sql = "DELETE FROM market WHERE symbol = ?";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Preços alterados depois de {@code since} (ou todos, se {@code null}), do mais antigo para o mais
+     * recente. Usado para atualizar incrementalmente cópias dos preços em memória.
+     *
+     * @throws IllegalStateException se a consulta falhar: uma lista vazia significaria "nada mudou"
+     */
+    List<PriceUpdate> findUpdatedSince(LocalDateTime since);
 
-            stmt.setString(1, symbol);
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected > 0) {
-                System.out.println("✅ Símbolo " + symbol + " removido do mercado.");
-            } else {
-                System.out.println("⚠️ Símbolo " + symbol + " não encontrado para exclusão.");
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao excluir símbolo do mercado: " + e.getMessage());
-        }
-    }
+    void delete(String symbol);
 }
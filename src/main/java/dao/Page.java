@@ -0,0 +1,37 @@
+package dao;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma consulta paginada por chave (keyset).
+ *
+ * @param nextPageToken token opaco para buscar a próxima página, ou {@code null} se esta for a última
+ */
+public record Page<T>(List<T> items, String nextPageToken) {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public boolean hasNext() {
+        return nextPageToken != null;
+    }
+
+    /**
+     * Monta a página a partir de até {@code pageSize + 1} linhas lidas: a linha extra só indica que
+     * existe uma próxima página, cujo token é a chave do último item mantido.
+     */
+    public static <T> Page<T> of(List<T> rows, int pageSize, Function<T, String> tokenOf) {
+        if (rows.size() <= pageSize) {
+            return new Page<>(List.copyOf(rows), null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, pageSize));
+        return new Page<>(items, tokenOf.apply(items.get(items.size() - 1)));
+    }
+
+    /**
+     * Limita o tamanho de página pedido a 1..{@link #MAX_PAGE_SIZE}.
+     */
+    public static int clampSize(int pageSize) {
+        return Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,68 @@
+package dao;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Codificação dos tokens de continuação de {@link Page}: os valores da chave do último item da
+ * página, em Base64 para que o chamador os trate como opacos.
+ */
+public final class PageToken {
+
+    private static final String VERSION = "v1";
+
+    private PageToken() {
+    }
+
+    public static String encode(long... keys) {
+        StringBuilder raw = new StringBuilder(VERSION);
+        for (long key : keys) {
+            raw.append(':').append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o token não foi gerado por {@link #encode} com {@code expectedKeys} valores
+     */
+    public static long[] decode(String token, int expectedKeys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(":");
+            if (parts.length != expectedKeys + 1 || !parts[0].equals(VERSION)) {
+                throw new IllegalArgumentException("Token de página inválido.");
+            }
+            long[] keys = new long[expectedKeys];
+            for (int i = 0; i < expectedKeys; i++) {
+                keys[i] = Long.parseLong(parts[i + 1]);
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Token de página inválido.", e);
+        }
+    }
+
+    /**
+     * Chave numérica simples (ID); sem token, começa antes do menor ID possível.
+     */
+    public static int decodeId(String token) {
+        return token == null ? Integer.MIN_VALUE : (int) decode(token, 1)[0];
+    }
+
+    public static String encodeId(int id) {
+        return encode(id);
+    }
+
+    /**
+     * Chave (data/hora, ID), usada na ordenação das transações.
+     */
+    public static String encodeTimestampAndId(LocalDateTime timestamp, long id) {
+        return encode(timestamp.toEpochSecond(ZoneOffset.UTC), timestamp.getNano(), id);
+    }
+
+    public static LocalDateTime decodeTimestamp(long[] keys) {
+        return LocalDateTime.ofEpochSecond(keys[0], (int) keys[1], ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,56 @@
+package dao;
+
+import model.Company;
+import model.Wallet;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Leitura em massa das carteiras e empresas com as posições, em poucas consultas com JOIN no lugar de
+ * uma consulta por carteira ({@link WalletCryptoAssetDAO#findCryptoAssetsByWallet}) ou por empresa
+ * ({@link CompanyCryptoAssetDAO#getAssetsByCompanyId}).
+ */
+public interface PortfolioDAO {
+
+    /**
+     * Lê carteiras, empresas e preços numa visão consistente (transação somente leitura).
+     *
+     * @throws IllegalStateException se a leitura falhar; um snapshot parcial avaliaria carteiras como vazias
+     */
+    PortfolioSnapshot loadSnapshot();
+
+    /**
+     * Todas as empresas, ordenadas por ID, com as alocações preenchidas.
+     */
+    List<Company> loadCompanies();
+
+    /**
+     * Todas as carteiras, ordenadas por ID, com os ativos, montadas à medida que a stream é consumida:
+     * só a carteira atual fica em memória. A stream mantém uma conexão emprestada até ser fechada: use
+     * try-with-resources.
+     *
+     * @throws UncheckedSQLException se a leitura falhar no meio da stream
+     */
+    default Stream<Wallet> streamWallets() {
+        return streamWallets(DAOFactory.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * @param fetchSize linhas buscadas por round trip ao banco
+     */
+    Stream<Wallet> streamWallets(int fetchSize);
+
+    /**
+     * Todas as empresas, ordenadas por ID, com as alocações, montadas à medida que a stream é consumida.
+     * Mesmas regras de {@link #streamWallets()}.
+     */
+    default Stream<Company> streamCompanies() {
+        return streamCompanies(DAOFactory.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * @param fetchSize linhas buscadas por round trip ao banco
+     */
+    Stream<Company> streamCompanies(int fetchSize);
+}
@@ -0,0 +1,20 @@
+package dao;
+
+import model.Company;
+import model.Wallet;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carteiras (com os ativos), empresas (com as alocações) e preços de mercado lidos no mesmo instante.
+ * O preço de cada ativo é o da tabela market, ou o do cadastro do ativo se o símbolo não tiver cotação.
+ *
+ * @param wallets   todas as carteiras, ordenadas por ID, com {@link Wallet#getAssets()} preenchido
+ * @param companies todas as empresas, ordenadas por ID, com {@link model.Company#getAllocatedAssets()} preenchido
+ * @param prices    preços da tabela market por símbolo
+ */
+public record PortfolioSnapshot(List<Wallet> wallets, List<Company> companies, Map<String, Double> prices,
+                                LocalDateTime readAt) {
+}
@@ -0,0 +1,9 @@
+package dao;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha da tabela market com a data/hora da última alteração.
+ */
+public record PriceUpdate(String symbol, double price, LocalDateTime lastUpdated) {
+}
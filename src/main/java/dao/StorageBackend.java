@@ -0,0 +1,23 @@
+package dao;
+
+/**
+ * Backends de armazenamento disponíveis para os DAOs.
+ */
+public enum StorageBackend {
+    /** Banco Oracle via JDBC (padrão). */
+    ORACLE,
+    /** Tabelas em memória, sem banco - para benchmarks e execuções sem Oracle. */
+    MEMORY;
+
+    public static StorageBackend fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return ORACLE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️ Backend de armazenamento desconhecido: '" + value + "'. Usando ORACLE.");
+            return ORACLE;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package dao;
+
+/**
+ * Execução de compras e vendas: grava a transação e ajusta a quantidade do ativo na carteira
+ * atomicamente, sem o ciclo ler-calcular-gravar feito pelo chamador.
+ */
+public interface TradeDAO {
+
+    /**
+     * Aplica {@code +amount} (BUY) ou {@code -amount} (SELL) à posição da carteira, criando a posição se
+     * ainda não existir, e registra a transação para o dono da carteira. Tudo ou nada: uma venda maior
+     * que o saldo é rejeitada e nada é gravado.
+     *
+     * @param type "BUY" ou "SELL"
+     */
+    TradeResult execute(int walletId, int cryptoAssetId, String type, double amount);
+}
@@ -0,0 +1,60 @@
+package dao;
+
+/**
+ * Resultado de uma operação de {@link TradeDAO#execute}.
+ *
+ * @param newBalance quantidade do ativo na carteira depois da operação (só quando {@link #isSuccess()})
+ * @param detail     mensagem do banco quando {@code status} é {@link Status#ERROR}
+ */
+public record TradeResult(Status status, int walletId, int cryptoAssetId, double newBalance, String detail) {
+
+    public enum Status {
+        EXECUTED,
+        /** Venda maior que a quantidade em carteira (ou ativo ausente da carteira). */
+        INSUFFICIENT_BALANCE,
+        WALLET_NOT_FOUND,
+        ASSET_NOT_FOUND,
+        /** Tipo diferente de BUY/SELL ou quantidade não positiva. */
+        INVALID,
+        ERROR
+    }
+
+    public static TradeResult executed(int walletId, int cryptoAssetId, double newBalance) {
+        return new TradeResult(Status.EXECUTED, walletId, cryptoAssetId, newBalance, null);
+    }
+
+    public static TradeResult rejected(Status status, int walletId, int cryptoAssetId) {
+        return new TradeResult(status, walletId, cryptoAssetId, Double.NaN, null);
+    }
+
+    public static TradeResult error(int walletId, int cryptoAssetId, String detail) {
+        return new TradeResult(Status.ERROR, walletId, cryptoAssetId, Double.NaN, detail);
+    }
+
+    public boolean isSuccess() {
+        return status == Status.EXECUTED;
+    }
+
+    public String getMessage() {
+        return switch (status) {
+            case EXECUTED -> "✅ Operação executada. Novo saldo do ativo " + cryptoAssetId + " na carteira "
+                    + walletId + ": " + newBalance;
+            case INSUFFICIENT_BALANCE -> "❌ Saldo insuficiente do ativo " + cryptoAssetId + " na carteira " + walletId + ".";
+            case WALLET_NOT_FOUND -> "❌ Carteira " + walletId + " não existe.";
+            case ASSET_NOT_FOUND -> "❌ Ativo " + cryptoAssetId + " não existe.";
+            case INVALID -> "❌ Operação inválida: o tipo deve ser BUY ou SELL e a quantidade maior que zero.";
+            case ERROR -> "❌ Erro ao executar operação: " + detail;
+        };
+    }
+
+    /**
+     * Mostra a mensagem no console: sucesso em stdout, rejeição ou erro em stderr.
+     */
+    public void print() {
+        if (isSuccess()) {
+            System.out.println(getMessage());
+        } else {
+            System.err.println(getMessage());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package dao;
+
+import java.sql.SQLException;
+
+/**
+ * Falha de banco durante a leitura de uma stream dos DAOs, onde não é possível lançar
+ * {@link SQLException}. Diferencia o erro do fim normal dos dados.
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    public UncheckedSQLException(String message, SQLException cause) {
+        super(message + ": " + cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
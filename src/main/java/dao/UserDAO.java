@@ -0,0 +1,78 @@
+package dao;
+
+import model.User;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Operações de persistência da tabela users.
+ */
+public interface UserDAO {
+
+    boolean existsById(int id);
+
+    boolean existsByEmail(String email);
+
+    /**
+     * Gera o próximo ID disponível automaticamente, pelo {@link IdGenerator} (sem consultar MAX(id)).
+     * O ID é reservado mesmo que não seja usado.
+     */
+    int getNextAvailableId();
+
+    /**
+     * Insere o usuário com um único INSERT, contando com as constraints únicas do banco em vez de
+     * consultar antes. Sem ID (zero), um novo ID é gerado e atribuído ao próprio objeto; um ID informado
+     * nunca é trocado: se já estiver em uso, o resultado é {@link UserWriteResult.Status#DUPLICATE_ID}.
+     * Com email já em uso, nada é inserido e o resultado é {@link UserWriteResult.Status#DUPLICATE_EMAIL}.
+     */
+    UserWriteResult insert(User user);
+
+    /**
+     * Insere os usuários em lote com os IDs informados. Diferente de {@link #insert}, não gera um novo ID
+     * em caso de conflito: a linha é reportada como falha no resultado.
+     */
+    default BatchResult insertAll(List<User> users) {
+        return insertAll(users, BatchResult.DEFAULT_BATCH_SIZE);
+    }
+
+    BatchResult insertAll(List<User> users, int batchSize);
+
+    /**
+     * Atualiza nome, email e senha com um único UPDATE ({@code NOT_FOUND} se o ID não existe).
+     */
+    UserWriteResult update(User user);
+
+    /**
+     * Exclui com um único DELETE ({@code NOT_FOUND} se o ID não existe, {@code REFERENCED} se há FKs).
+     */
+    UserWriteResult delete(User user);
+
+    User findById(int id);
+
+    User findByEmail(String email);
+
+    List<User> findAll();
+
+    /**
+     * Página de usuários ordenada por ID.
+     *
+     * @param pageToken {@code null} para a primeira página, ou {@link Page#nextPageToken()} da anterior
+     */
+    Page<User> findAll(int pageSize, String pageToken);
+
+    /**
+     * Todos os usuários ordenados por ID, lidos sob demanda. A stream mantém uma conexão emprestada
+     * até ser fechada: use try-with-resources.
+     */
+    default Stream<User> streamAll() {
+        return streamAll(DAOFactory.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * @param fetchSize linhas buscadas por round trip ao banco
+     */
+    Stream<User> streamAll(int fetchSize);
+
+    void deleteAll();
+}
@@ -0,0 +1,63 @@
+package dao;
+
+/**
+ * Resultado de uma escrita em users ({@link UserDAO#insert}, {@link UserDAO#update}, {@link UserDAO#delete}).
+ * O DAO não imprime nada: quem chama decide como mostrar o conflito (ver {@link #print()}).
+ *
+ * @param userId ID do usuário afetado (em um insert, o ID realmente gravado)
+ * @param detail mensagem do banco quando {@code status} é {@link Status#ERROR}
+ */
+public record UserWriteResult(Status status, int userId, String detail) {
+
+    public enum Status {
+        INSERTED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        DUPLICATE_ID,
+        DUPLICATE_EMAIL,
+        /** Exclusão bloqueada por carteiras, transações ou relações que apontam para o usuário. */
+        REFERENCED,
+        ERROR
+    }
+
+    public static UserWriteResult of(Status status, int userId) {
+        return new UserWriteResult(status, userId, null);
+    }
+
+    public static UserWriteResult error(int userId, String detail) {
+        return new UserWriteResult(Status.ERROR, userId, detail);
+    }
+
+    public boolean isSuccess() {
+        return status == Status.INSERTED || status == Status.UPDATED || status == Status.DELETED;
+    }
+
+    public boolean isConflict() {
+        return status == Status.DUPLICATE_ID || status == Status.DUPLICATE_EMAIL || status == Status.REFERENCED;
+    }
+
+    public String getMessage() {
+        return switch (status) {
+            case INSERTED -> "✅ Usuário inserido com sucesso (ID: " + userId + ")";
+            case UPDATED -> "✅ Usuário atualizado com sucesso (ID: " + userId + ")";
+            case DELETED -> "✅ Usuário excluído com sucesso (ID: " + userId + ")";
+            case NOT_FOUND -> "❌ Usuário com ID " + userId + " não existe.";
+            case DUPLICATE_ID -> "❌ Já existe um usuário com o ID " + userId + ".";
+            case DUPLICATE_EMAIL -> "❌ Email já está sendo usado por outro usuário.";
+            case REFERENCED -> "❌ Existem carteiras, transações ou relações vinculadas ao usuário ID " + userId + ".";
+            case ERROR -> "❌ Erro ao gravar usuário: " + detail;
+        };
+    }
+
+    /**
+     * Mostra a mensagem no console: sucesso em stdout, conflito ou erro em stderr.
+     */
+    public void print() {
+        if (isSuccess()) {
+            System.out.println(getMessage());
+        } else {
+            System.err.println(getMessage());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package dao.cache;
+
+/**
+ * Fotografia dos contadores de um {@link EntityCache} em um dado instante.
+ *
+ * @param negativeHits acertos em entradas de "não existe" (também contados em {@code hits})
+ */
+public record CacheStats(
+        String name,
+        int size,
+        long hits,
+        long negativeHits,
+        long misses,
+        long evictions,
+        long expirations,
+        long invalidations
+) {
+
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: tamanho=%d | hits=%d (negativos=%d) | misses=%d | evictions=%d | " +
+                        "expiradas=%d | invalidações=%d (%.1f%%)",
+                name, size, hits, negativeHits, misses, evictions, expirations, invalidations, hitRate() * 100);
+    }
+}
@@ -0,0 +1,78 @@
+package dao.cache;
+
+import dao.BatchResult;
+import dao.CompanyDAO;
+import dao.Page;
+import model.Company;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link CompanyDAO} com cache de {@link #findById}. Escritas passam direto para o DAO original e
+ * invalidam as entradas afetadas; listagens não são cacheadas.
+ */
+public class CachingCompanyDAO implements CompanyDAO {
+
+    private final CompanyDAO delegate;
+    // findById não carrega os ativos alocados, então a cópia também não precisa deles
+    private final EntityCache<Integer, Company> byId = new EntityCache<>("company",
+            company -> new Company(company.getName(), company.getId(), company.getIdentifier()));
+
+    public CachingCompanyDAO(CompanyDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean insert(Company company) {
+        boolean inserted = delegate.insert(company);
+        // O ID é gerado pelo banco: qualquer "não existe" guardado pode ter deixado de valer
+        byId.invalidateNegatives();
+        return inserted;
+    }
+
+    @Override
+    public BatchResult insertAll(List<Company> companies, int batchSize) {
+        BatchResult result = delegate.insertAll(companies, batchSize);
+        byId.invalidateNegatives();
+        return result;
+    }
+
+    @Override
+    public Company findById(int id) {
+        return byId.get(id, delegate::findById);
+    }
+
+    @Override
+    public List<Company> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Page<Company> findAll(int pageSize, String pageToken) {
+        return delegate.findAll(pageSize, pageToken);
+    }
+
+    @Override
+    public Stream<Company> streamAll(int fetchSize) {
+        return delegate.streamAll(fetchSize);
+    }
+
+    @Override
+    public boolean update(Company company) {
+        boolean updated = delegate.update(company);
+        byId.invalidate(company.getId());
+        return updated;
+    }
+
+    @Override
+    public boolean delete(int id) {
+        boolean deleted = delegate.delete(id);
+        byId.invalidate(id);
+        return deleted;
+    }
+
+    public CacheStats getStats() {
+        return byId.getStats();
+    }
+}
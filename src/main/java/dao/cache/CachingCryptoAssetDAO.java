@@ -0,0 +1,81 @@
+package dao.cache;
+
+import dao.BatchResult;
+import dao.CryptoAssetDAO;
+import dao.Page;
+import model.CryptoAsset;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link CryptoAssetDAO} com cache de {@link #findById}. Escritas passam direto para o DAO original e
+ * invalidam as entradas afetadas; listagens não são cacheadas.
+ */
+public class CachingCryptoAssetDAO implements CryptoAssetDAO {
+
+    private final CryptoAssetDAO delegate;
+    private final EntityCache<Integer, CryptoAsset> byId = new EntityCache<>("cryptoAsset", CachingCryptoAssetDAO::copy);
+
+    public CachingCryptoAssetDAO(CryptoAssetDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean insert(CryptoAsset cryptoAsset) {
+        boolean inserted = delegate.insert(cryptoAsset);
+        // O ID é gerado pelo banco: qualquer "não existe" guardado pode ter deixado de valer
+        byId.invalidateNegatives();
+        return inserted;
+    }
+
+    @Override
+    public BatchResult insertAll(List<CryptoAsset> cryptoAssets, int batchSize) {
+        BatchResult result = delegate.insertAll(cryptoAssets, batchSize);
+        byId.invalidateNegatives();
+        return result;
+    }
+
+    @Override
+    public CryptoAsset findById(int id) {
+        return byId.get(id, delegate::findById);
+    }
+
+    @Override
+    public List<CryptoAsset> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Page<CryptoAsset> findAll(int pageSize, String pageToken) {
+        return delegate.findAll(pageSize, pageToken);
+    }
+
+    @Override
+    public Stream<CryptoAsset> streamAll(int fetchSize) {
+        return delegate.streamAll(fetchSize);
+    }
+
+    @Override
+    public boolean update(CryptoAsset cryptoAsset, String originalSymbol) {
+        boolean updated = delegate.update(cryptoAsset, originalSymbol);
+        // A linha é localizada pelo símbolo original, então o ID do objeto pode não estar preenchido
+        byId.invalidateIf(asset -> asset.getSymbol().equals(originalSymbol) || asset.getId() == cryptoAsset.getId());
+        return updated;
+    }
+
+    @Override
+    public boolean delete(String symbol) {
+        boolean deleted = delegate.delete(symbol);
+        byId.invalidateIf(asset -> asset.getSymbol().equals(symbol));
+        return deleted;
+    }
+
+    public CacheStats getStats() {
+        return byId.getStats();
+    }
+
+    private static CryptoAsset copy(CryptoAsset asset) {
+        return new CryptoAsset(asset.getId(), asset.getName(), asset.getSymbol(), asset.getQuantity(), asset.getPrice());
+    }
+}
@@ -0,0 +1,125 @@
+package dao.cache;
+
+import dao.BatchResult;
+import dao.Page;
+import dao.UserDAO;
+import dao.UserWriteResult;
+import model.User;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link UserDAO} com cache de {@link #findById} e {@link #findByEmail}. Escritas passam direto para o
+ * DAO original e invalidam as entradas afetadas nos dois caches; listagens não são cacheadas.
+ */
+public class CachingUserDAO implements UserDAO {
+
+    private final UserDAO delegate;
+    private final EntityCache<Integer, User> byId = new EntityCache<>("users (id)", CachingUserDAO::copy);
+    private final EntityCache<String, User> byEmail = new EntityCache<>("users (email)", CachingUserDAO::copy);
+
+    public CachingUserDAO(UserDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return findById(id) != null;
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return findByEmail(email) != null;
+    }
+
+    @Override
+    public int getNextAvailableId() {
+        return delegate.getNextAvailableId();
+    }
+
+    @Override
+    public UserWriteResult insert(User user) {
+        UserWriteResult result = delegate.insert(user);
+        invalidate(user);
+        return result;
+    }
+
+    @Override
+    public BatchResult insertAll(List<User> users, int batchSize) {
+        BatchResult result = delegate.insertAll(users, batchSize);
+        byId.invalidateNegatives();
+        byEmail.invalidateNegatives();
+        return result;
+    }
+
+    @Override
+    public UserWriteResult update(User user) {
+        UserWriteResult result = delegate.update(user);
+        invalidate(user);
+        return result;
+    }
+
+    @Override
+    public UserWriteResult delete(User user) {
+        UserWriteResult result = delegate.delete(user);
+        invalidate(user);
+        return result;
+    }
+
+    @Override
+    public User findById(int id) {
+        return byId.get(id, delegate::findById);
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        return email != null ? byEmail.get(email, delegate::findByEmail) : null;
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Page<User> findAll(int pageSize, String pageToken) {
+        return delegate.findAll(pageSize, pageToken);
+    }
+
+    @Override
+    public Stream<User> streamAll(int fetchSize) {
+        return delegate.streamAll(fetchSize);
+    }
+
+    @Override
+    public void deleteAll() {
+        delegate.deleteAll();
+        byId.clear();
+        byEmail.clear();
+    }
+
+    public CacheStats getIdStats() {
+        return byId.getStats();
+    }
+
+    public CacheStats getEmailStats() {
+        return byEmail.getStats();
+    }
+
+    /**
+     * Remove o usuário dos dois caches, inclusive pelo email antigo (o objeto já traz o email novo)
+     * e as entradas negativas do email novo.
+     */
+    private void invalidate(User user) {
+        byId.invalidate(user.getId());
+        byEmail.invalidateIf(cached -> cached.getId() == user.getId());
+        if (user.getEmail() != null) {
+            byEmail.invalidate(user.getEmail());
+        }
+    }
+
+    private static User copy(User user) {
+        return new User(user.getName(), user.getId(), user.getEmail(), user.getPassword());
+    }
+}
@@ -0,0 +1,159 @@
+package dao.cache;
+
+import config.AppConfig;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache read-through limitado por tamanho (LRU) e por tempo (TTL), com cache negativo: uma busca que
+ * não encontrou nada também é guardada, por um TTL mais curto, para que IDs inexistentes consultados
+ * repetidamente não voltem ao banco.
+ *
+ * Os valores são copiados na entrada e na saída, então alterar o objeto devolvido (ex.: setters antes
+ * de um update) não altera o que está no cache.
+ */
+public class EntityCache<K, V> {
+
+    public static final int DEFAULT_MAX_SIZE = AppConfig.getInt("CACHE_MAX_SIZE", 1000);
+    public static final long DEFAULT_TTL_MS = AppConfig.getLong("CACHE_TTL_MS", 60_000);
+    public static final long DEFAULT_NEGATIVE_TTL_MS = AppConfig.getLong("CACHE_NEGATIVE_TTL_MS", 5_000);
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final UnaryOperator<V> copier;
+    // accessOrder = true: a entrada menos usada recentemente é a primeira da iteração
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Incrementado a cada invalidação: uma carga que começou antes dela não é guardada
+    private long generation;
+
+    private long hits;
+    private long negativeHits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public EntityCache(String name, UnaryOperator<V> copier) {
+        this(name, DEFAULT_MAX_SIZE, DEFAULT_TTL_MS, DEFAULT_NEGATIVE_TTL_MS, copier);
+    }
+
+    /**
+     * @param negativeTtlMillis tempo de vida das entradas de "não existe" (0 desativa o cache negativo)
+     */
+    public EntityCache(String name, int maxSize, long ttlMillis, long negativeTtlMillis, UnaryOperator<V> copier) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Tamanho de cache inválido: " + maxSize);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.negativeTtlNanos = negativeTtlMillis * 1_000_000;
+        this.copier = copier;
+    }
+
+    /**
+     * Valor da chave, carregado com {@code loader} (fora do lock) se não estiver no cache ou tiver expirado.
+     * O loader devolve {@code null} quando a entidade não existe.
+     */
+    public V get(K key, Function<K, V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.expiresAt < 0) {
+                    hits++;
+                    if (entry.value == null) {
+                        negativeHits++;
+                        return null;
+                    }
+                    return copier.apply(entry.value);
+                }
+                entries.remove(key);
+                expirations++;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        V loaded = loader.apply(key);
+        put(key, loaded, loadGeneration);
+        return loaded != null ? copier.apply(loaded) : null;
+    }
+
+    private synchronized void put(K key, V value, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return; // houve escrita enquanto carregava: o valor lido pode estar velho
+        }
+        if (value == null && negativeTtlNanos <= 0) {
+            return;
+        }
+        long ttl = value != null ? ttlNanos : negativeTtlNanos;
+        entries.put(key, new Entry<>(value != null ? copier.apply(value) : null, System.nanoTime() + ttl));
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        if (entries.remove(key) != null) {
+            invalidations++;
+        }
+    }
+
+    /**
+     * Remove as entradas cujo valor atende ao predicado (entradas negativas não são testadas).
+     */
+    public synchronized void invalidateIf(Predicate<V> predicate) {
+        generation++;
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            V value = iterator.next().getValue().value;
+            if (value != null && predicate.test(value)) {
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Remove as entradas de "não existe". Usado depois de inserts cujo ID é gerado pelo banco.
+     */
+    public synchronized void invalidateNegatives() {
+        generation++;
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().value == null) {
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(name, entries.size(), hits, negativeHits, misses, evictions, expirations, invalidations);
+    }
+
+    /**
+     * Valor guardado; {@code null} representa "não existe".
+     */
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,46 @@
+package dao.memory;
+
+import dao.BatchResult;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Equivalente em memória do lote JDBC: aplica a operação linha a linha, segurando o lock uma vez
+ * por lote em vez de uma vez por linha.
+ */
+final class InMemoryBatch {
+
+    private InMemoryBatch() {
+    }
+
+    /**
+     * @param operation aplica uma linha com o lock já adquirido e retorna a mensagem de erro, ou {@code null} se gravou
+     */
+    static <T> BatchResult execute(List<T> rows, int batchSize, Supplier<Lock> lockSupplier,
+                                   Function<T, String> operation) {
+        BatchResult result = new BatchResult(rows.size());
+        int chunkSize = Math.max(1, batchSize);
+        for (int start = 0; start < rows.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, rows.size());
+            Lock lock = lockSupplier.get();
+            lock.lock();
+            try {
+                for (int i = start; i < end; i++) {
+                    String error = operation.apply(rows.get(i));
+                    if (error == null) {
+                        result.markSuccess(i, 1);
+                    } else {
+                        result.markFailed(i, error);
+                    }
+                }
+                result.chunkCommitted();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,56 @@
+package dao.memory;
+
+import dao.BatchResult;
+import dao.CandleDAO;
+import dao.memory.InMemoryStore.CandleRow;
+import model.Candle;
+import model.CandleResolution;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class InMemoryCandleDAO implements CandleDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryCandleDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public BatchResult saveAll(List<Candle> candles, int batchSize) {
+        // Sem FK: o histórico de candles continua válido mesmo se o ativo for excluído
+        return InMemoryBatch.execute(candles, batchSize, store::sharedLock, candle -> {
+            CandleRow row = new CandleRow(candle.getSymbol(), candle.getResolution().getCode(), candle.getStartTime(),
+                    candle.getOpen(), candle.getHigh(), candle.getLow(), candle.getClose(), candle.getVolume());
+            store.candles.computeIfAbsent(key(candle.getSymbol(), candle.getResolution()),
+                    k -> new ConcurrentSkipListMap<>()).put(row.startTime(), row);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Candle> findLast(String symbol, CandleResolution resolution, int limit) {
+        List<Candle> candles = new ArrayList<>();
+        ConcurrentSkipListMap<LocalDateTime, CandleRow> series = store.candles.get(key(symbol, resolution));
+        if (series == null) {
+            return candles;
+        }
+        Iterator<CandleRow> newestFirst = series.descendingMap().values().iterator();
+        while (candles.size() < limit && newestFirst.hasNext()) {
+            CandleRow row = newestFirst.next();
+            candles.add(new Candle(row.symbol(), resolution, row.startTime(),
+                    row.open(), row.high(), row.low(), row.close(), row.volume()));
+        }
+        Collections.reverse(candles);
+        return candles;
+    }
+
+    private static String key(String symbol, CandleResolution resolution) {
+        return symbol + "|" + resolution.getCode();
+    }
+}
@@ -0,0 +1,98 @@
+package dao.memory;
+
+import dao.AssetPosition;
+import dao.BatchResult;
+import dao.CompanyCryptoAssetDAO;
+import dao.memory.InMemoryStore.AssetRow;
+import model.CryptoAsset;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+
+public class InMemoryCompanyCryptoAssetDAO implements CompanyCryptoAssetDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryCompanyCryptoAssetDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void addOrUpdateAssetForCompany(int companyId, int cryptoAssetId, double quantity) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            String error = mergeRow(companyId, cryptoAssetId, quantity);
+            if (error == null) {
+                System.out.println("✅ Ativo alocado/atualizado para a empresa com sucesso.");
+            } else {
+                System.err.println("❌ Erro ao alocar ativo para empresa: " + error);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult addOrUpdateAssetsForCompanies(List<AssetPosition> positions, int batchSize) {
+        BatchResult result = InMemoryBatch.execute(positions, batchSize, store::sharedLock,
+                position -> mergeRow(position.ownerId(), position.cryptoAssetId(), position.quantity()));
+        result.printSummary("Alocação de ativos para empresas em lote");
+        return result;
+    }
+
+    private String mergeRow(int companyId, int cryptoAssetId, double quantity) {
+        if (!store.companies.containsKey(companyId) || !store.assets.containsKey(cryptoAssetId)) {
+            return "empresa " + companyId + " ou ativo " + cryptoAssetId + " não existe.";
+        }
+        ConcurrentSkipListMap<Integer, Double> allocations =
+                store.companyAssets.computeIfAbsent(companyId, id -> new ConcurrentSkipListMap<>());
+        // Mesmo comportamento do MERGE: soma a quantidade se a alocação já existir
+        allocations.compute(cryptoAssetId, (assetId, current) -> {
+            if (current == null) {
+                InMemoryStore.addRef(store.companyRefs, companyId);
+                InMemoryStore.addRef(store.assetRefs, assetId);
+                return quantity;
+            }
+            return current + quantity;
+        });
+        return null;
+    }
+
+    @Override
+    public void removeAssetFromCompany(int companyId, int cryptoAssetId) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            Map<Integer, Double> allocations = store.companyAssets.get(companyId);
+            if (allocations != null && allocations.remove(cryptoAssetId) != null) {
+                InMemoryStore.removeRef(store.companyRefs, companyId);
+                InMemoryStore.removeRef(store.assetRefs, cryptoAssetId);
+                System.out.println("✅ Ativo removido da empresa com sucesso.");
+            } else {
+                System.out.println("⚠️ Associação não encontrada para remoção.");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<CryptoAsset> getAssetsByCompanyId(int companyId) {
+        List<CryptoAsset> assets = new ArrayList<>();
+        Map<Integer, Double> allocations = store.companyAssets.get(companyId);
+        if (allocations == null) {
+            return assets;
+        }
+        for (Map.Entry<Integer, Double> allocation : allocations.entrySet()) {
+            AssetRow row = store.assets.get(allocation.getKey());
+            if (row != null) {
+                assets.add(new CryptoAsset(row.id(), row.name(), row.symbol(), allocation.getValue(), row.price()));
+            }
+        }
+        return assets;
+    }
+}
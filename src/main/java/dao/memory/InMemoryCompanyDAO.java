@@ -0,0 +1,139 @@
+package dao.memory;
+
+import dao.BatchResult;
+import dao.Page;
+import dao.CompanyDAO;
+import dao.memory.InMemoryStore.CompanyRow;
+import model.Company;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+
+public class InMemoryCompanyDAO implements CompanyDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryCompanyDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean insert(Company company) {
+        Lock lock = store.exclusiveLock();
+        lock.lock();
+        try {
+            String error = insertRow(company);
+            if (error != null) {
+                System.err.println("❌ Erro ao inserir company: " + error);
+                return false;
+            }
+            System.out.println("✅ Company inserida com sucesso!");
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult insertAll(List<Company> companies, int batchSize) {
+        BatchResult result = InMemoryBatch.execute(companies, batchSize, store::exclusiveLock, this::insertRow);
+        result.printSummary("Inserção de companies em lote");
+        return result;
+    }
+
+    private String insertRow(Company company) {
+        if (company.getId() > 0 && store.companies.containsKey(company.getId())) {
+            return "ID " + company.getId() + " já existe.";
+        }
+        if (store.companyIdByIdentifier.containsKey(company.getIdentifier())) {
+            return "identificador '" + company.getIdentifier() + "' já existe.";
+        }
+
+        int id = InMemoryStore.nextId(store.companySequence, company.getId());
+        store.companies.put(id, new CompanyRow(id, company.getName(), company.getIdentifier()));
+        store.companyIdByIdentifier.put(company.getIdentifier(), id);
+        return null;
+    }
+
+    @Override
+    public Company findById(int id) {
+        return toCompany(store.companies.get(id));
+    }
+
+    @Override
+    public List<Company> findAll() {
+        List<Company> companies = new ArrayList<>(store.companies.size());
+        for (CompanyRow row : store.companies.values()) {
+            companies.add(toCompany(row));
+        }
+        return companies;
+    }
+
+    @Override
+    public Page<Company> findAll(int pageSize, String pageToken) {
+        return InMemoryStore.page(store.companies, pageSize, pageToken, InMemoryCompanyDAO::toCompany, Company::getId);
+    }
+
+    @Override
+    public Stream<Company> streamAll(int fetchSize) {
+        // Iterador do skip list é fracamente consistente: não copia a tabela nem bloqueia escritas
+        return store.companies.values().stream().map(InMemoryCompanyDAO::toCompany);
+    }
+
+    @Override
+    public boolean update(Company company) {
+        Lock lock = store.exclusiveLock();
+        lock.lock();
+        try {
+            CompanyRow current = store.companies.get(company.getId());
+            if (current == null) {
+                System.out.println("❌ Company não encontrada para atualizar");
+                return false;
+            }
+            Integer owner = store.companyIdByIdentifier.get(company.getIdentifier());
+            if (owner != null && owner != company.getId()) {
+                System.err.println("❌ Erro ao atualizar company: identificador '" + company.getIdentifier() + "' já existe.");
+                return false;
+            }
+
+            store.companyIdByIdentifier.remove(current.identifier());
+            store.companyIdByIdentifier.put(company.getIdentifier(), company.getId());
+            store.companies.put(company.getId(), new CompanyRow(company.getId(), company.getName(), company.getIdentifier()));
+            System.out.println("✅ Company atualizada com sucesso!");
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(int id) {
+        Lock lock = store.exclusiveLock();
+        lock.lock();
+        try {
+            CompanyRow current = store.companies.get(id);
+            if (current == null) {
+                System.out.println("❌ Company não encontrada para deletar");
+                return false;
+            }
+            if (InMemoryStore.isReferenced(store.companyRefs, id)) {
+                System.err.println("❌ Erro ao deletar company: existem relações ou ativos alocados para o ID " + id + ".");
+                return false;
+            }
+
+            store.companies.remove(id);
+            store.companyIdByIdentifier.remove(current.identifier());
+            store.companyRefs.remove(id);
+            System.out.println("✅ Company deletada com sucesso!");
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static Company toCompany(CompanyRow row) {
+        return row == null ? null : new Company(row.name(), row.id(), row.identifier());
+    }
+}
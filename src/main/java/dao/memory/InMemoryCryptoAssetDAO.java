@@ -0,0 +1,152 @@
+package dao.memory;
+
+import dao.BatchResult;
+import dao.Page;
+import dao.CryptoAssetDAO;
+import dao.memory.InMemoryStore.AssetRow;
+import model.CryptoAsset;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+
+public class InMemoryCryptoAssetDAO implements CryptoAssetDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryCryptoAssetDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean insert(CryptoAsset cryptoAsset) {
+        Lock lock = store.exclusiveLock();
+        lock.lock();
+        try {
+            String error = insertRow(cryptoAsset);
+            if (error != null) {
+                System.err.println("❌ Erro ao inserir cryptoAsset: " + error);
+                return false;
+            }
+            System.out.println("✅ CryptoAsset inserido com sucesso!");
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult insertAll(List<CryptoAsset> cryptoAssets, int batchSize) {
+        BatchResult result = InMemoryBatch.execute(cryptoAssets, batchSize, store::exclusiveLock, this::insertRow);
+        result.printSummary("Inserção de cryptoAssets em lote");
+        return result;
+    }
+
+    private String insertRow(CryptoAsset cryptoAsset) {
+        if (cryptoAsset.getId() > 0 && store.assets.containsKey(cryptoAsset.getId())) {
+            return "ID " + cryptoAsset.getId() + " já existe.";
+        }
+        if (store.assetIdBySymbol.containsKey(cryptoAsset.getSymbol())) {
+            return "símbolo '" + cryptoAsset.getSymbol() + "' já existe.";
+        }
+
+        int id = InMemoryStore.nextId(store.assetSequence, cryptoAsset.getId());
+        store.assets.put(id, toRow(id, cryptoAsset));
+        store.assetIdBySymbol.put(cryptoAsset.getSymbol(), id);
+        return null;
+    }
+
+    @Override
+    public CryptoAsset findById(int id) {
+        return toAsset(store.assets.get(id));
+    }
+
+    @Override
+    public List<CryptoAsset> findAll() {
+        List<CryptoAsset> assets = new ArrayList<>(store.assets.size());
+        for (AssetRow row : store.assets.values()) {
+            assets.add(toAsset(row));
+        }
+        return assets;
+    }
+
+    @Override
+    public Page<CryptoAsset> findAll(int pageSize, String pageToken) {
+        return InMemoryStore.page(store.assets, pageSize, pageToken, InMemoryCryptoAssetDAO::toAsset, CryptoAsset::getId);
+    }
+
+    @Override
+    public Stream<CryptoAsset> streamAll(int fetchSize) {
+        // Iterador do skip list é fracamente consistente: não copia a tabela nem bloqueia escritas
+        return store.assets.values().stream().map(InMemoryCryptoAssetDAO::toAsset);
+    }
+
+    @Override
+    public boolean update(CryptoAsset cryptoAsset, String originalSymbol) {
+        Lock lock = store.exclusiveLock();
+        lock.lock();
+        try {
+            Integer id = store.assetIdBySymbol.get(originalSymbol);
+            if (id == null) {
+                System.out.println("❌ CryptoAsset não encontrado para atualizar");
+                return false;
+            }
+            boolean symbolChanged = !originalSymbol.equals(cryptoAsset.getSymbol());
+            if (symbolChanged) {
+                if (store.assetIdBySymbol.containsKey(cryptoAsset.getSymbol())) {
+                    System.err.println("❌ Erro ao atualizar cryptoAsset: símbolo '" + cryptoAsset.getSymbol() + "' já existe.");
+                    return false;
+                }
+                // market.symbol referencia cryptoAsset.symbol
+                if (store.market.containsKey(originalSymbol)) {
+                    System.err.println("❌ Erro ao atualizar cryptoAsset: o símbolo '" + originalSymbol
+                            + "' é referenciado pela tabela market.");
+                    return false;
+                }
+                store.assetIdBySymbol.remove(originalSymbol);
+                store.assetIdBySymbol.put(cryptoAsset.getSymbol(), id);
+            }
+
+            store.assets.put(id, toRow(id, cryptoAsset));
+            System.out.println("✅ CryptoAsset atualizado com sucesso!");
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(String symbol) {
+        Lock lock = store.exclusiveLock();
+        lock.lock();
+        try {
+            Integer id = store.assetIdBySymbol.get(symbol);
+            if (id == null) {
+                System.out.println("❌ CryptoAsset não encontrado para deletar");
+                return false;
+            }
+            if (InMemoryStore.isReferenced(store.assetRefs, id)) {
+                System.err.println("❌ Erro ao deletar cryptoAsset: o ativo '" + symbol
+                        + "' é referenciado por carteiras, empresas, transações ou pelo mercado.");
+                return false;
+            }
+
+            store.assets.remove(id);
+            store.assetIdBySymbol.remove(symbol);
+            store.assetRefs.remove(id);
+            System.out.println("✅ CryptoAsset deletado com sucesso!");
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static AssetRow toRow(int id, CryptoAsset asset) {
+        return new AssetRow(id, asset.getName(), asset.getSymbol(), asset.getQuantity(), asset.getPrice());
+    }
+
+    static CryptoAsset toAsset(AssetRow row) {
+        return row == null ? null : new CryptoAsset(row.id(), row.name(), row.symbol(), row.quantity(), row.price());
+    }
+}
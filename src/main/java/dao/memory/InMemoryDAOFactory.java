@@ -0,0 +1,96 @@
+package dao.memory;
+
+import dao.*;
+
+/**
+ * DAOs em memória que compartilham o mesmo {@link InMemoryStore}.
+ */
+public class InMemoryDAOFactory extends DAOFactory {
+
+    private final InMemoryStore store = new InMemoryStore();
+    // Não há round trip a economizar: bloco de 1 mantém a sequência sem lacunas
+    private final IdGenerator idGenerator = new IdGenerator(new InMemoryIdBlockDAO(store), 1);
+
+    private final UserDAO userDAO = new InMemoryUserDAO(store, idGenerator);
+    private final CompanyDAO companyDAO = new InMemoryCompanyDAO(store);
+    private final CryptoAssetDAO cryptoAssetDAO = new InMemoryCryptoAssetDAO(store);
+    private final WalletDAO walletDAO = new InMemoryWalletDAO(store, idGenerator);
+    private final MarketDAO marketDAO = new InMemoryMarketDAO(store);
+    private final InMemoryTransactionDAO transactionDAO = new InMemoryTransactionDAO(store);
+    private final TradeDAO tradeDAO = new InMemoryTradeDAO(store, transactionDAO);
+    private final CandleDAO candleDAO = new InMemoryCandleDAO(store);
+    private final CompanyCryptoAssetDAO companyCryptoAssetDAO = new InMemoryCompanyCryptoAssetDAO(store);
+    private final WalletCryptoAssetDAO walletCryptoAssetDAO = new InMemoryWalletCryptoAssetDAO(store);
+    private final UserCompanyRelationDAO userCompanyRelationDAO = new InMemoryUserCompanyRelationDAO(store);
+    private final PortfolioDAO portfolioDAO = new InMemoryPortfolioDAO(store);
+
+    @Override
+    public StorageBackend getBackend() {
+        return StorageBackend.MEMORY;
+    }
+
+    @Override
+    public IdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    @Override
+    public UserDAO getUserDAO() {
+        return userDAO;
+    }
+
+    @Override
+    public CompanyDAO getCompanyDAO() {
+        return companyDAO;
+    }
+
+    @Override
+    public CryptoAssetDAO getCryptoAssetDAO() {
+        return cryptoAssetDAO;
+    }
+
+    @Override
+    public WalletDAO getWalletDAO() {
+        return walletDAO;
+    }
+
+    @Override
+    public MarketDAO getMarketDAO() {
+        return marketDAO;
+    }
+
+    @Override
+    public TransactionDAO getTransactionDAO() {
+        return transactionDAO;
+    }
+
+    @Override
+    public TradeDAO getTradeDAO() {
+        return tradeDAO;
+    }
+
+    @Override
+    public CandleDAO getCandleDAO() {
+        return candleDAO;
+    }
+
+    @Override
+    public CompanyCryptoAssetDAO getCompanyCryptoAssetDAO() {
+        return companyCryptoAssetDAO;
+    }
+
+    @Override
+    public WalletCryptoAssetDAO getWalletCryptoAssetDAO() {
+        return walletCryptoAssetDAO;
+    }
+
+    @Override
+    public UserCompanyRelationDAO getUserCompanyRelationDAO() {
+        return userCompanyRelationDAO;
+    }
+
+    @Override
+    public PortfolioDAO getPortfolioDAO() {
+        return portfolioDAO;
+    }
+}
@@ -0,0 +1,39 @@
+package dao.memory;
+
+import dao.IdBlockDAO;
+import dao.IdGenerator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reserva de faixas sobre as sequências do {@link InMemoryStore}, que também avançam quando uma linha é
+ * inserida com ID explícito.
+ */
+public class InMemoryIdBlockDAO implements IdBlockDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryIdBlockDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public long reserveBlock(String sequence, int blockSize) {
+        return sequenceOf(sequence).getAndAdd(blockSize) + 1L;
+    }
+
+    @Override
+    public void advancePast(String sequence, long id) {
+        sequenceOf(sequence).accumulateAndGet(Math.toIntExact(id), Math::max);
+    }
+
+    private AtomicInteger sequenceOf(String sequence) {
+        return switch (sequence) {
+            case IdGenerator.USERS -> store.userSequence;
+            case IdGenerator.WALLET -> store.walletSequence;
+            case "company" -> store.companySequence;
+            case "cryptoAsset" -> store.assetSequence;
+            default -> throw new IllegalArgumentException("Sequência desconhecida: " + sequence);
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package dao.memory;
+
+import dao.BatchResult;
+import dao.MarketDAO;
+import dao.PriceUpdate;
+import dao.memory.InMemoryStore.PriceRow;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+public class InMemoryMarketDAO implements MarketDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryMarketDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean save(String symbol, double price) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            String error = saveRow(symbol, price, LocalDateTime.now());
+            if (error == null) {
+                System.out.println("✅ Preço para o símbolo " + symbol + " salvo/atualizado com sucesso.");
+            } else {
+                System.err.println("❌ Erro ao salvar preço no mercado: " + error);
+            }
+            return error == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean saveTick(String symbol, double price) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            String error = saveRow(symbol, price, LocalDateTime.now());
+            if (error != null) {
+                System.err.println("❌ Erro ao salvar preço no mercado: " + error);
+            }
+            return error == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult saveAll(Map<String, Double> prices, int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        BatchResult result = InMemoryBatch.execute(new ArrayList<>(prices.entrySet()), batchSize, store::sharedLock,
+                entry -> saveRow(entry.getKey(), entry.getValue(), now));
+        result.printSummary("Gravação de preços em lote");
+        return result;
+    }
+
+    private String saveRow(String symbol, double price, LocalDateTime timestamp) {
+        // market.symbol referencia cryptoAsset.symbol
+        Integer assetId = store.assetIdBySymbol.get(symbol);
+        if (assetId == null) {
+            return "símbolo '" + symbol + "' não existe em cryptoAsset.";
+        }
+        if (store.market.put(symbol, new PriceRow(symbol, price, timestamp)) == null) {
+            InMemoryStore.addRef(store.assetRefs, assetId);
+        }
+        return null;
+    }
+
+    @Override
+    public Double getPrice(String symbol) {
+        PriceRow row = store.market.get(symbol);
+        return row != null ? row.price() : null;
+    }
+
+    @Override
+    public Map<String, Double> getAllPrices() {
+        Map<String, Double> prices = new HashMap<>();
+        for (PriceRow row : store.market.values()) {
+            prices.put(row.symbol(), row.price());
+        }
+        return prices;
+    }
+
+    @Override
+    public List<PriceUpdate> findUpdatedSince(LocalDateTime since) {
+        List<PriceUpdate> updates = new ArrayList<>();
+        for (PriceRow row : store.market.values()) {
+            if (since == null || row.lastUpdated().isAfter(since)) {
+                updates.add(new PriceUpdate(row.symbol(), row.price(), row.lastUpdated()));
+            }
+        }
+        updates.sort(Comparator.comparing(PriceUpdate::lastUpdated));
+        return updates;
+    }
+
+    @Override
+    public void delete(String symbol) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            if (store.market.remove(symbol) != null) {
+                Integer assetId = store.assetIdBySymbol.get(symbol);
+                if (assetId != null) {
+                    InMemoryStore.removeRef(store.assetRefs, assetId);
+                }
+                System.out.println("✅ Símbolo " + symbol + " removido do mercado.");
+            } else {
+                System.out.println("⚠️ Símbolo " + symbol + " não encontrado para exclusão.");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package dao.memory;
+
+import dao.PortfolioDAO;
+import dao.PortfolioSnapshot;
+import dao.memory.InMemoryStore.AssetRow;
+import dao.memory.InMemoryStore.CompanyRow;
+import dao.memory.InMemoryStore.PriceRow;
+import dao.memory.InMemoryStore.WalletRow;
+import model.Company;
+import model.CryptoAsset;
+import model.Wallet;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+
+public class InMemoryPortfolioDAO implements PortfolioDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryPortfolioDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public PortfolioSnapshot loadSnapshot() {
+        // Escritas comuns usam a trava compartilhada: a exclusiva garante que nada muda durante a leitura
+        Lock lock = store.exclusiveLock();
+        lock.lock();
+        try {
+            Map<String, Double> prices = readPrices();
+            List<Wallet> wallets = new ArrayList<>();
+            for (WalletRow row : store.wallets.values()) {
+                Wallet wallet = new Wallet(row.id(), row.userId(), "Wallet " + row.id());
+                positions(store.walletAssets.get(row.id()), prices).forEach(wallet::addAsset);
+                wallets.add(wallet);
+            }
+            return new PortfolioSnapshot(wallets, readCompanies(prices), prices, LocalDateTime.now());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Company> loadCompanies() {
+        return readCompanies(readPrices());
+    }
+
+    @Override
+    public Stream<Wallet> streamWallets(int fetchSize) {
+        // Como os outros streamAll: iterador fracamente consistente, sem copiar a tabela nem bloquear escritas
+        Map<String, Double> prices = readPrices();
+        return store.wallets.values().stream().map(row -> {
+            Wallet wallet = new Wallet(row.id(), row.userId(), "Wallet " + row.id());
+            positions(store.walletAssets.get(row.id()), prices).forEach(wallet::addAsset);
+            return wallet;
+        });
+    }
+
+    @Override
+    public Stream<Company> streamCompanies(int fetchSize) {
+        Map<String, Double> prices = readPrices();
+        return store.companies.values().stream().map(row -> {
+            Company company = new Company(row.name(), row.id(), row.identifier());
+            positions(store.companyAssets.get(row.id()), prices).forEach(company::allocateAsset);
+            return company;
+        });
+    }
+
+    private Map<String, Double> readPrices() {
+        Map<String, Double> prices = new HashMap<>();
+        for (PriceRow row : store.market.values()) {
+            prices.put(row.symbol(), row.price());
+        }
+        return prices;
+    }
+
+    private List<Company> readCompanies(Map<String, Double> prices) {
+        List<Company> companies = new ArrayList<>();
+        for (CompanyRow row : store.companies.values()) {
+            Company company = new Company(row.name(), row.id(), row.identifier());
+            positions(store.companyAssets.get(row.id()), prices).forEach(company::allocateAsset);
+            companies.add(company);
+        }
+        return companies;
+    }
+
+    private List<CryptoAsset> positions(Map<Integer, Double> holdings, Map<String, Double> prices) {
+        List<CryptoAsset> assets = new ArrayList<>();
+        if (holdings == null) {
+            return assets;
+        }
+        for (Map.Entry<Integer, Double> holding : holdings.entrySet()) {
+            AssetRow row = store.assets.get(holding.getKey());
+            if (row != null) {
+                assets.add(new CryptoAsset(row.id(), row.name(), row.symbol(), holding.getValue(),
+                        prices.getOrDefault(row.symbol(), row.price())));
+            }
+        }
+        return assets;
+    }
+}
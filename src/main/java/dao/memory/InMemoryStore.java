@@ -0,0 +1,163 @@
+package dao.memory;
+
+import dao.Page;
+import dao.PageToken;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Tabelas em memória compartilhadas por todos os DAOs do backend MEMORY.
+ *
+ * Segue as restrições do DDL.sql: chaves únicas (email, identifier, symbol), chaves compostas de
+ * wallet_cryptoAsset, company_cryptoAsset e userCompanyRelation, e as chaves estrangeiras.
+ * As FKs são verificadas por contadores de referência por chave pai.
+ *
+ * Leituras não usam lock. Escritas em tabelas "folha" (transações, ativos em carteira, alocações,
+ * relações, preços) usam o lock compartilhado e podem rodar em paralelo; escritas que alteram chaves
+ * ou removem linhas referenciáveis (users, company, cryptoAsset, wallet) usam o lock exclusivo, para
+ * que a verificação de FK não concorra com a inserção de um filho.
+ */
+final class InMemoryStore {
+
+    record UserRow(int id, String name, String email, String password) {
+    }
+
+    record CompanyRow(int id, String name, String identifier) {
+    }
+
+    record AssetRow(int id, String name, String symbol, double quantity, double price) {
+    }
+
+    record WalletRow(int id, int userId) {
+    }
+
+    record TransactionRow(long id, int userId, int cryptoAssetId, double amount, double price, String type,
+                          LocalDateTime timestamp) {
+    }
+
+    record RelationRow(int userId, int companyId, double investedAmount, LocalDate startDate) {
+    }
+
+    record PriceRow(String symbol, double price, LocalDateTime lastUpdated) {
+    }
+
+    record CandleRow(String symbol, String resolution, LocalDateTime startTime,
+                     double open, double high, double low, double close, double volume) {
+    }
+
+    // Mesma ordem de TransactionDAO.findByUserId: mais recente primeiro
+    static final Comparator<TransactionRow> NEWEST_FIRST = Comparator
+            .comparing(TransactionRow::timestamp, Comparator.reverseOrder())
+            .thenComparing(TransactionRow::id, Comparator.reverseOrder());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // users
+    final ConcurrentSkipListMap<Integer, UserRow> users = new ConcurrentSkipListMap<>();
+    final ConcurrentHashMap<String, Integer> userIdByEmail = new ConcurrentHashMap<>();
+    final AtomicInteger userSequence = new AtomicInteger();
+
+    // company
+    final ConcurrentSkipListMap<Integer, CompanyRow> companies = new ConcurrentSkipListMap<>();
+    final ConcurrentHashMap<String, Integer> companyIdByIdentifier = new ConcurrentHashMap<>();
+    final AtomicInteger companySequence = new AtomicInteger();
+
+    // cryptoAsset
+    final ConcurrentSkipListMap<Integer, AssetRow> assets = new ConcurrentSkipListMap<>();
+    final ConcurrentHashMap<String, Integer> assetIdBySymbol = new ConcurrentHashMap<>();
+    final AtomicInteger assetSequence = new AtomicInteger();
+
+    // wallet
+    final ConcurrentSkipListMap<Integer, WalletRow> wallets = new ConcurrentSkipListMap<>();
+    final AtomicInteger walletSequence = new AtomicInteger();
+
+    // wallet_cryptoAsset e company_cryptoAsset: dono -> (ativo -> quantidade)
+    final ConcurrentHashMap<Integer, ConcurrentSkipListMap<Integer, Double>> walletAssets = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, ConcurrentSkipListMap<Integer, Double>> companyAssets = new ConcurrentHashMap<>();
+
+    // transaction
+    final ConcurrentSkipListMap<Long, TransactionRow> transactions = new ConcurrentSkipListMap<>();
+    final ConcurrentHashMap<Integer, ConcurrentSkipListSet<TransactionRow>> transactionsByUser = new ConcurrentHashMap<>();
+    final AtomicLong transactionSequence = new AtomicLong();
+
+    // userCompanyRelation: usuário -> (empresa -> relação), com índice reverso por empresa
+    final ConcurrentHashMap<Integer, ConcurrentHashMap<Integer, RelationRow>> relationsByUser = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, ConcurrentSkipListSet<Integer>> usersByCompany = new ConcurrentHashMap<>();
+
+    // market
+    final ConcurrentSkipListMap<String, PriceRow> market = new ConcurrentSkipListMap<>();
+
+    // candle: "símbolo|resolução" -> (início -> candle)
+    final ConcurrentHashMap<String, ConcurrentSkipListMap<LocalDateTime, CandleRow>> candles = new ConcurrentHashMap<>();
+
+    // Quantidade de linhas filhas apontando para cada chave pai
+    final ConcurrentHashMap<Integer, AtomicLong> userRefs = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, AtomicLong> companyRefs = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, AtomicLong> assetRefs = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, AtomicLong> walletRefs = new ConcurrentHashMap<>();
+
+    Lock sharedLock() {
+        return lock.readLock();
+    }
+
+    Lock exclusiveLock() {
+        return lock.writeLock();
+    }
+
+    static void addRef(ConcurrentHashMap<Integer, AtomicLong> refs, int key) {
+        refs.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    static void removeRef(ConcurrentHashMap<Integer, AtomicLong> refs, int key) {
+        AtomicLong count = refs.get(key);
+        if (count != null) {
+            count.decrementAndGet();
+        }
+    }
+
+    static boolean isReferenced(ConcurrentHashMap<Integer, AtomicLong> refs, int key) {
+        AtomicLong count = refs.get(key);
+        return count != null && count.get() > 0;
+    }
+
+    /**
+     * Usa o ID informado quando positivo (como um auto_increment com valor explícito),
+     * senão gera o próximo da sequência.
+     */
+    static int nextId(AtomicInteger sequence, int requestedId) {
+        if (requestedId > 0) {
+            sequence.accumulateAndGet(requestedId, Math::max);
+            return requestedId;
+        }
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * Página de uma tabela ordenada por ID, continuando depois do ID do token.
+     */
+    static <R, T> Page<T> page(ConcurrentSkipListMap<Integer, R> table, int pageSize, String pageToken,
+                               Function<R, T> mapper, ToIntFunction<T> idOf) {
+        int size = Page.clampSize(pageSize);
+        List<T> rows = new ArrayList<>(size + 1);
+        for (R row : table.tailMap(PageToken.decodeId(pageToken), false).values()) {
+            rows.add(mapper.apply(row));
+            if (rows.size() > size) {
+                break;
+            }
+        }
+        return Page.of(rows, size, item -> PageToken.encodeId(idOf.applyAsInt(item)));
+    }
+}
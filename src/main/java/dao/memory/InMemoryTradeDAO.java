@@ -0,0 +1,88 @@
+package dao.memory;
+
+import dao.TradeDAO;
+import dao.TradeResult;
+import dao.TradeResult.Status;
+import dao.memory.InMemoryStore.PriceRow;
+import dao.memory.InMemoryStore.WalletRow;
+import model.Transaction;
+
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+
+public class InMemoryTradeDAO implements TradeDAO {
+
+    private final InMemoryStore store;
+    private final InMemoryTransactionDAO transactionDAO;
+
+    InMemoryTradeDAO(InMemoryStore store, InMemoryTransactionDAO transactionDAO) {
+        this.store = store;
+        this.transactionDAO = transactionDAO;
+    }
+
+    @Override
+    public TradeResult execute(int walletId, int cryptoAssetId, String type, double amount) {
+        if (!("BUY".equals(type) || "SELL".equals(type)) || !(amount > 0)) {
+            return TradeResult.rejected(Status.INVALID, walletId, cryptoAssetId);
+        }
+
+        // Com o lock compartilhado, carteira, ativo e usuário não podem ser excluídos no meio da operação
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            WalletRow wallet = store.wallets.get(walletId);
+            if (wallet == null) {
+                return TradeResult.rejected(Status.WALLET_NOT_FOUND, walletId, cryptoAssetId);
+            }
+            if (!store.assets.containsKey(cryptoAssetId)) {
+                return TradeResult.rejected(Status.ASSET_NOT_FOUND, walletId, cryptoAssetId);
+            }
+
+            double delta = "BUY".equals(type) ? amount : -amount;
+            double[] balance = {Double.NaN};
+            boolean[] created = {false};
+            ConcurrentSkipListMap<Integer, Double> holdings =
+                    store.walletAssets.computeIfAbsent(walletId, id -> new ConcurrentSkipListMap<>());
+            // compute é atômico por chave: duas operações na mesma posição não perdem atualização
+            holdings.compute(cryptoAssetId, (assetId, current) -> {
+                double next = (current != null ? current : 0.0) + delta;
+                if (next < 0) {
+                    return current;
+                }
+                balance[0] = next;
+                created[0] = current == null;
+                return next;
+            });
+            if (Double.isNaN(balance[0])) {
+                return TradeResult.rejected(Status.INSUFFICIENT_BALANCE, walletId, cryptoAssetId);
+            }
+            if (created[0]) {
+                InMemoryStore.addRef(store.walletRefs, walletId);
+                InMemoryStore.addRef(store.assetRefs, cryptoAssetId);
+            }
+
+            Transaction transaction = new Transaction(
+                    InMemoryCryptoAssetDAO.toAsset(store.assets.get(cryptoAssetId)), amount, type, wallet.userId());
+            // Executa ao preço de mercado; sem cotação, ao preço do cadastro do ativo
+            PriceRow quote = store.market.get(transaction.getAsset().getSymbol());
+            if (quote != null) {
+                transaction.setPrice(quote.price());
+            }
+            String error = transactionDAO.insertRow(transaction, wallet.userId(), cryptoAssetId);
+            if (error != null) {
+                // Não deveria acontecer (tudo foi validado sob o lock), mas mantém o tudo ou nada
+                if (created[0]) {
+                    holdings.remove(cryptoAssetId);
+                    InMemoryStore.removeRef(store.walletRefs, walletId);
+                    InMemoryStore.removeRef(store.assetRefs, cryptoAssetId);
+                } else {
+                    holdings.computeIfPresent(cryptoAssetId, (assetId, current) -> current - delta);
+                }
+                return TradeResult.error(walletId, cryptoAssetId, error);
+            }
+            return TradeResult.executed(walletId, cryptoAssetId, balance[0]);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
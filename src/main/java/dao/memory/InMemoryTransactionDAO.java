@@ -0,0 +1,178 @@
+package dao.memory;
+
+import dao.BatchResult;
+import dao.Page;
+import dao.PageToken;
+import dao.TransactionDAO;
+import dao.memory.InMemoryStore.AssetRow;
+import dao.memory.InMemoryStore.TransactionRow;
+import model.CryptoAsset;
+import model.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+
+public class InMemoryTransactionDAO implements TransactionDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryTransactionDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void insert(Transaction transaction, int userId, int cryptoAssetId) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            String error = insertRow(transaction, userId, cryptoAssetId);
+            if (error == null) {
+                System.out.println("✅ Transação inserida com sucesso.");
+            } else {
+                System.err.println("❌ Erro ao inserir transação: " + error);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult insertAll(List<Transaction> transactions, int batchSize) {
+        BatchResult result = InMemoryBatch.execute(transactions, batchSize, store::sharedLock,
+                transaction -> insertRow(transaction, transaction.getUserId(), transaction.getAsset().getId()));
+        result.printSummary("Inserção de transações em lote");
+        return result;
+    }
+
+    /**
+     * Grava a transação com o lock compartilhado já adquirido.
+     *
+     * @return a mensagem de erro, ou {@code null} se a transação foi inserida
+     */
+    String insertRow(Transaction transaction, int userId, int cryptoAssetId) {
+        if (!"BUY".equals(transaction.getType()) && !"SELL".equals(transaction.getType())) {
+            return "tipo inválido '" + transaction.getType() + "'.";
+        }
+        // userId 0 é uma transação sem usuário (user_id NULL no Oracle)
+        if ((userId != 0 && !store.users.containsKey(userId)) || !store.assets.containsKey(cryptoAssetId)) {
+            return "usuário " + userId + " ou ativo " + cryptoAssetId + " não existe.";
+        }
+
+        TransactionRow row = new TransactionRow(store.transactionSequence.incrementAndGet(), userId, cryptoAssetId,
+                transaction.getAmount(), transaction.getPrice(), transaction.getType(), transaction.getTimestamp());
+        store.transactions.put(row.id(), row);
+        if (userId != 0) {
+            store.transactionsByUser
+                    .computeIfAbsent(userId, id -> new ConcurrentSkipListSet<>(InMemoryStore.NEWEST_FIRST))
+                    .add(row);
+            InMemoryStore.addRef(store.userRefs, userId);
+        }
+        InMemoryStore.addRef(store.assetRefs, cryptoAssetId);
+        return null;
+    }
+
+    @Override
+    public Transaction findById(int id) {
+        return toTransaction(store.transactions.get((long) id));
+    }
+
+    @Override
+    public List<Transaction> findByUserId(int userId) {
+        List<Transaction> transactions = new ArrayList<>();
+        Set<TransactionRow> rows = store.transactionsByUser.get(userId);
+        if (rows != null) {
+            for (TransactionRow row : rows) {
+                Transaction transaction = toTransaction(row);
+                if (transaction != null) {
+                    transactions.add(transaction);
+                }
+            }
+        }
+        return transactions;
+    }
+
+    @Override
+    public Page<Transaction> findByUserId(int userId, int pageSize, String pageToken) {
+        int size = Page.clampSize(pageSize);
+        List<Transaction> transactions = new ArrayList<>(size + 1);
+        ConcurrentSkipListSet<TransactionRow> rows = store.transactionsByUser.get(userId);
+        if (rows != null) {
+            NavigableSet<TransactionRow> remaining = rows;
+            if (pageToken != null) {
+                // Linha "fantasma" com a chave do último item: o comparator só olha data/hora e ID
+                long[] keys = PageToken.decode(pageToken, 3);
+                TransactionRow after = new TransactionRow(keys[2], userId, 0, 0, 0, null, PageToken.decodeTimestamp(keys));
+                remaining = rows.tailSet(after, false);
+            }
+            for (TransactionRow row : remaining) {
+                Transaction transaction = toTransaction(row);
+                if (transaction != null) {
+                    transactions.add(transaction);
+                    if (transactions.size() > size) {
+                        break;
+                    }
+                }
+            }
+        }
+        return Page.of(transactions, size, t -> PageToken.encodeTimestampAndId(t.getTimestamp(), t.getId()));
+    }
+
+    @Override
+    public Stream<Transaction> streamByUserId(int userId, int fetchSize) {
+        ConcurrentSkipListSet<TransactionRow> rows = store.transactionsByUser.get(userId);
+        if (rows == null) {
+            return Stream.empty();
+        }
+        return rows.stream().map(this::toTransaction).filter(Objects::nonNull);
+    }
+
+    @Override
+    public Stream<Transaction> streamAll(int fetchSize) {
+        return store.transactions.values().stream().map(this::toTransaction).filter(Objects::nonNull);
+    }
+
+    @Override
+    public void delete(int id) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            TransactionRow row = store.transactions.remove((long) id);
+            if (row != null) {
+                Set<TransactionRow> rows = store.transactionsByUser.get(row.userId());
+                if (rows != null) {
+                    rows.remove(row);
+                }
+                InMemoryStore.removeRef(store.userRefs, row.userId());
+                InMemoryStore.removeRef(store.assetRefs, row.cryptoAssetId());
+                System.out.println("✅ Transação com ID " + id + " excluída com sucesso.");
+            } else {
+                System.out.println("⚠️ Nenhuma transação encontrada com o ID " + id + " para excluir.");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Transaction toTransaction(TransactionRow row) {
+        if (row == null) {
+            return null;
+        }
+        AssetRow assetRow = store.assets.get(row.cryptoAssetId());
+        if (assetRow == null) {
+            return null;
+        }
+        // A quantidade na transação é o 'amount', não o total do ativo
+        CryptoAsset asset = new CryptoAsset(assetRow.id(), assetRow.name(), assetRow.symbol(), 0, assetRow.price());
+        Transaction transaction = new Transaction(asset, row.amount(), row.type(), row.userId());
+        transaction.setId((int) row.id());
+        transaction.setTimestamp(row.timestamp());
+        transaction.setPrice(row.price());
+        return transaction;
+    }
+}
@@ -0,0 +1,108 @@
+package dao.memory;
+
+import dao.BatchResult;
+import dao.CompanyInvestment;
+import dao.UserCompanyRelationDAO;
+import dao.memory.InMemoryStore.RelationRow;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+
+public class InMemoryUserCompanyRelationDAO implements UserCompanyRelationDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryUserCompanyRelationDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void insert(int userId, int companyId, double investedAmount, LocalDate startDate) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            if (!store.users.containsKey(userId) || !store.companies.containsKey(companyId)) {
+                System.err.println("❌ Erro ao inserir relação usuário-empresa: usuário " + userId
+                        + " ou empresa " + companyId + " não existe.");
+                return;
+            }
+            if (insertRow(userId, companyId, investedAmount, startDate) != null) {
+                System.err.println("❌ Erro: A relação entre o usuário ID " + userId + " e a empresa ID " + companyId + " já existe.");
+                return;
+            }
+            System.out.println("✅ Relação usuário-empresa criada com sucesso.");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult insertAll(List<CompanyInvestment> relations, int batchSize) {
+        BatchResult result = InMemoryBatch.execute(relations, batchSize, store::sharedLock, relation -> {
+            if (!store.users.containsKey(relation.userId()) || !store.companies.containsKey(relation.companyId())) {
+                return "usuário " + relation.userId() + " ou empresa " + relation.companyId() + " não existe.";
+            }
+            return insertRow(relation.userId(), relation.companyId(), relation.investedAmount(), relation.startDate());
+        });
+        result.printSummary("Inserção de relações usuário-empresa em lote");
+        return result;
+    }
+
+    private String insertRow(int userId, int companyId, double investedAmount, LocalDate startDate) {
+        RelationRow row = new RelationRow(userId, companyId, investedAmount, startDate);
+        if (store.relationsByUser.computeIfAbsent(userId, id -> new ConcurrentHashMap<>())
+                .putIfAbsent(companyId, row) != null) {
+            return "a relação entre o usuário ID " + userId + " e a empresa ID " + companyId + " já existe.";
+        }
+        store.usersByCompany.computeIfAbsent(companyId, id -> new ConcurrentSkipListSet<>()).add(userId);
+        InMemoryStore.addRef(store.userRefs, userId);
+        InMemoryStore.addRef(store.companyRefs, companyId);
+        return null;
+    }
+
+    @Override
+    public void updateInvestedAmount(int userId, int companyId, double newInvestedAmount) {
+        Map<Integer, RelationRow> relations = store.relationsByUser.get(userId);
+        RelationRow updated = relations == null ? null : relations.computeIfPresent(companyId,
+                (id, current) -> new RelationRow(userId, companyId, newInvestedAmount, current.startDate()));
+        if (updated != null) {
+            System.out.println("✅ Valor investido atualizado com sucesso.");
+        } else {
+            System.out.println("⚠️ Relação não encontrada para atualização.");
+        }
+    }
+
+    @Override
+    public void delete(int userId, int companyId) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            Map<Integer, RelationRow> relations = store.relationsByUser.get(userId);
+            if (relations != null && relations.remove(companyId) != null) {
+                Set<Integer> users = store.usersByCompany.get(companyId);
+                if (users != null) {
+                    users.remove(userId);
+                }
+                InMemoryStore.removeRef(store.userRefs, userId);
+                InMemoryStore.removeRef(store.companyRefs, companyId);
+                System.out.println("✅ Relação usuário-empresa excluída com sucesso.");
+            } else {
+                System.out.println("⚠️ Relação não encontrada para exclusão.");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Integer> findUsersByCompanyId(int companyId) {
+        Set<Integer> users = store.usersByCompany.get(companyId);
+        return users == null ? new ArrayList<>() : new ArrayList<>(users);
+    }
+}
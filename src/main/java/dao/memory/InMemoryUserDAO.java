@@ -0,0 +1,193 @@
+package dao.memory;
+
+import dao.BatchResult;
+import dao.IdGenerator;
+import dao.Page;
+import dao.UserDAO;
+import dao.UserWriteResult;
+import dao.UserWriteResult.Status;
+import dao.memory.InMemoryStore.UserRow;
+import model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+
+public class InMemoryUserDAO implements UserDAO {
+
+    private final InMemoryStore store;
+    private final IdGenerator idGenerator;
+
+    InMemoryUserDAO(InMemoryStore store, IdGenerator idGenerator) {
+        this.store = store;
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return store.users.containsKey(id);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return email != null && store.userIdByEmail.containsKey(email);
+    }
+
+    @Override
+    public int getNextAvailableId() {
+        return idGenerator.nextId(IdGenerator.USERS);
+    }
+
+    @Override
+    public UserWriteResult insert(User user) {
+        Lock lock = store.exclusiveLock();
+        lock.lock();
+        try {
+            if (existsByEmail(user.getEmail())) {
+                return UserWriteResult.of(Status.DUPLICATE_EMAIL, user.getId());
+            }
+            if (user.getId() <= 0) {
+                user.setId(getNextAvailableId());
+            } else if (store.users.containsKey(user.getId())) {
+                return UserWriteResult.of(Status.DUPLICATE_ID, user.getId());
+            }
+
+            idGenerator.reserveExplicit(IdGenerator.USERS, user.getId());
+            int id = InMemoryStore.nextId(store.userSequence, user.getId());
+            user.setId(id);
+            store.users.put(id, toRow(user));
+            store.userIdByEmail.put(user.getEmail(), id);
+            return UserWriteResult.of(Status.INSERTED, id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult insertAll(List<User> users, int batchSize) {
+        BatchResult result = InMemoryBatch.execute(users, batchSize, store::exclusiveLock, user -> {
+            if (store.users.containsKey(user.getId())) {
+                return "usuário com ID " + user.getId() + " já existe.";
+            }
+            if (store.userIdByEmail.containsKey(user.getEmail())) {
+                return "usuário com email '" + user.getEmail() + "' já existe.";
+            }
+            idGenerator.reserveExplicit(IdGenerator.USERS, user.getId());
+            int id = InMemoryStore.nextId(store.userSequence, user.getId());
+            user.setId(id);
+            store.users.put(id, toRow(user));
+            store.userIdByEmail.put(user.getEmail(), id);
+            return null;
+        });
+        result.printSummary("Inserção de usuários em lote");
+        return result;
+    }
+
+    @Override
+    public UserWriteResult update(User user) {
+        Lock lock = store.exclusiveLock();
+        lock.lock();
+        try {
+            UserRow current = store.users.get(user.getId());
+            if (current == null) {
+                return UserWriteResult.of(Status.NOT_FOUND, user.getId());
+            }
+            Integer owner = store.userIdByEmail.get(user.getEmail());
+            if (owner != null && owner != user.getId()) {
+                return UserWriteResult.of(Status.DUPLICATE_EMAIL, user.getId());
+            }
+
+            store.userIdByEmail.remove(current.email());
+            store.userIdByEmail.put(user.getEmail(), user.getId());
+            store.users.put(user.getId(), toRow(user));
+            return UserWriteResult.of(Status.UPDATED, user.getId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public UserWriteResult delete(User user) {
+        Lock lock = store.exclusiveLock();
+        lock.lock();
+        try {
+            UserRow current = store.users.get(user.getId());
+            if (current == null) {
+                return UserWriteResult.of(Status.NOT_FOUND, user.getId());
+            }
+            if (InMemoryStore.isReferenced(store.userRefs, user.getId())) {
+                return UserWriteResult.of(Status.REFERENCED, user.getId());
+            }
+
+            store.users.remove(user.getId());
+            store.userIdByEmail.remove(current.email());
+            store.userRefs.remove(user.getId());
+            return UserWriteResult.of(Status.DELETED, user.getId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public User findById(int id) {
+        return toUser(store.users.get(id));
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        Integer id = email != null ? store.userIdByEmail.get(email) : null;
+        return id != null ? findById(id) : null;
+    }
+
+    @Override
+    public List<User> findAll() {
+        List<User> users = new ArrayList<>(store.users.size());
+        for (UserRow row : store.users.values()) {
+            users.add(toUser(row));
+        }
+        return users;
+    }
+
+    @Override
+    public Page<User> findAll(int pageSize, String pageToken) {
+        return InMemoryStore.page(store.users, pageSize, pageToken, InMemoryUserDAO::toUser, User::getId);
+    }
+
+    @Override
+    public Stream<User> streamAll(int fetchSize) {
+        // Iterador do skip list é fracamente consistente: não copia a tabela nem bloqueia escritas
+        return store.users.values().stream().map(InMemoryUserDAO::toUser);
+    }
+
+    @Override
+    public void deleteAll() {
+        Lock lock = store.exclusiveLock();
+        lock.lock();
+        try {
+            // Como o DELETE no banco: tudo ou nada
+            for (Integer id : store.users.keySet()) {
+                if (InMemoryStore.isReferenced(store.userRefs, id)) {
+                    System.err.println("❌ Erro ao limpar tabela de usuários: usuário ID " + id
+                            + " ainda é referenciado por outras tabelas.");
+                    return;
+                }
+            }
+            int rows = store.users.size();
+            store.users.clear();
+            store.userIdByEmail.clear();
+            store.userRefs.clear();
+            System.out.println("✅ " + rows + " usuário(s) excluído(s) da tabela.");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static UserRow toRow(User user) {
+        return new UserRow(user.getId(), user.getName(), user.getEmail(), user.getPassword());
+    }
+
+    static User toUser(UserRow row) {
+        return row == null ? null : new User(row.name(), row.id(), row.email(), row.password());
+    }
+}
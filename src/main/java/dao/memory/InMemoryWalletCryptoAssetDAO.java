@@ -0,0 +1,104 @@
+package dao.memory;
+
+import dao.AssetPosition;
+import dao.BatchResult;
+import dao.WalletCryptoAssetDAO;
+import dao.memory.InMemoryStore.AssetRow;
+import model.CryptoAsset;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+
+public class InMemoryWalletCryptoAssetDAO implements WalletCryptoAssetDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryWalletCryptoAssetDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void addCryptoAssetToWallet(int walletId, int cryptoAssetId, double quantity) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            String error = addRow(walletId, cryptoAssetId, quantity);
+            if (error == null) {
+                System.out.println("✅ Ativo adicionado à carteira com sucesso.");
+            } else {
+                System.err.println("❌ Erro ao adicionar ativo à carteira: " + error);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult addCryptoAssetsToWallets(List<AssetPosition> positions, int batchSize) {
+        BatchResult result = InMemoryBatch.execute(positions, batchSize, store::sharedLock,
+                position -> addRow(position.ownerId(), position.cryptoAssetId(), position.quantity()));
+        result.printSummary("Inclusão de ativos em carteiras em lote");
+        return result;
+    }
+
+    private String addRow(int walletId, int cryptoAssetId, double quantity) {
+        if (!store.wallets.containsKey(walletId) || !store.assets.containsKey(cryptoAssetId)) {
+            return "carteira " + walletId + " ou ativo " + cryptoAssetId + " não existe.";
+        }
+        ConcurrentSkipListMap<Integer, Double> holdings =
+                store.walletAssets.computeIfAbsent(walletId, id -> new ConcurrentSkipListMap<>());
+        if (holdings.putIfAbsent(cryptoAssetId, quantity) != null) {
+            return "o ativo " + cryptoAssetId + " já está na carteira " + walletId + ".";
+        }
+        InMemoryStore.addRef(store.walletRefs, walletId);
+        InMemoryStore.addRef(store.assetRefs, cryptoAssetId);
+        return null;
+    }
+
+    @Override
+    public void removeCryptoAssetFromWallet(int walletId, int cryptoAssetId) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            Map<Integer, Double> holdings = store.walletAssets.get(walletId);
+            if (holdings != null && holdings.remove(cryptoAssetId) != null) {
+                InMemoryStore.removeRef(store.walletRefs, walletId);
+                InMemoryStore.removeRef(store.assetRefs, cryptoAssetId);
+                System.out.println("✅ Ativo removido da carteira com sucesso.");
+            } else {
+                System.out.println("⚠️ Ativo não encontrado na carteira.");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void updateCryptoAssetQuantity(int walletId, int cryptoAssetId, double quantity) {
+        Map<Integer, Double> holdings = store.walletAssets.get(walletId);
+        if (holdings != null && holdings.replace(cryptoAssetId, quantity) != null) {
+            System.out.println("✅ Quantidade do ativo atualizada com sucesso.");
+        } else {
+            System.out.println("⚠️ Ativo não encontrado na carteira.");
+        }
+    }
+
+    @Override
+    public List<CryptoAsset> findCryptoAssetsByWallet(int walletId) {
+        List<CryptoAsset> assets = new ArrayList<>();
+        Map<Integer, Double> holdings = store.walletAssets.get(walletId);
+        if (holdings == null) {
+            return assets;
+        }
+        for (Map.Entry<Integer, Double> holding : holdings.entrySet()) {
+            AssetRow row = store.assets.get(holding.getKey());
+            if (row != null) {
+                assets.add(new CryptoAsset(row.id(), row.name(), row.symbol(), holding.getValue(), row.price()));
+            }
+        }
+        return assets;
+    }
+}
@@ -0,0 +1,145 @@
+package dao.memory;
+
+import dao.BatchResult;
+import dao.IdGenerator;
+import dao.Page;
+import dao.WalletDAO;
+import dao.memory.InMemoryStore.WalletRow;
+import model.Wallet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+
+public class InMemoryWalletDAO implements WalletDAO {
+
+    private final InMemoryStore store;
+    private final IdGenerator idGenerator;
+
+    InMemoryWalletDAO(InMemoryStore store, IdGenerator idGenerator) {
+        this.store = store;
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public void insert(Wallet wallet) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            String error = insertRow(wallet);
+            if (error == null) {
+                System.out.println("✅ Carteira inserida com sucesso!");
+            } else {
+                System.err.println("❌ Erro ao inserir carteira: " + error);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult insertAll(List<Wallet> wallets, int batchSize) {
+        BatchResult result = InMemoryBatch.execute(wallets, batchSize, store::sharedLock, this::insertRow);
+        result.printSummary("Inserção de carteiras em lote");
+        return result;
+    }
+
+    private String insertRow(Wallet wallet) {
+        if (!store.users.containsKey(wallet.getUserId())) {
+            return "usuário ID " + wallet.getUserId() + " não existe.";
+        }
+        if (wallet.getId() <= 0) {
+            wallet.setId(idGenerator.nextId(IdGenerator.WALLET));
+        } else {
+            idGenerator.reserveExplicit(IdGenerator.WALLET, wallet.getId());
+        }
+        if (store.wallets.putIfAbsent(wallet.getId(), new WalletRow(wallet.getId(), wallet.getUserId())) != null) {
+            return "ID " + wallet.getId() + " já existe.";
+        }
+        store.walletSequence.accumulateAndGet(wallet.getId(), Math::max);
+        InMemoryStore.addRef(store.userRefs, wallet.getUserId());
+        return null;
+    }
+
+    @Override
+    public void update(Wallet wallet) {
+        Lock lock = store.sharedLock();
+        lock.lock();
+        try {
+            if (!store.users.containsKey(wallet.getUserId())) {
+                System.err.println("❌ Erro ao atualizar carteira: usuário ID " + wallet.getUserId() + " não existe.");
+                return;
+            }
+            WalletRow updated = store.wallets.computeIfPresent(wallet.getId(), (id, current) -> {
+                if (current.userId() != wallet.getUserId()) {
+                    InMemoryStore.addRef(store.userRefs, wallet.getUserId());
+                    InMemoryStore.removeRef(store.userRefs, current.userId());
+                }
+                return new WalletRow(id, wallet.getUserId());
+            });
+            if (updated != null) {
+                System.out.println("✅ Carteira atualizada com sucesso!");
+            } else {
+                System.out.println("⚠️ Carteira não encontrada para atualizar");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        Lock lock = store.exclusiveLock();
+        lock.lock();
+        try {
+            WalletRow current = store.wallets.get(id);
+            if (current == null) {
+                System.out.println("⚠️ Carteira não encontrada para deletar");
+                return;
+            }
+            if (InMemoryStore.isReferenced(store.walletRefs, id)) {
+                System.err.println("❌ Erro ao deletar carteira: a carteira " + id + " ainda possui ativos.");
+                return;
+            }
+
+            store.wallets.remove(id);
+            store.walletAssets.remove(id);
+            store.walletRefs.remove(id);
+            InMemoryStore.removeRef(store.userRefs, current.userId());
+            System.out.println("✅ Carteira deletada com sucesso!");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Wallet findById(int id) {
+        return toWallet(store.wallets.get(id));
+    }
+
+    @Override
+    public List<Wallet> findAll() {
+        List<Wallet> wallets = new ArrayList<>(store.wallets.size());
+        for (WalletRow row : store.wallets.values()) {
+            wallets.add(toWallet(row));
+        }
+        return wallets;
+    }
+
+    @Override
+    public Page<Wallet> findAll(int pageSize, String pageToken) {
+        return InMemoryStore.page(store.wallets, pageSize, pageToken, InMemoryWalletDAO::toWallet, Wallet::getId);
+    }
+
+    @Override
+    public Stream<Wallet> streamAll(int fetchSize) {
+        // Iterador do skip list é fracamente consistente: não copia a tabela nem bloqueia escritas
+        return store.wallets.values().stream().map(InMemoryWalletDAO::toWallet);
+    }
+
+    static Wallet toWallet(WalletRow row) {
+        // Mesmo nome padrão do banco, que não tem coluna name
+        return row == null ? null : new Wallet(row.id(), row.userId(), "Wallet " + row.id());
+    }
+}
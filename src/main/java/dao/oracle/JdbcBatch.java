@@ -0,0 +1,121 @@
+package dao.oracle;
+
+import dao.BatchResult;
+import db.OracleConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Execução de um mesmo SQL em lote com addBatch/executeBatch, com um commit por lote.
+ *
+ * Se um lote falha, ele é desfeito e reexecutado linha a linha (ainda com um único commit),
+ * para que o {@link BatchResult} indique exatamente quais linhas falharam e por quê.
+ */
+final class JdbcBatch {
+
+    // ORA-00001 chave duplicada, 01400/01407 NULL, 01438/12899 valor grande demais, 01722 número inválido,
+    // 02290 check, 02291 chave estrangeira
+    private static final Set<Integer> DATA_ERROR_CODES = Set.of(1, 1400, 1407, 1438, 1722, 2290, 2291, 12899);
+
+    @FunctionalInterface
+    interface RowBinder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
+
+    private JdbcBatch() {
+    }
+
+    static <T> BatchResult execute(String sql, List<T> rows, int batchSize, RowBinder<T> binder) {
+        BatchResult result = new BatchResult(rows.size());
+        if (rows.isEmpty()) {
+            return result;
+        }
+        int chunkSize = Math.max(1, batchSize);
+
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            conn.setAutoCommit(false);
+            for (int start = 0; start < rows.size(); start += chunkSize) {
+                int end = Math.min(start + chunkSize, rows.size());
+                try {
+                    for (int i = start; i < end; i++) {
+                        binder.bind(stmt, rows.get(i));
+                        stmt.addBatch();
+                    }
+                    int[] counts = stmt.executeBatch();
+                    conn.commit();
+                    for (int i = start; i < end; i++) {
+                        int index = i - start;
+                        result.markSuccess(i, index < counts.length ? counts[index] : Statement.SUCCESS_NO_INFO);
+                    }
+                    result.chunkCommitted();
+                } catch (SQLException e) {
+                    rollbackQuietly(conn);
+                    stmt.clearBatch();
+                    result.chunkFailed();
+                    retryRowByRow(conn, stmt, rows, start, end, binder, result);
+                }
+            }
+        } catch (SQLException e) {
+            // Falha de conexão: as linhas não executadas continuam marcadas como falha
+            result.addError("Erro de conexão durante o lote: " + e.getMessage());
+        }
+        return result;
+    }
+
+    private static <T> void retryRowByRow(Connection conn, PreparedStatement stmt, List<T> rows, int start, int end,
+                                          RowBinder<T> binder, BatchResult result) throws SQLException {
+        for (int i = start; i < end; i++) {
+            try {
+                binder.bind(stmt, rows.get(i));
+                result.markSuccess(i, stmt.executeUpdate());
+            } catch (SQLException e) {
+                // No Oracle a falha de um statement desfaz só esse statement, não a transação
+                result.markFailed(i, e.getMessage());
+            }
+        }
+        try {
+            conn.commit();
+            result.chunkCommitted();
+        } catch (SQLException e) {
+            rollbackQuietly(conn);
+            for (int i = start; i < end; i++) {
+                result.markFailed(i, null);
+            }
+            result.addError("Erro ao confirmar lote (linhas " + start + "-" + (end - 1) + "): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Indica se a falha é da própria linha (restrição ou dado inválido), e não do banco ou da conexão:
+     * SQLState das classes 22/23 ou um dos erros ORA equivalentes.
+     */
+    static boolean isDataError(SQLException e) {
+        for (Throwable cause : e) {
+            if (cause instanceof SQLException sql) {
+                String state = sql.getSQLState();
+                if (state != null && (state.startsWith("22") || state.startsWith("23"))) {
+                    return true;
+                }
+                if (DATA_ERROR_CODES.contains(sql.getErrorCode())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao desfazer lote: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package dao.oracle;
+
+import dao.UncheckedSQLException;
+import db.OracleConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Consulta exposta como {@link Stream} preguiçosa: as linhas são lidas do cursor à medida que a stream
+ * é consumida, de {@code fetchSize} em {@code fetchSize}, sem carregar o resultado inteiro na memória.
+ *
+ * A conexão, o statement e o ResultSet ficam abertos até a stream ser fechada (ou o cursor chegar ao
+ * fim), então quem chama deve usar try-with-resources. Um erro ao abrir a consulta ou no meio da leitura
+ * fecha os recursos e é lançado como {@link UncheckedSQLException}, para quem consome a stream não
+ * confundir a falha com o fim dos dados.
+ */
+final class JdbcStream {
+
+    @FunctionalInterface
+    interface ParameterBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private JdbcStream() {
+    }
+
+    /**
+     * @param errorMessage mensagem usada nos erros, no mesmo formato dos DAOs (ex.: "Erro ao listar carteiras")
+     */
+    static <T> Stream<T> query(String sql, int fetchSize, ParameterBinder binder, RowMapper<T> mapper,
+                               String errorMessage) {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = OracleConnection.getConnection();
+            stmt = conn.prepareStatement(sql);
+            stmt.setFetchSize(Math.max(1, fetchSize));
+            binder.bind(stmt);
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(rs, stmt, conn);
+            throw new UncheckedSQLException(errorMessage, e);
+        }
+
+        Cursor<T> cursor = new Cursor<>(conn, stmt, rs, mapper, errorMessage);
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    static <T> Stream<T> query(String sql, int fetchSize, RowMapper<T> mapper, String errorMessage) {
+        return query(sql, fetchSize, stmt -> { }, mapper, errorMessage);
+    }
+
+    private static void closeQuietly(ResultSet rs, PreparedStatement stmt, Connection conn) {
+        // Fechar a conexão emprestada a devolve ao pool, então ela é fechada mesmo se os outros falharem
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+        } catch (SQLException ignored) {
+        }
+        try {
+            if (stmt != null) {
+                stmt.close();
+            }
+        } catch (SQLException ignored) {
+        }
+        try {
+            if (conn != null) {
+                conn.close();
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao devolver conexão da consulta ao pool: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Spliterator sobre o ResultSet aberto. Não divide (cursor JDBC é sequencial).
+     */
+    private static final class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Connection conn;
+        private final PreparedStatement stmt;
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+        private final String errorMessage;
+        private boolean closed;
+
+        private Cursor(Connection conn, PreparedStatement stmt, ResultSet rs, RowMapper<T> mapper,
+                       String errorMessage) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.stmt = stmt;
+            this.rs = rs;
+            this.mapper = mapper;
+            this.errorMessage = errorMessage;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+            T row;
+            try {
+                if (!rs.next()) {
+                    // Cursor esgotado: devolve a conexão sem esperar o close() da stream
+                    close();
+                    return false;
+                }
+                row = mapper.map(rs);
+            } catch (SQLException e) {
+                close();
+                throw new UncheckedSQLException(errorMessage, e);
+            }
+            action.accept(row);
+            return true;
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                closeQuietly(rs, stmt, conn);
+            }
+        }
+    }
+}
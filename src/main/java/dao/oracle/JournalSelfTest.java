@@ -0,0 +1,185 @@
+package dao.oracle;
+
+import model.CryptoAsset;
+import model.Transaction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Cenários de recuperação do {@link TransactionJournal} usados pelos testes automatizados do SystemApp
+ * (o journal é interno ao pacote). Cada cenário usa um diretório próprio, sem banco, e devolve
+ * {@code null} se passou ou a descrição da falha.
+ */
+public final class JournalSelfTest {
+
+    private static final long SEGMENT_BYTES = 64L * TransactionJournal.RECORD_SIZE;
+    private static final CryptoAsset ASSET = new CryptoAsset(1, "Teste", "TST", 1, 10);
+
+    private JournalSelfTest() {
+    }
+
+    /**
+     * Lixo depois do último registro e um registro cortado no meio (escrita interrompida): a leitura
+     * para no último registro válido e a próxima entrada ocupa o lugar do cortado.
+     */
+    public static String corruptTail(Path directory) throws IOException {
+        reset(directory);
+        appendDurable(directory, 5);
+        Path segment = firstSegment(directory);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ByteBuffer garbage = ByteBuffer.allocate(TransactionJournal.RECORD_SIZE);
+            for (int i = 0; i < garbage.capacity(); i++) {
+                garbage.put(i, (byte) (i * 31 + 7));
+            }
+            // Comprimento válido no cabeçalho: só o CRC denuncia o lixo
+            garbage.putInt(0, TransactionJournal.RECORD_SIZE - 8);
+            channel.write(garbage, 5L * TransactionJournal.RECORD_SIZE);
+        }
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_BYTES)) {
+            if (journal.getUnreplayedCount() != 5) {
+                return "lixo no fim: esperadas 5 entradas pendentes, lidas " + journal.getUnreplayedCount();
+            }
+        }
+
+        // Último registro pela metade: some na leitura e a sequência dele é reaproveitada
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(4L * TransactionJournal.RECORD_SIZE + TransactionJournal.RECORD_SIZE / 2);
+        }
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_BYTES)) {
+            if (journal.getUnreplayedCount() != 4) {
+                return "registro cortado: esperadas 4 entradas pendentes, lidas " + journal.getUnreplayedCount();
+            }
+            long seq = journal.append(transaction(), 1, 1);
+            journal.awaitDurable(seq);
+            if (seq != 5) {
+                return "registro cortado: próxima sequência deveria ser 5, foi " + seq;
+            }
+        }
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_BYTES)) {
+            if (journal.getUnreplayedCount() != 5) {
+                return "depois de regravar: esperadas 5 entradas pendentes, lidas " + journal.getUnreplayedCount();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@code replayed.pos} à frente do último registro dos segmentos (ex.: segmentos apagados à mão):
+     * nada volta para o reprocessamento e as sequências novas continuam depois da posição.
+     */
+    public static String replayedAhead(Path directory) throws IOException {
+        reset(directory);
+        appendDurable(directory, 3);
+        try (FileChannel channel = FileChannel.open(directory.resolve("replayed.pos"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(0, 100), 0);
+        }
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_BYTES)) {
+            if (journal.getUnreplayedCount() != 0) {
+                return "esperadas 0 entradas pendentes, lidas " + journal.getUnreplayedCount();
+            }
+            long seq = journal.append(transaction(), 1, 1);
+            if (seq != 101) {
+                return "próxima sequência deveria ser 101, foi " + seq;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Queda depois de gravar no banco e antes de registrar a posição: as entradas voltam com o mesmo
+     * identificador e as mesmas sequências (o banco ignora a repetição), e marcar de novo uma posição
+     * já marcada não muda nada.
+     */
+    public static String duplicateReplay(Path directory) throws IOException {
+        reset(directory);
+        appendDurable(directory, 5);
+        long journalId;
+        List<Long> firstPass = new ArrayList<>();
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_BYTES)) {
+            journalId = journal.getJournalId();
+            journal.peekDurable(10).forEach(entry -> firstPass.add(entry.seq()));
+            journal.markReplayed(3);
+        }
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_BYTES)) {
+            List<Long> secondPass = new ArrayList<>();
+            journal.peekDurable(10).forEach(entry -> secondPass.add(entry.seq()));
+            if (journal.getJournalId() != journalId) {
+                return "identificador do journal mudou ao reabrir";
+            }
+            if (!secondPass.equals(firstPass.subList(3, firstPass.size()))) {
+                return "reenvio deveria trazer as sequências " + firstPass.subList(3, firstPass.size())
+                        + ", trouxe " + secondPass;
+            }
+            journal.markReplayed(3);
+            if (journal.getUnreplayedCount() != 2) {
+                return "marcar de novo a posição 3 mudou os pendentes para " + journal.getUnreplayedCount();
+            }
+            journal.markReplayed(5);
+        }
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_BYTES)) {
+            if (journal.getUnreplayedCount() != 0) {
+                return "esperadas 0 entradas pendentes depois de tudo gravado, lidas " + journal.getUnreplayedCount();
+            }
+            long seq = journal.append(transaction(), 1, 1);
+            if (seq != 6) {
+                return "sequência reaproveitada: esperada 6, foi " + seq;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Apaga o diretório de teste e o que houver dentro.
+     */
+    public static void cleanup(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static void reset(Path directory) throws IOException {
+        cleanup(directory);
+        Files.createDirectories(directory);
+    }
+
+    private static void appendDurable(Path directory, int count) throws IOException {
+        try (TransactionJournal journal = TransactionJournal.open(directory, SEGMENT_BYTES)) {
+            long seq = 0;
+            for (int i = 0; i < count; i++) {
+                seq = journal.append(transaction(), 1, 1);
+            }
+            journal.awaitDurable(seq);
+        }
+    }
+
+    private static Path firstSegment(Path directory) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "journal-*.log")) {
+            List<Path> files = new ArrayList<>();
+            stream.forEach(files::add);
+            files.sort(null);
+            if (files.isEmpty()) {
+                throw new IOException("nenhum segmento em " + directory);
+            }
+            return files.get(0);
+        }
+    }
+
+    private static Transaction transaction() {
+        return new Transaction(ASSET, 1, "BUY", 1);
+    }
+}
@@ -0,0 +1,314 @@
+package dao.oracle;
+
+import config.AppConfig;
+import dao.BatchResult;
+import dao.Page;
+import dao.TransactionDAO;
+import db.OracleConnection;
+import model.Transaction;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Transações gravadas primeiro em um {@link TransactionJournal} local: {@link #insert} retorna assim que
+ * a entrada está em disco (várias inserções concorrentes dividem o mesmo fsync), e uma thread de fundo
+ * repassa as entradas ao banco em lotes a cada JOURNAL_DRAIN_INTERVAL_MS (ou assim que houver
+ * JOURNAL_DRAIN_BATCH pendentes).
+ *
+ * Com o banco fora do ar, em deadlock ou timeout, as entradas ficam no journal e são reenviadas depois,
+ * inclusive após uma queda da aplicação; só entradas recusadas por restrição ou dado inválido são
+ * descartadas. Cada linha leva o ID do journal e a sequência da entrada, então reenviar uma entrada já
+ * gravada não a duplica. Leituras e exclusões gravam os pendentes antes, para enxergar as próprias inserções.
+ */
+public final class JournaledTransactionDAO implements TransactionDAO, AutoCloseable {
+
+    private static final String JOURNAL_DIR = AppConfig.get("JOURNAL_DIR", "journal");
+    private static final long SEGMENT_BYTES = AppConfig.getLong("JOURNAL_SEGMENT_BYTES", 16L * 1024 * 1024);
+    private static final long DRAIN_INTERVAL_MS = AppConfig.getLong("JOURNAL_DRAIN_INTERVAL_MS", 200);
+    private static final int DRAIN_BATCH = AppConfig.getInt("JOURNAL_DRAIN_BATCH", 500);
+
+    private final OracleTransactionDAO delegate;
+    private final TransactionJournal journal;
+    private final int drainBatch;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private long drains;
+    private long rowsReplayed;
+    private long rowsRejected;
+    private long failedDrains;
+    private String lastError;
+
+    private JournaledTransactionDAO(OracleTransactionDAO delegate, TransactionJournal journal, int drainBatch) {
+        this.delegate = delegate;
+        this.journal = journal;
+        this.drainBatch = Math.max(1, drainBatch);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "voltz-journal-drain");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static JournaledTransactionDAO open(OracleTransactionDAO delegate) throws IOException {
+        return open(delegate, Path.of(JOURNAL_DIR), SEGMENT_BYTES, DRAIN_INTERVAL_MS, DRAIN_BATCH);
+    }
+
+    /**
+     * Abre o journal e só então agenda o reprocessamento e o registra para o encerramento da conexão.
+     */
+    public static JournaledTransactionDAO open(OracleTransactionDAO delegate, Path directory, long segmentBytes,
+                                               long drainIntervalMillis, int drainBatch) throws IOException {
+        JournaledTransactionDAO dao = new JournaledTransactionDAO(delegate,
+                TransactionJournal.open(directory, segmentBytes), drainBatch);
+        int recovered = dao.journal.getUnreplayedCount();
+        if (recovered > 0) {
+            System.out.println("⚠️ " + recovered + " transação(ões) do journal ainda não gravadas no banco; reprocessando.");
+        }
+        dao.scheduler.scheduleWithFixedDelay(dao::drainQuietly, recovered > 0 ? 0 : drainIntervalMillis,
+                drainIntervalMillis, TimeUnit.MILLISECONDS);
+        OracleConnection.addCloseListener(dao::close);
+        return dao;
+    }
+
+    @Override
+    public void insert(Transaction transaction, int userId, int cryptoAssetId) {
+        if (closed) {
+            delegate.insert(transaction, userId, cryptoAssetId);
+            return;
+        }
+        long seq;
+        try {
+            seq = journal.append(transaction, userId, cryptoAssetId);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ Erro ao inserir transação: " + e.getMessage());
+            return;
+        } catch (IOException e) {
+            // Nada foi acrescentado ao journal: só aqui a gravação direta não duplica a transação
+            System.err.println("⚠️ Journal indisponível, gravando direto no banco: " + e.getMessage());
+            delegate.insert(transaction, userId, cryptoAssetId);
+            return;
+        }
+        try {
+            journal.awaitDurable(seq);
+            System.out.println("✅ Transação registrada com sucesso.");
+        } catch (IOException e) {
+            // A entrada já está no journal e será enviada quando ele sincronizar; gravar de novo a duplicaria
+            System.err.println("⚠️ Transação registrada no journal sem confirmação de gravação em disco: "
+                    + e.getMessage());
+        }
+        requestDrainIfFull();
+    }
+
+    @Override
+    public BatchResult insertAll(List<Transaction> transactions, int batchSize) {
+        if (closed) {
+            return delegate.insertAll(transactions, batchSize);
+        }
+        BatchResult result = new BatchResult(transactions.size());
+        long lastSeq = 0;
+        int next = 0;
+        IOException appendFailure = null;
+        for (; next < transactions.size(); next++) {
+            Transaction transaction = transactions.get(next);
+            try {
+                lastSeq = journal.append(transaction, transaction.getUserId(), transaction.getAsset().getId());
+                // Acrescentada ao journal: será enviada ao banco mesmo se a confirmação abaixo falhar
+                result.markSuccess(next, 1);
+            } catch (IllegalArgumentException e) {
+                result.markFailed(next, e.getMessage());
+            } catch (IOException e) {
+                appendFailure = e;
+                break;
+            }
+        }
+        if (lastSeq > 0) {
+            result.chunkCommitted();
+            try {
+                journal.awaitDurable(lastSeq);
+            } catch (IOException e) {
+                System.err.println("⚠️ Transações registradas no journal sem confirmação de gravação em disco: "
+                        + e.getMessage());
+            }
+        }
+        if (appendFailure != null) {
+            // Só as transações que não entraram no journal vão direto para o banco
+            System.err.println("⚠️ Journal indisponível, gravando direto no banco " + (transactions.size() - next)
+                    + " transação(ões): " + appendFailure.getMessage());
+            BatchResult direct = delegate.insertAll(transactions.subList(next, transactions.size()), batchSize);
+            for (int i = 0; i < direct.size(); i++) {
+                if (direct.isSuccess(i)) {
+                    result.markSuccess(next + i, direct.getUpdateCount(i));
+                }
+            }
+            direct.getErrors().forEach(error -> result.addError("Gravação direta: " + error));
+            for (int i = 0; i < direct.getCommittedChunks(); i++) {
+                result.chunkCommitted();
+            }
+            for (int i = 0; i < direct.getFailedChunks(); i++) {
+                result.chunkFailed();
+            }
+        }
+        result.printSummary("Registro de transações no journal");
+        requestDrainIfFull();
+        return result;
+    }
+
+    @Override
+    public Transaction findById(int id) {
+        drainQuietly();
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Transaction> findByUserId(int userId) {
+        drainQuietly();
+        return delegate.findByUserId(userId);
+    }
+
+    @Override
+    public Page<Transaction> findByUserId(int userId, int pageSize, String pageToken) {
+        drainQuietly();
+        return delegate.findByUserId(userId, pageSize, pageToken);
+    }
+
+    @Override
+    public Stream<Transaction> streamByUserId(int userId, int fetchSize) {
+        drainQuietly();
+        return delegate.streamByUserId(userId, fetchSize);
+    }
+
+    @Override
+    public Stream<Transaction> streamAll(int fetchSize) {
+        drainQuietly();
+        return delegate.streamAll(fetchSize);
+    }
+
+    @Override
+    public void delete(int id) {
+        drainQuietly();
+        delegate.delete(id);
+    }
+
+    /**
+     * Grava no banco as entradas já duráveis do journal, em lotes de JOURNAL_DRAIN_BATCH. A posição
+     * reprocessada só avança até a última entrada confirmada (ou recusada de vez) sem lacunas.
+     *
+     * @return quantidade de transações gravadas
+     */
+    public synchronized int drain() {
+        drainRequested.set(false);
+        int written = 0;
+        List<TransactionJournal.Entry> batch;
+        while (!(batch = journal.peekDurable(drainBatch)).isEmpty()) {
+            OracleTransactionDAO.ReplayResult result = delegate.replay(journal.getJournalId(), batch);
+            drains++;
+            if (!result.rejected().isEmpty()) {
+                rowsRejected += result.rejected().size();
+                System.err.println("❌ Transações do journal recusadas pelo banco: " + result.rejected());
+            }
+            if (result.handled() > 0) {
+                try {
+                    journal.markReplayed(batch.get(result.handled() - 1).seq());
+                } catch (IOException e) {
+                    // As entradas serão reenviadas e ignoradas pelo banco
+                    System.err.println("❌ Erro ao gravar a posição do journal: " + e.getMessage());
+                    return written;
+                }
+                int inserted = result.handled() - result.rejected().size();
+                rowsReplayed += inserted;
+                written += inserted;
+            }
+            if (result.handled() < batch.size()) {
+                failedDrains++;
+                // Só avisa quando o erro muda, para não repetir a mensagem a cada intervalo
+                if (!Objects.equals(result.error(), lastError)) {
+                    System.err.println("⚠️ Transações mantidas no journal para nova tentativa: " + result.error());
+                    lastError = result.error();
+                }
+                return written;
+            }
+        }
+        lastError = null;
+        return written;
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Erro ao gravar transações do journal: " + e.getMessage());
+        }
+    }
+
+    private void requestDrainIfFull() {
+        if (journal.getUnreplayedCount() >= drainBatch && drainRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::drainQuietly);
+            } catch (RejectedExecutionException e) {
+                drainRequested.set(false); // close() começou agora e faz o drain final
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        return journal.getUnreplayedCount();
+    }
+
+    public synchronized void printStats() {
+        System.out.printf("📒 Journal de transações: última entrada=#%d | fsyncs=%d | gravadas=%d | recusadas=%d | " +
+                        "lotes=%d | tentativas adiadas=%d | pendentes=%d%n",
+                journal.getAppendedSeq(), journal.getForces(), rowsReplayed, rowsRejected, drains, failedDrains,
+                journal.getUnreplayedCount());
+    }
+
+    private synchronized boolean markClosed() {
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        return true;
+    }
+
+    /**
+     * Para a thread de fundo, grava o que der no banco e fecha o journal; o resto fica para o próximo início.
+     */
+    @Override
+    public void close() {
+        if (!markClosed()) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("❌ Erro ao fechar o journal de transações: " + e.getMessage());
+        }
+        int pending = journal.getUnreplayedCount();
+        if (pending > 0) {
+            System.err.println("⚠️ " + pending + " transação(ões) ficaram no journal e serão gravadas no próximo início.");
+        }
+        if (drains > 0) {
+            printStats();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dao.oracle;
+
+import dao.BatchResult;
+import dao.CandleDAO;
+import db.OracleConnection;
+import model.Candle;
+import model.CandleResolution;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class OracleCandleDAO implements CandleDAO {
+
+    @Override
+    public BatchResult saveAll(List<Candle> candles, int batchSize) {
+        String sql = "MERGE INTO candle c " +
+                     "USING (SELECT ? AS symbol, ? AS resolution, ? AS start_time FROM dual) src " +
+                     "ON (c.symbol = src.symbol AND c.resolution = src.resolution AND c.start_time = src.start_time) " +
+                     "WHEN MATCHED THEN " +
+                     "  UPDATE SET c.open_price = ?, c.high_price = ?, c.low_price = ?, c.close_price = ?, c.volume = ? " +
+                     "WHEN NOT MATCHED THEN " +
+                     "  INSERT (symbol, resolution, start_time, open_price, high_price, low_price, close_price, volume) " +
+                     "  VALUES (src.symbol, src.resolution, src.start_time, ?, ?, ?, ?, ?)";
+
+        return JdbcBatch.execute(sql, candles, batchSize, (stmt, candle) -> {
+            stmt.setString(1, candle.getSymbol());
+            stmt.setString(2, candle.getResolution().getCode());
+            stmt.setTimestamp(3, Timestamp.valueOf(candle.getStartTime()));
+            stmt.setDouble(4, candle.getOpen());
+            stmt.setDouble(5, candle.getHigh());
+            stmt.setDouble(6, candle.getLow());
+            stmt.setDouble(7, candle.getClose());
+            stmt.setDouble(8, candle.getVolume());
+            stmt.setDouble(9, candle.getOpen());
+            stmt.setDouble(10, candle.getHigh());
+            stmt.setDouble(11, candle.getLow());
+            stmt.setDouble(12, candle.getClose());
+            stmt.setDouble(13, candle.getVolume());
+        });
+    }
+
+    @Override
+    public List<Candle> findLast(String symbol, CandleResolution resolution, int limit) {
+        List<Candle> candles = new ArrayList<>();
+        String sql = "SELECT symbol, resolution, start_time, open_price, high_price, low_price, close_price, volume " +
+                     "FROM candle WHERE symbol = ? AND resolution = ? " +
+                     "ORDER BY start_time DESC FETCH FIRST ? ROWS ONLY";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, symbol);
+            stmt.setString(2, resolution.getCode());
+            stmt.setInt(3, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    candles.add(new Candle(
+                            rs.getString("symbol"),
+                            CandleResolution.fromCode(rs.getString("resolution")),
+                            rs.getTimestamp("start_time").toLocalDateTime(),
+                            rs.getDouble("open_price"),
+                            rs.getDouble("high_price"),
+                            rs.getDouble("low_price"),
+                            rs.getDouble("close_price"),
+                            rs.getDouble("volume")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao buscar candles: " + e.getMessage());
+        }
+        Collections.reverse(candles);
+        return candles;
+    }
+}
@@ -0,0 +1,181 @@
+package dao.oracle;
+
+import dao.BatchResult;
+import dao.Page;
+import dao.PageToken;
+import dao.CompanyDAO;
+import db.OracleConnection;
+import model.Company;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class OracleCompanyDAO implements CompanyDAO {
+
+    // CREATE - Inserir nova empresa
+    @Override
+    public boolean insert(Company company) {
+        String sql = "INSERT INTO company (name, identifier) VALUES (?, ?)";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, company.getName());
+            stmt.setString(2, company.getIdentifier());
+            boolean success = stmt.executeUpdate() > 0;
+            
+            if (success) {
+                System.out.println("✅ Company inserida com sucesso!");
+            } else {
+                System.out.println("❌ Erro ao inserir company");
+            }
+            return success;
+            
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao inserir company: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // CREATE - Inserir empresas em lote
+    @Override
+    public BatchResult insertAll(List<Company> companies, int batchSize) {
+        String sql = "INSERT INTO company (name, identifier) VALUES (?, ?)";
+        BatchResult result = JdbcBatch.execute(sql, companies, batchSize, (stmt, company) -> {
+            stmt.setString(1, company.getName());
+            stmt.setString(2, company.getIdentifier());
+        });
+        result.printSummary("Inserção de companies em lote");
+        return result;
+    }
+
+    // READ - Buscar empresa por ID
+    @Override
+    public Company findById(int id) {
+        String sql = "SELECT * FROM company WHERE id = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new Company(
+                        rs.getString("name"),
+                        rs.getInt("id"),
+                        rs.getString("identifier")
+                    );
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao buscar company por ID: " + e.getMessage());
+        }
+        return null;
+    }
+
+    // READ - Listar todas as empresas
+    @Override
+    public List<Company> findAll() {
+        List<Company> companies = new ArrayList<>();
+        String sql = "SELECT * FROM company";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                companies.add(new Company(
+                    rs.getString("name"),
+                    rs.getInt("id"),
+                    rs.getString("identifier")
+                ));
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao listar companies: " + e.getMessage());
+        }
+        return companies;
+    }
+
+    // READ - Listar uma página de empresas
+    @Override
+    public Page<Company> findAll(int pageSize, String pageToken) {
+        int size = Page.clampSize(pageSize);
+        List<Company> companies = new ArrayList<>(size + 1);
+        String sql = "SELECT * FROM company WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, PageToken.decodeId(pageToken));
+            stmt.setInt(2, size + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    companies.add(new Company(
+                        rs.getString("name"),
+                        rs.getInt("id"),
+                        rs.getString("identifier")
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao listar companies: " + e.getMessage());
+        }
+        return Page.of(companies, size, company -> PageToken.encodeId(company.getId()));
+    }
+
+    // READ - Todas as empresas sob demanda
+    @Override
+    public Stream<Company> streamAll(int fetchSize) {
+        String sql = "SELECT * FROM company ORDER BY id";
+        return JdbcStream.query(sql, fetchSize, rs -> new Company(
+            rs.getString("name"),
+            rs.getInt("id"),
+            rs.getString("identifier")
+        ), "Erro ao listar companies");
+    }
+
+    // UPDATE - Atualizar empresa
+    @Override
+    public boolean update(Company company) {
+        String sql = "UPDATE company SET name = ?, identifier = ? WHERE id = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, company.getName());
+            stmt.setString(2, company.getIdentifier());
+            stmt.setInt(3, company.getId());
+            boolean success = stmt.executeUpdate() > 0;
+            
+            if (success) {
+                System.out.println("✅ Company atualizada com sucesso!");
+            } else {
+                System.out.println("❌ Company não encontrada para atualizar");
+            }
+            return success;
+            
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao atualizar company: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // DELETE - Deletar empresa
+    @Override
+    public boolean delete(int id) {
+        String sql = "DELETE FROM company WHERE id = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, id);
+            boolean success = stmt.executeUpdate() > 0;
+            
+            if (success) {
+                System.out.println("✅ Company deletada com sucesso!");
+            } else {
+                System.out.println("❌ Company não encontrada para deletar");
+            }
+            return success;
+            
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao deletar company: " + e.getMessage());
+            return false;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package dao.oracle;
+
+import config.AppConfig;
+import dao.*;
+import dao.cache.CachingCompanyDAO;
+import dao.cache.CachingCryptoAssetDAO;
+import dao.cache.CachingUserDAO;
+
+import java.io.IOException;
+
+/**
+ * DAOs JDBC sobre o pool de {@link db.OracleConnection}.
+ */
+public class OracleDAOFactory extends DAOFactory {
+
+    // Buscas por ID de usuários, empresas e ativos passam por um cache (ver dao.cache)
+    private static final boolean CACHE_ENABLED = AppConfig.getBoolean("CACHE_ENABLED", true);
+    // Preços do feed são gravados em lote pela WriteBehindMarketDAO, ficando só o último de cada símbolo
+    private static final boolean MARKET_WRITE_BEHIND = AppConfig.getBoolean("MARKET_WRITE_BEHIND", true);
+    // Transações confirmadas no journal local e repassadas ao banco em lote pela JournaledTransactionDAO
+    private static final boolean TRANSACTION_JOURNAL = AppConfig.getBoolean("TRANSACTION_JOURNAL", true);
+
+    private final IdGenerator idGenerator = new IdGenerator(new OracleIdBlockDAO());
+
+    private final UserDAO userDAO = CACHE_ENABLED
+            ? new CachingUserDAO(new OracleUserDAO(idGenerator)) : new OracleUserDAO(idGenerator);
+    private final CompanyDAO companyDAO = CACHE_ENABLED
+            ? new CachingCompanyDAO(new OracleCompanyDAO()) : new OracleCompanyDAO();
+    private final CryptoAssetDAO cryptoAssetDAO = CACHE_ENABLED
+            ? new CachingCryptoAssetDAO(new OracleCryptoAssetDAO()) : new OracleCryptoAssetDAO();
+    private final WalletDAO walletDAO = new OracleWalletDAO(idGenerator);
+    // Criados no primeiro acesso: escrita adiada e journal iniciam threads e se registram no encerramento do pool
+    private MarketDAO marketDAO;
+    private TransactionDAO transactionDAO;
+    private final TradeDAO tradeDAO = new OracleTradeDAO();
+    private final CandleDAO candleDAO = new OracleCandleDAO();
+    private final CompanyCryptoAssetDAO companyCryptoAssetDAO = new OracleCompanyCryptoAssetDAO();
+    private final WalletCryptoAssetDAO walletCryptoAssetDAO = new OracleWalletCryptoAssetDAO();
+    private final UserCompanyRelationDAO userCompanyRelationDAO = new OracleUserCompanyRelationDAO();
+    private final PortfolioDAO portfolioDAO = new OraclePortfolioDAO();
+
+    private static TransactionDAO createTransactionDAO() {
+        if (TRANSACTION_JOURNAL) {
+            try {
+                return JournaledTransactionDAO.open(new OracleTransactionDAO());
+            } catch (IOException e) {
+                System.err.println("⚠️ Journal de transações indisponível, gravando direto no banco: " + e.getMessage());
+            }
+        }
+        return new OracleTransactionDAO();
+    }
+
+    @Override
+    public StorageBackend getBackend() {
+        return StorageBackend.ORACLE;
+    }
+
+    @Override
+    public IdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    @Override
+    public UserDAO getUserDAO() {
+        return userDAO;
+    }
+
+    @Override
+    public CompanyDAO getCompanyDAO() {
+        return companyDAO;
+    }
+
+    @Override
+    public CryptoAssetDAO getCryptoAssetDAO() {
+        return cryptoAssetDAO;
+    }
+
+    @Override
+    public WalletDAO getWalletDAO() {
+        return walletDAO;
+    }
+
+    @Override
+    public synchronized MarketDAO getMarketDAO() {
+        if (marketDAO == null) {
+            marketDAO = MARKET_WRITE_BEHIND ? WriteBehindMarketDAO.open(new OracleMarketDAO()) : new OracleMarketDAO();
+        }
+        return marketDAO;
+    }
+
+    @Override
+    public synchronized TransactionDAO getTransactionDAO() {
+        if (transactionDAO == null) {
+            transactionDAO = createTransactionDAO();
+        }
+        return transactionDAO;
+    }
+
+    @Override
+    public TradeDAO getTradeDAO() {
+        return tradeDAO;
+    }
+
+    @Override
+    public CandleDAO getCandleDAO() {
+        return candleDAO;
+    }
+
+    @Override
+    public CompanyCryptoAssetDAO getCompanyCryptoAssetDAO() {
+        return companyCryptoAssetDAO;
+    }
+
+    @Override
+    public WalletCryptoAssetDAO getWalletCryptoAssetDAO() {
+        return walletCryptoAssetDAO;
+    }
+
+    @Override
+    public UserCompanyRelationDAO getUserCompanyRelationDAO() {
+        return userCompanyRelationDAO;
+    }
+
+    @Override
+    public PortfolioDAO getPortfolioDAO() {
+        return portfolioDAO;
+    }
+}
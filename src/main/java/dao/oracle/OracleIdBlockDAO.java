@@ -0,0 +1,113 @@
+package dao.oracle;
+
+import dao.IdBlockDAO;
+import db.OracleConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+/**
+ * Reserva de faixas na tabela id_block. O UPDATE trava a linha da sequência até o commit, então
+ * reservas concorrentes (inclusive de outras instâncias) são serializadas pelo banco.
+ */
+public class OracleIdBlockDAO implements IdBlockDAO {
+
+    // O nome da sequência vira nome de tabela no SQL de inicialização
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    @Override
+    public long reserveBlock(String sequence, int blockSize) {
+        checkName(sequence);
+
+        try (Connection conn = OracleConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Long next = advance(conn, sequence, blockSize);
+                if (next == null) {
+                    // Primeira reserva da sequência: começa depois do maior ID já existente na tabela
+                    seed(conn, sequence);
+                    next = advance(conn, sequence, blockSize);
+                }
+                if (next == null) {
+                    throw new SQLException("sequência '" + sequence + "' não encontrada em id_block");
+                }
+                conn.commit();
+                return next - blockSize;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao reservar IDs da sequência " + sequence + ": " + e.getMessage());
+            throw new IllegalStateException("Não foi possível gerar ID para " + sequence, e);
+        }
+    }
+
+    @Override
+    public void advancePast(String sequence, long id) {
+        checkName(sequence);
+        String sql = "UPDATE id_block SET next_value = GREATEST(next_value, ? + 1) WHERE name = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement update = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            try {
+                update.setLong(1, id);
+                update.setString(2, sequence);
+                if (update.executeUpdate() == 0) {
+                    // Sequência ainda não criada: cria agora, senão a semente (MAX(id) + 1) não veria este ID
+                    seed(conn, sequence);
+                    update.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao avançar a sequência " + sequence + ": " + e.getMessage());
+            throw new IllegalStateException("Não foi possível reservar o ID " + id + " de " + sequence, e);
+        }
+    }
+
+    private static void checkName(String sequence) {
+        if (!TABLE_NAME.matcher(sequence).matches()) {
+            throw new IllegalArgumentException("Nome de sequência inválido: " + sequence);
+        }
+    }
+
+    /**
+     * Avança a sequência e devolve o novo valor, ou {@code null} se ela ainda não existe.
+     */
+    private Long advance(Connection conn, String sequence, int blockSize) throws SQLException {
+        try (PreparedStatement update = conn.prepareStatement(
+                "UPDATE id_block SET next_value = next_value + ? WHERE name = ?")) {
+            update.setInt(1, blockSize);
+            update.setString(2, sequence);
+            if (update.executeUpdate() == 0) {
+                return null;
+            }
+        }
+        try (PreparedStatement select = conn.prepareStatement("SELECT next_value FROM id_block WHERE name = ?")) {
+            select.setString(1, sequence);
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    private void seed(Connection conn, String sequence) throws SQLException {
+        String sql = "INSERT INTO id_block (name, next_value) SELECT ?, NVL(MAX(id), 0) + 1 FROM " + sequence;
+        try (PreparedStatement insert = conn.prepareStatement(sql)) {
+            insert.setString(1, sequence);
+            insert.executeUpdate();
+        } catch (SQLException e) {
+            // Outra instância criou a linha ao mesmo tempo (chave duplicada): basta usá-la
+            if (e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                throw e;
+            }
+        }
+    }
+}
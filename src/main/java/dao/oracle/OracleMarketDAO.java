@@ -0,0 +1,164 @@
+package dao.oracle;
+
+import dao.BatchResult;
+import dao.MarketDAO;
+import dao.PriceUpdate;
+import db.OracleConnection;
+import model.Market;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OracleMarketDAO implements MarketDAO {
+
+    private static final String MERGE_SQL = "MERGE INTO market m " +
+                                            "USING (SELECT ? AS symbol, ? AS price FROM dual) src " +
+                                            "ON (m.symbol = src.symbol) " +
+                                            "WHEN MATCHED THEN " +
+                                            "  UPDATE SET m.price = src.price, m.last_updated = ? " +
+                                            "WHEN NOT MATCHED THEN " +
+                                            "  INSERT (symbol, price, last_updated) VALUES (src.symbol, src.price, ?)";
+
+   @Override
+   public boolean save(String symbol, double price) {
+        try {
+            int rowsAffected = mergeOne(symbol, price);
+            if (rowsAffected > 0) {
+                System.out.println("✅ Preço para o símbolo " + symbol + " salvo/atualizado com sucesso.");
+            } else {
+                System.out.println("⚠️ Nenhuma alteração no preço para o símbolo " + symbol);
+            }
+            return rowsAffected > 0;
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao salvar preço no mercado: " + e.getMessage());
+            return false;
+        }
+    }
+
+   @Override
+   public boolean saveTick(String symbol, double price) {
+        try {
+            return mergeOne(symbol, price) > 0;
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao salvar preço no mercado: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private int mergeOne(String symbol, double price) throws SQLException {
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(MERGE_SQL)) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            stmt.setString(1, symbol);
+            stmt.setDouble(2, price);
+            stmt.setTimestamp(3, now);
+            stmt.setTimestamp(4, now);
+            return stmt.executeUpdate();
+        }
+    }
+
+   @Override
+   public BatchResult saveAll(Map<String, Double> prices, int batchSize) {
+        BatchResult result = merge(prices, batchSize);
+        result.printSummary("Gravação de preços em lote");
+        return result;
+    }
+
+    /**
+     * MERGE em lote sem mensagens no console; todas as linhas recebem o mesmo last_updated.
+     */
+    BatchResult merge(Map<String, Double> prices, int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map.Entry<String, Double>> rows = new ArrayList<>(prices.entrySet());
+        return JdbcBatch.execute(MERGE_SQL, rows, batchSize, (stmt, entry) -> {
+            stmt.setString(1, entry.getKey());
+            stmt.setDouble(2, entry.getValue());
+            stmt.setTimestamp(3, now);
+            stmt.setTimestamp(4, now);
+        });
+    }
+
+   @Override
+   public Double getPrice(String symbol) {
+        String sql = "SELECT price FROM market WHERE symbol = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, symbol);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getDouble("price");
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao buscar preço por símbolo: " + e.getMessage());
+        }
+        return null;
+    }
+
+   @Override
+   public Map<String, Double> getAllPrices() {
+        Map<String, Double> prices = new HashMap<>();
+        String sql = "SELECT symbol, price FROM market";
+        try (Connection conn = OracleConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                prices.put(rs.getString("symbol"), rs.getDouble("price"));
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao recuperar todos os preços do mercado: " + e.getMessage());
+        }
+        return prices;
+    }
+
+   @Override
+   public List<PriceUpdate> findUpdatedSince(LocalDateTime since) {
+        List<PriceUpdate> updates = new ArrayList<>();
+        String sql = "SELECT symbol, price, last_updated FROM market " +
+                     (since != null ? "WHERE last_updated > ? " : "") +
+                     "ORDER BY last_updated";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            if (since != null) {
+                stmt.setTimestamp(1, Timestamp.valueOf(since));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    updates.add(new PriceUpdate(
+                            rs.getString("symbol"),
+                            rs.getDouble("price"),
+                            rs.getTimestamp("last_updated").toLocalDateTime()));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao buscar preços atualizados: " + e.getMessage());
+            throw new IllegalStateException("Não foi possível buscar preços atualizados", e);
+        }
+        return updates;
+    }
+
+   @Override
+   public void delete(String symbol) {
+        String sql = "DELETE FROM market WHERE symbol = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, symbol);
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                System.out.println("✅ Símbolo " + symbol + " removido do mercado.");
+            } else {
+                System.out.println("⚠️ Símbolo " + symbol + " não encontrado para exclusão.");
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao excluir símbolo do mercado: " + e.getMessage());
+        }
+    }
+}
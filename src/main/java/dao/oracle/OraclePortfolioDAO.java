@@ -0,0 +1,226 @@
+package dao.oracle;
+
+import dao.DAOFactory;
+import dao.PortfolioDAO;
+import dao.PortfolioSnapshot;
+import db.OracleConnection;
+import model.Company;
+import model.CryptoAsset;
+import model.Wallet;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Uma consulta por tabela dona (carteiras, empresas) com JOIN nas posições, ordenada pelo dono: o
+ * grafo é montado numa passada pelo cursor, trocando de objeto quando o ID do dono muda. O LEFT JOIN
+ * mantém carteiras e empresas sem posições. As versões em stream usam o mesmo cursor e entregam cada
+ * dono assim que a linha seguinte for de outro.
+ */
+public class OraclePortfolioDAO implements PortfolioDAO {
+
+    private static final String WALLETS_SQL =
+            "SELECT w.id AS owner_id, w.user_id, ca.id AS asset_id, ca.name, ca.symbol, wca.quantity, " +
+            "COALESCE(m.price, ca.price) AS price " +
+            "FROM wallet w " +
+            "LEFT JOIN wallet_cryptoAsset wca ON wca.wallet_id = w.id " +
+            "LEFT JOIN cryptoAsset ca ON ca.id = wca.crypto_asset_id " +
+            "LEFT JOIN market m ON m.symbol = ca.symbol " +
+            "ORDER BY w.id, ca.id";
+
+    private static final String COMPANIES_SQL =
+            "SELECT c.id AS owner_id, c.name AS company_name, c.identifier, ca.id AS asset_id, ca.name, ca.symbol, " +
+            "cca.quantity, COALESCE(m.price, ca.price) AS price " +
+            "FROM company c " +
+            "LEFT JOIN company_cryptoAsset cca ON cca.company_id = c.id " +
+            "LEFT JOIN cryptoAsset ca ON ca.id = cca.crypto_asset_id " +
+            "LEFT JOIN market m ON m.symbol = ca.symbol " +
+            "ORDER BY c.id, ca.id";
+
+    private static final String PRICES_SQL = "SELECT symbol, price FROM market";
+
+    @Override
+    public PortfolioSnapshot loadSnapshot() {
+        try (Connection conn = OracleConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setReadOnly(true);
+            try {
+                // Todas as consultas enxergam o banco como estava no início da transação
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("SET TRANSACTION READ ONLY");
+                }
+                LocalDateTime readAt = LocalDateTime.now();
+                List<Wallet> wallets = loadWallets(conn);
+                List<Company> companies = loadCompanies(conn);
+                Map<String, Double> prices = loadPrices(conn);
+                conn.commit();
+                return new PortfolioSnapshot(wallets, companies, prices, readAt);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao carregar carteiras e empresas: " + e.getMessage());
+            throw new IllegalStateException("Não foi possível carregar o snapshot de carteiras", e);
+        }
+    }
+
+    @Override
+    public List<Company> loadCompanies() {
+        try (Connection conn = OracleConnection.getConnection()) {
+            return loadCompanies(conn);
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao carregar empresas: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public Stream<Wallet> streamWallets(int fetchSize) {
+        return groupByOwner(JdbcStream.query(WALLETS_SQL, fetchSize, rs -> {
+            int walletId = rs.getInt("owner_id");
+            return new Position<>(new Wallet(walletId, rs.getInt("user_id"), "Wallet " + walletId), walletId,
+                    readAsset(rs));
+        }, "Erro ao carregar carteiras"), Wallet::addAsset);
+    }
+
+    @Override
+    public Stream<Company> streamCompanies(int fetchSize) {
+        return groupByOwner(JdbcStream.query(COMPANIES_SQL, fetchSize, rs -> {
+            int companyId = rs.getInt("owner_id");
+            return new Position<>(new Company(rs.getString("company_name"), companyId, rs.getString("identifier")),
+                    companyId, readAsset(rs));
+        }, "Erro ao carregar empresas"), Company::allocateAsset);
+    }
+
+    private List<Wallet> loadWallets(Connection conn) throws SQLException {
+        List<Wallet> wallets = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(WALLETS_SQL)) {
+            stmt.setFetchSize(DAOFactory.DEFAULT_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                Wallet current = null;
+                while (rs.next()) {
+                    int walletId = rs.getInt("owner_id");
+                    if (current == null || current.getId() != walletId) {
+                        current = new Wallet(walletId, rs.getInt("user_id"), "Wallet " + walletId);
+                        wallets.add(current);
+                    }
+                    CryptoAsset asset = readAsset(rs);
+                    if (asset != null) {
+                        current.addAsset(asset);
+                    }
+                }
+            }
+        }
+        return wallets;
+    }
+
+    private List<Company> loadCompanies(Connection conn) throws SQLException {
+        List<Company> companies = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(COMPANIES_SQL)) {
+            stmt.setFetchSize(DAOFactory.DEFAULT_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                Company current = null;
+                while (rs.next()) {
+                    int companyId = rs.getInt("owner_id");
+                    if (current == null || current.getId() != companyId) {
+                        current = new Company(rs.getString("company_name"), companyId, rs.getString("identifier"));
+                        companies.add(current);
+                    }
+                    CryptoAsset asset = readAsset(rs);
+                    if (asset != null) {
+                        current.allocateAsset(asset);
+                    }
+                }
+            }
+        }
+        return companies;
+    }
+
+    private Map<String, Double> loadPrices(Connection conn) throws SQLException {
+        Map<String, Double> prices = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(PRICES_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                prices.put(rs.getString("symbol"), rs.getDouble("price"));
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * Junta as linhas seguidas do mesmo dono (o cursor vem ordenado por ele) num único objeto. O dono de
+     * cada linha é montado de novo, mas só o da primeira é entregue.
+     */
+    private static <O> Stream<O> groupByOwner(Stream<Position<O>> rows, BiConsumer<O, CryptoAsset> addAsset) {
+        Iterator<Position<O>> cursor = rows.iterator();
+        Spliterator<O> owners = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Position<O> pending;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super O> action) {
+                Position<O> first = pending;
+                pending = null;
+                if (first == null) {
+                    if (!cursor.hasNext()) {
+                        return false;
+                    }
+                    first = cursor.next();
+                }
+                O owner = first.owner();
+                if (first.asset() != null) {
+                    addAsset.accept(owner, first.asset());
+                }
+                while (cursor.hasNext()) {
+                    Position<O> next = cursor.next();
+                    if (next.ownerId() != first.ownerId()) {
+                        pending = next;
+                        break;
+                    }
+                    if (next.asset() != null) {
+                        addAsset.accept(owner, next.asset());
+                    }
+                }
+                action.accept(owner);
+                return true;
+            }
+        };
+        return StreamSupport.stream(owners, false).onClose(rows::close);
+    }
+
+    private record Position<O>(O owner, int ownerId, CryptoAsset asset) {
+    }
+
+    /**
+     * Ativo da linha, ou {@code null} quando o dono não tem posições (colunas do LEFT JOIN nulas).
+     */
+    private static CryptoAsset readAsset(ResultSet rs) throws SQLException {
+        int assetId = rs.getInt("asset_id");
+        if (rs.wasNull()) {
+            return null;
+        }
+        return new CryptoAsset(
+                assetId,
+                rs.getString("name"),
+                rs.getString("symbol"),
+                rs.getDouble("quantity"),
+                rs.getDouble("price")
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package dao.oracle;
+
+import dao.TradeDAO;
+import dao.TradeResult;
+import dao.TradeResult.Status;
+import db.OracleConnection;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+/**
+ * Compra/venda em um único round trip: um bloco PL/SQL aplica o delta na posição (MERGE na compra,
+ * UPDATE condicional na venda), grava a transação e devolve o novo saldo. Se qualquer passo falhar, o
+ * Oracle desfaz o bloco inteiro (atomicidade por chamada), então não há transação sem ajuste de saldo.
+ */
+public class OracleTradeDAO implements TradeDAO {
+
+    private static final int UNIQUE_VIOLATION = 1;       // ORA-00001: duas compras criando a mesma posição
+    private static final int NO_DATA_FOUND = 1403;       // ORA-01403: carteira não existe
+    private static final int PARENT_KEY_NOT_FOUND = 2291; // ORA-02291: ativo não existe
+    private static final int INSUFFICIENT_BALANCE = 20001;
+
+    // O UPDATE da venda só afeta a linha se o saldo cobre a quantidade; a trava da linha evita vendas
+    // concorrentes passando pelo mesmo saldo
+    private static final String SQL =
+            "DECLARE " +
+            "  v_wallet  NUMBER := ?; " +
+            "  v_asset   NUMBER := ?; " +
+            "  v_type    VARCHAR2(10) := ?; " +
+            "  v_amount  NUMBER := ?; " +
+            "  v_time    TIMESTAMP := ?; " +
+            "  v_user    NUMBER; " +
+            "  v_balance NUMBER; " +
+            "  v_price   NUMBER; " +
+            "BEGIN " +
+            "  SELECT user_id INTO v_user FROM wallet WHERE id = v_wallet; " +
+            "  IF v_type = 'BUY' THEN " +
+            "    MERGE INTO wallet_cryptoAsset w " +
+            "    USING (SELECT v_wallet AS wallet_id, v_asset AS crypto_asset_id FROM dual) s " +
+            "    ON (w.wallet_id = s.wallet_id AND w.crypto_asset_id = s.crypto_asset_id) " +
+            "    WHEN MATCHED THEN UPDATE SET w.quantity = w.quantity + v_amount " +
+            "    WHEN NOT MATCHED THEN INSERT (wallet_id, crypto_asset_id, quantity) " +
+            "      VALUES (v_wallet, v_asset, v_amount); " +
+            "  ELSE " +
+            "    UPDATE wallet_cryptoAsset SET quantity = quantity - v_amount " +
+            "     WHERE wallet_id = v_wallet AND crypto_asset_id = v_asset AND quantity >= v_amount; " +
+            "    IF SQL%ROWCOUNT = 0 THEN " +
+            "      RAISE_APPLICATION_ERROR(-" + INSUFFICIENT_BALANCE + ", 'saldo insuficiente'); " +
+            "    END IF; " +
+            "  END IF; " +
+            "  SELECT quantity INTO v_balance FROM wallet_cryptoAsset " +
+            "   WHERE wallet_id = v_wallet AND crypto_asset_id = v_asset; " +
+            // Executa ao preço de mercado; sem cotação, ao preço do cadastro do ativo
+            "  SELECT COALESCE((SELECT m.price FROM market m JOIN cryptoAsset ca ON ca.symbol = m.symbol " +
+            "                   WHERE ca.id = v_asset), " +
+            "                  (SELECT price FROM cryptoAsset WHERE id = v_asset)) INTO v_price FROM dual; " +
+            "  INSERT INTO transaction (crypto_asset_id, amount, type, timestamp, user_id, price) " +
+            "    VALUES (v_asset, v_amount, v_type, v_time, v_user, v_price); " +
+            "  ? := v_balance; " +
+            "END;";
+
+    @Override
+    public TradeResult execute(int walletId, int cryptoAssetId, String type, double amount) {
+        if (!("BUY".equals(type) || "SELL".equals(type)) || !(amount > 0)) {
+            return TradeResult.rejected(Status.INVALID, walletId, cryptoAssetId);
+        }
+
+        try (Connection conn = OracleConnection.getConnection();
+             CallableStatement stmt = conn.prepareCall(SQL)) {
+
+            stmt.setInt(1, walletId);
+            stmt.setInt(2, cryptoAssetId);
+            stmt.setString(3, type);
+            stmt.setDouble(4, amount);
+            stmt.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.registerOutParameter(6, Types.DOUBLE);
+
+            // Só a criação concorrente da mesma posição colide; a segunda tentativa cai no WHEN MATCHED
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    stmt.execute();
+                    return TradeResult.executed(walletId, cryptoAssetId, stmt.getDouble(6));
+                } catch (SQLException e) {
+                    if (e.getErrorCode() != UNIQUE_VIOLATION || attempt == 2) {
+                        throw e;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            return switch (e.getErrorCode()) {
+                case INSUFFICIENT_BALANCE -> TradeResult.rejected(Status.INSUFFICIENT_BALANCE, walletId, cryptoAssetId);
+                case NO_DATA_FOUND -> TradeResult.rejected(Status.WALLET_NOT_FOUND, walletId, cryptoAssetId);
+                case PARENT_KEY_NOT_FOUND -> TradeResult.rejected(Status.ASSET_NOT_FOUND, walletId, cryptoAssetId);
+                default -> TradeResult.error(walletId, cryptoAssetId, e.getMessage());
+            };
+        }
+    }
+}
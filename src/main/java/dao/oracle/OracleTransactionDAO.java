@@ -0,0 +1,295 @@
+package dao.oracle;
+
+import dao.BatchResult;
+import dao.Page;
+import dao.PageToken;
+import dao.TransactionDAO;
+import db.OracleConnection;
+import model.CryptoAsset;
+import model.Transaction;
+import model.User;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class OracleTransactionDAO implements TransactionDAO {
+
+    private static final String REPLAY_SQL = "MERGE INTO transaction t " +
+                                             "USING (SELECT ? AS journal_id, ? AS journal_seq FROM dual) j " +
+                                             "ON (t.journal_id = j.journal_id AND t.journal_seq = j.journal_seq) " +
+                                             "WHEN NOT MATCHED THEN " +
+                                             "  INSERT (crypto_asset_id, amount, type, timestamp, user_id, price, journal_id, journal_seq) " +
+                                             "  VALUES (?, ?, ?, ?, ?, ?, j.journal_id, j.journal_seq)";
+
+    @Override
+    public void insert(Transaction transaction, int userId, int cryptoAssetId) {
+        String sql = "INSERT INTO transaction (crypto_asset_id, amount, type, timestamp, user_id, price) VALUES (?, ?, ?, ?, ?, ?)";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, cryptoAssetId);
+            stmt.setDouble(2, transaction.getAmount());
+            stmt.setString(3, transaction.getType());
+            stmt.setTimestamp(4, Timestamp.valueOf(transaction.getTimestamp()));
+            setUserId(stmt, 5, userId);
+            setPrice(stmt, 6, transaction.getPrice());
+
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                System.out.println("✅ Transação inserida com sucesso.");
+            } else {
+                System.out.println("⚠️ Nenhuma transação foi inserida.");
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao inserir transação: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public BatchResult insertAll(List<Transaction> transactions, int batchSize) {
+        String sql = "INSERT INTO transaction (crypto_asset_id, amount, type, timestamp, user_id, price) VALUES (?, ?, ?, ?, ?, ?)";
+        BatchResult result = JdbcBatch.execute(sql, transactions, batchSize, (stmt, transaction) -> {
+            stmt.setInt(1, transaction.getAsset().getId());
+            stmt.setDouble(2, transaction.getAmount());
+            stmt.setString(3, transaction.getType());
+            stmt.setTimestamp(4, Timestamp.valueOf(transaction.getTimestamp()));
+            setUserId(stmt, 5, transaction.getUserId());
+            setPrice(stmt, 6, transaction.getPrice());
+        });
+        result.printSummary("Inserção de transações em lote");
+        return result;
+    }
+
+    /**
+     * Resultado de {@link #replay}: quantas entradas do início da lista foram resolvidas (gravadas, já
+     * existentes ou recusadas de vez), as sequências recusadas e o erro que interrompeu o restante.
+     */
+    record ReplayResult(int handled, List<Long> rejected, String error) {
+    }
+
+    /**
+     * Grava as entradas do journal, sem mensagens no console. O MERGE por (journal_id, journal_seq) ignora
+     * entradas já gravadas, então reenviar um lote depois de uma queda não duplica transações.
+     *
+     * Só erros de dados/restrição recusam uma entrada; qualquer outra falha (conexão, deadlock, timeout)
+     * para na primeira entrada não confirmada, para ela ser reenviada no próximo reprocessamento.
+     */
+    ReplayResult replay(long journalId, List<TransactionJournal.Entry> entries) {
+        List<Long> rejected = new ArrayList<>();
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(REPLAY_SQL)) {
+
+            conn.setAutoCommit(false);
+            try {
+                for (TransactionJournal.Entry entry : entries) {
+                    bindReplay(stmt, journalId, entry);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                return new ReplayResult(entries.size(), rejected, null);
+            } catch (SQLException e) {
+                rollbackQuietly(conn);
+                stmt.clearBatch();
+                if (!JdbcBatch.isDataError(e)) {
+                    return new ReplayResult(0, rejected, e.getMessage());
+                }
+            }
+            // Alguma entrada foi recusada: repete uma a uma, com um commit por entrada, para separá-la
+            for (int i = 0; i < entries.size(); i++) {
+                try {
+                    bindReplay(stmt, journalId, entries.get(i));
+                    stmt.executeUpdate();
+                    conn.commit();
+                } catch (SQLException e) {
+                    rollbackQuietly(conn);
+                    if (!JdbcBatch.isDataError(e)) {
+                        return new ReplayResult(i, rejected, e.getMessage());
+                    }
+                    rejected.add(entries.get(i).seq());
+                }
+            }
+            return new ReplayResult(entries.size(), rejected, null);
+        } catch (SQLException e) {
+            return new ReplayResult(0, rejected, e.getMessage());
+        }
+    }
+
+    private static void bindReplay(PreparedStatement stmt, long journalId, TransactionJournal.Entry entry)
+            throws SQLException {
+        stmt.setLong(1, journalId);
+        stmt.setLong(2, entry.seq());
+        stmt.setInt(3, entry.cryptoAssetId());
+        stmt.setDouble(4, entry.amount());
+        stmt.setString(5, entry.type());
+        stmt.setTimestamp(6, Timestamp.valueOf(entry.timestamp()));
+        setUserId(stmt, 7, entry.userId());
+        setPrice(stmt, 8, entry.price());
+    }
+
+    private static void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao desfazer reprocessamento do journal: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Transaction findById(int id) {
+        String sql = "SELECT t.id, t.amount, t.type, t.timestamp, t.user_id, t.price AS tx_price, ca.id as crypto_id, ca.name, ca.symbol, ca.price " +
+                     "FROM transaction t " +
+                     "JOIN cryptoAsset ca ON t.crypto_asset_id = ca.id " +
+                     "WHERE t.id = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapTransaction(rs);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao buscar transação por ID: " + e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public List<Transaction> findByUserId(int userId) {
+        List<Transaction> transactions = new ArrayList<>();
+        String sql = "SELECT t.id, t.amount, t.type, t.timestamp, t.user_id, t.price AS tx_price, ca.id as crypto_id, ca.name, ca.symbol, ca.price " +
+                     "FROM transaction t " +
+                     "JOIN cryptoAsset ca ON t.crypto_asset_id = ca.id " +
+                     "WHERE t.user_id = ? ORDER BY t.timestamp DESC, t.id DESC";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(mapTransaction(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao buscar transações por usuário: " + e.getMessage());
+        }
+        return transactions;
+    }
+
+    @Override
+    public Page<Transaction> findByUserId(int userId, int pageSize, String pageToken) {
+        int size = Page.clampSize(pageSize);
+        // Keyset: continua depois da (data/hora, id) do último item da página anterior, sem OFFSET
+        String sql = "SELECT t.id, t.amount, t.type, t.timestamp, t.user_id, t.price AS tx_price, ca.id as crypto_id, ca.name, ca.symbol, ca.price " +
+                     "FROM transaction t " +
+                     "JOIN cryptoAsset ca ON t.crypto_asset_id = ca.id " +
+                     "WHERE t.user_id = ? " +
+                     (pageToken != null ? "AND (t.timestamp < ? OR (t.timestamp = ? AND t.id < ?)) " : "") +
+                     "ORDER BY t.timestamp DESC, t.id DESC FETCH FIRST ? ROWS ONLY";
+        List<Transaction> rows = new ArrayList<>(size + 1);
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            stmt.setInt(index++, userId);
+            if (pageToken != null) {
+                long[] keys = PageToken.decode(pageToken, 3);
+                Timestamp after = Timestamp.valueOf(PageToken.decodeTimestamp(keys));
+                stmt.setTimestamp(index++, after);
+                stmt.setTimestamp(index++, after);
+                stmt.setLong(index++, keys[2]);
+            }
+            stmt.setInt(index, size + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapTransaction(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao buscar transações por usuário: " + e.getMessage());
+        }
+        return Page.of(rows, size, t -> PageToken.encodeTimestampAndId(t.getTimestamp(), t.getId()));
+    }
+
+    @Override
+    public Stream<Transaction> streamByUserId(int userId, int fetchSize) {
+        String sql = "SELECT t.id, t.amount, t.type, t.timestamp, t.user_id, t.price AS tx_price, ca.id as crypto_id, ca.name, ca.symbol, ca.price " +
+                     "FROM transaction t " +
+                     "JOIN cryptoAsset ca ON t.crypto_asset_id = ca.id " +
+                     "WHERE t.user_id = ? ORDER BY t.timestamp DESC, t.id DESC";
+        return JdbcStream.query(sql, fetchSize, stmt -> stmt.setInt(1, userId),
+                OracleTransactionDAO::mapTransaction, "Erro ao buscar transações por usuário");
+    }
+
+    @Override
+    public Stream<Transaction> streamAll(int fetchSize) {
+        String sql = "SELECT t.id, t.amount, t.type, t.timestamp, t.user_id, t.price AS tx_price, ca.id as crypto_id, ca.name, ca.symbol, ca.price " +
+                     "FROM transaction t " +
+                     "JOIN cryptoAsset ca ON t.crypto_asset_id = ca.id " +
+                     "ORDER BY t.id";
+        return JdbcStream.query(sql, fetchSize, OracleTransactionDAO::mapTransaction, "Erro ao listar transações");
+    }
+
+    private static Transaction mapTransaction(ResultSet rs) throws SQLException {
+        CryptoAsset asset = new CryptoAsset(
+                rs.getInt("crypto_id"),
+                rs.getString("name"),
+                rs.getString("symbol"),
+                0, // A quantidade na transação é o 'amount', não o total do ativo
+                rs.getDouble("price")
+        );
+        Transaction transaction = new Transaction(
+                asset,
+                rs.getDouble("amount"),
+                rs.getString("type"),
+                rs.getInt("user_id")
+        );
+        transaction.setId(rs.getInt("id"));
+        transaction.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
+        double price = rs.getDouble("tx_price");
+        transaction.setPrice(rs.wasNull() ? Double.NaN : price);
+        return transaction;
+    }
+
+    /**
+     * user_id é opcional: 0 (o que {@link #mapTransaction} devolve para NULL) é gravado como NULL.
+     */
+    private static void setUserId(PreparedStatement stmt, int index, int userId) throws SQLException {
+        if (userId <= 0) {
+            stmt.setNull(index, Types.INTEGER);
+        } else {
+            stmt.setInt(index, userId);
+        }
+    }
+
+    private static void setPrice(PreparedStatement stmt, int index, double price) throws SQLException {
+        if (Double.isNaN(price)) {
+            stmt.setNull(index, Types.DOUBLE);
+        } else {
+            stmt.setDouble(index, price);
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        String sql = "DELETE FROM transaction WHERE id = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected > 0) {
+                System.out.println("✅ Transação com ID " + id + " excluída com sucesso.");
+            } else {
+                System.out.println("⚠️ Nenhuma transação encontrada com o ID " + id + " para excluir.");
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao excluir transação: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package dao.oracle;
+
+import dao.BatchResult;
+import dao.IdGenerator;
+import dao.Page;
+import dao.PageToken;
+import dao.UserDAO;
+import dao.UserWriteResult;
+import dao.UserWriteResult.Status;
+import db.OracleConnection;
+import model.User;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class OracleUserDAO implements UserDAO {
+
+    private static final int UNIQUE_VIOLATION = 1;      // ORA-00001: unique constraint violated
+    private static final int CHILD_RECORD_FOUND = 2292; // ORA-02292: integrity constraint violated - child record found
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+    private static final Pattern CONSTRAINT_NAME = Pattern.compile("\\(([^)]+)\\)");
+
+    private final IdGenerator idGenerator;
+
+    public OracleUserDAO(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * Verifica se um usuário com o ID especificado já existe no banco
+     */
+    @Override
+    public boolean existsById(int id) {
+        String sql = "SELECT COUNT(*) FROM users WHERE id = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1) > 0;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao verificar existência do usuário por ID: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se um usuário com o email especificado já existe no banco
+     */
+    @Override
+    public boolean existsByEmail(String email) {
+        String sql = "SELECT COUNT(*) FROM users WHERE email = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, email);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1) > 0;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao verificar existência do usuário por email: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Gera o próximo ID disponível automaticamente (faixa reservada em id_block, sem consultar a tabela)
+     */
+    @Override
+    public int getNextAvailableId() {
+        return idGenerator.nextId(IdGenerator.USERS);
+    }
+
+    /**
+     * Inserir usuário com um único INSERT; duplicidade é detectada pelas constraints únicas
+     */
+    @Override
+    public UserWriteResult insert(User user) {
+        boolean generatedId = user.getId() <= 0;
+        if (generatedId) {
+            user.setId(getNextAvailableId());
+        } else {
+            idGenerator.reserveExplicit(IdGenerator.USERS, user.getId());
+        }
+
+        String sql = "INSERT INTO users (id, name, email, password) VALUES (?, ?, ?, ?)";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int attempt = 1; ; attempt++) {
+                stmt.setInt(1, user.getId());
+                stmt.setString(2, user.getName());
+                stmt.setString(3, user.getEmail());
+                stmt.setString(4, user.getPassword());
+                try {
+                    stmt.executeUpdate();
+                    return UserWriteResult.of(Status.INSERTED, user.getId());
+                } catch (SQLException e) {
+                    if (e.getErrorCode() != UNIQUE_VIOLATION) {
+                        throw e;
+                    }
+                    Status conflict = classifyConflict(conn, e, user.getEmail());
+                    // ID informado pelo chamador não é trocado: só um ID gerado aqui pode ser refeito
+                    if (conflict == Status.DUPLICATE_EMAIL || !generatedId || attempt == MAX_INSERT_ATTEMPTS) {
+                        return UserWriteResult.of(conflict, user.getId());
+                    }
+                    // ID gerado já usado (ex.: linha gravada por fora do id_block): tenta com um novo
+                    user.setId(getNextAvailableId());
+                }
+            }
+        } catch (SQLException e) {
+            return UserWriteResult.error(user.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Descobre qual constraint única foi violada pelo nome no ORA-00001, ex.: "(VOLTZ.UQ_USER_EMAIL)".
+     * Se o nome não indicar (constraint gerada pelo sistema), confere o email na mesma conexão.
+     */
+    private Status classifyConflict(Connection conn, SQLException e, String email) throws SQLException {
+        Matcher matcher = CONSTRAINT_NAME.matcher(String.valueOf(e.getMessage()));
+        if (matcher.find()) {
+            String constraint = matcher.group(1).toUpperCase();
+            if (constraint.contains("EMAIL")) {
+                return Status.DUPLICATE_EMAIL;
+            }
+            if (constraint.contains("PK") || constraint.endsWith("_ID")) {
+                return Status.DUPLICATE_ID;
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM users WHERE email = ?")) {
+            stmt.setString(1, email);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0 ? Status.DUPLICATE_EMAIL : Status.DUPLICATE_ID;
+            }
+        }
+    }
+
+    /**
+     * Inserir usuários em lote, sem as verificações prévias de duplicidade do insert
+     */
+    @Override
+    public BatchResult insertAll(List<User> users, int batchSize) {
+        String sql = "INSERT INTO users (id, name, email, password) VALUES (?, ?, ?, ?)";
+        int maxExplicitId = 0;
+        for (User user : users) {
+            maxExplicitId = Math.max(maxExplicitId, user.getId());
+        }
+        idGenerator.reserveExplicit(IdGenerator.USERS, maxExplicitId);
+        for (User user : users) {
+            if (user.getId() <= 0) {
+                user.setId(getNextAvailableId());
+            }
+        }
+        BatchResult result = JdbcBatch.execute(sql, users, batchSize, (stmt, user) -> {
+            stmt.setInt(1, user.getId());
+            stmt.setString(2, user.getName());
+            stmt.setString(3, user.getEmail());
+            stmt.setString(4, user.getPassword());
+        });
+        result.printSummary("Inserção de usuários em lote");
+        return result;
+    }
+
+    /**
+     * Atualizar dados do usuário
+     */
+    @Override
+    public UserWriteResult update(User user) {
+        String sql = "UPDATE users SET name = ?, email = ?, password = ? WHERE id = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, user.getName());
+            stmt.setString(2, user.getEmail());
+            stmt.setString(3, user.getPassword());
+            stmt.setInt(4, user.getId());
+
+            int rows = stmt.executeUpdate();
+            return UserWriteResult.of(rows > 0 ? Status.UPDATED : Status.NOT_FOUND, user.getId());
+        } catch (SQLException e) {
+            if (e.getErrorCode() == UNIQUE_VIOLATION) { // só o email pode colidir: o ID não muda
+                return UserWriteResult.of(Status.DUPLICATE_EMAIL, user.getId());
+            }
+            return UserWriteResult.error(user.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Excluir usuário do banco
+     */
+    @Override
+    public UserWriteResult delete(User user) {
+        String sql = "DELETE FROM users WHERE id = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, user.getId());
+
+            int rows = stmt.executeUpdate();
+            return UserWriteResult.of(rows > 0 ? Status.DELETED : Status.NOT_FOUND, user.getId());
+        } catch (SQLException e) {
+            if (e.getErrorCode() == CHILD_RECORD_FOUND) {
+                return UserWriteResult.of(Status.REFERENCED, user.getId());
+            }
+            return UserWriteResult.error(user.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Buscar usuário por ID
+     */
+    @Override
+    public User findById(int id) {
+        String sql = "SELECT id, name, email, password FROM users WHERE id = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapUser(rs);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao buscar usuário por ID: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Buscar usuário por email
+     */
+    @Override
+    public User findByEmail(String email) {
+        String sql = "SELECT id, name, email, password FROM users WHERE email = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, email);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapUser(rs);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao buscar usuário por email: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Recuperar todos os usuários do banco
+     */
+    @Override
+    public List<User> findAll() {
+        List<User> users = new ArrayList<>();
+        String sql = "SELECT id, name, email, password FROM users ORDER BY id";
+        try (Connection conn = OracleConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                users.add(mapUser(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao recuperar usuários: " + e.getMessage());
+        }
+        return users;
+    }
+
+    /**
+     * Recuperar uma página de usuários, ordenada por ID
+     */
+    @Override
+    public Page<User> findAll(int pageSize, String pageToken) {
+        int size = Page.clampSize(pageSize);
+        List<User> users = new ArrayList<>(size + 1);
+        String sql = "SELECT id, name, email, password FROM users WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, PageToken.decodeId(pageToken));
+            stmt.setInt(2, size + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(mapUser(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao recuperar usuários: " + e.getMessage());
+        }
+        return Page.of(users, size, user -> PageToken.encodeId(user.getId()));
+    }
+
+    // READ - Todos os usuários sob demanda
+    @Override
+    public Stream<User> streamAll(int fetchSize) {
+        String sql = "SELECT id, name, email, password FROM users ORDER BY id";
+        return JdbcStream.query(sql, fetchSize, this::mapUser, "Erro ao listar usuários");
+    }
+
+    /**
+     * Limpar todos os usuários da tabela (usar com cuidado!)
+     */
+    @Override
+    public void deleteAll() {
+        String sql = "DELETE FROM users";
+        try (Connection conn = OracleConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            int rows = stmt.executeUpdate(sql);
+            System.out.println("✅ " + rows + " usuário(s) excluído(s) da tabela.");
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao limpar tabela de usuários: " + e.getMessage());
+        }
+    }
+
+    private User mapUser(ResultSet rs) throws SQLException {
+        return new User(
+                rs.getString("name"),
+                rs.getInt("id"),
+                rs.getString("email"),
+                rs.getString("password")
+        );
+    }
+}
@@ -0,0 +1,213 @@
+package dao.oracle;
+
+import dao.BatchResult;
+import dao.IdGenerator;
+import dao.Page;
+import dao.PageToken;
+import dao.WalletDAO;
+import db.OracleConnection;
+import model.Wallet;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * DAO para gerenciamento de Wallets (Carteiras)
+ * Versão corrigida - compatível com estrutura do banco
+ */
+public class OracleWalletDAO implements WalletDAO {
+
+    private final IdGenerator idGenerator;
+
+    public OracleWalletDAO(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    // INSERT
+    @Override
+    public void insert(Wallet wallet) {
+        // Usar apenas ID e USER_ID (colunas que existem)
+        String sql = "INSERT INTO wallet (id, user_id) VALUES (?, ?)";
+        if (wallet.getId() <= 0) {
+            wallet.setId(idGenerator.nextId(IdGenerator.WALLET));
+        } else {
+            idGenerator.reserveExplicit(IdGenerator.WALLET, wallet.getId());
+        }
+
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, wallet.getId());
+            stmt.setInt(2, wallet.getUserId());
+
+            stmt.executeUpdate();
+            System.out.println("✅ Carteira inserida com sucesso!");
+
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao inserir carteira: " + e.getMessage());
+        }
+    }
+
+    // INSERT em lote
+    @Override
+    public BatchResult insertAll(List<Wallet> wallets, int batchSize) {
+        String sql = "INSERT INTO wallet (id, user_id) VALUES (?, ?)";
+        int maxExplicitId = 0;
+        for (Wallet wallet : wallets) {
+            maxExplicitId = Math.max(maxExplicitId, wallet.getId());
+        }
+        idGenerator.reserveExplicit(IdGenerator.WALLET, maxExplicitId);
+        for (Wallet wallet : wallets) {
+            if (wallet.getId() <= 0) {
+                wallet.setId(idGenerator.nextId(IdGenerator.WALLET));
+            }
+        }
+        BatchResult result = JdbcBatch.execute(sql, wallets, batchSize, (stmt, wallet) -> {
+            stmt.setInt(1, wallet.getId());
+            stmt.setInt(2, wallet.getUserId());
+        });
+        result.printSummary("Inserção de carteiras em lote");
+        return result;
+    }
+
+    // UPDATE
+    @Override
+    public void update(Wallet wallet) {
+        String sql = "UPDATE wallet SET user_id = ? WHERE id = ?";
+
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, wallet.getUserId());
+            stmt.setInt(2, wallet.getId());
+
+            int rows = stmt.executeUpdate();
+            if (rows > 0) {
+                System.out.println("✅ Carteira atualizada com sucesso!");
+            } else {
+                System.out.println("⚠️ Carteira não encontrada para atualizar");
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao atualizar carteira: " + e.getMessage());
+        }
+    }
+
+    // DELETE
+    @Override
+    public void delete(int id) {
+        String sql = "DELETE FROM wallet WHERE id = ?";
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            int rows = stmt.executeUpdate();
+
+            if (rows > 0) {
+                System.out.println("✅ Carteira deletada com sucesso!");
+            } else {
+                System.out.println("⚠️ Carteira não encontrada para deletar");
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao deletar carteira: " + e.getMessage());
+        }
+    }
+
+    // SELECT by ID
+    @Override
+    public Wallet findById(int id) {
+        String sql = "SELECT id, user_id FROM wallet WHERE id = ?";
+
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                // Criar nome padrão já que não temos coluna name
+                String walletName = "Wallet " + rs.getInt("id");
+
+                return new Wallet(
+                        rs.getInt("id"),
+                        rs.getInt("user_id"),
+                        walletName
+                );
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao buscar carteira: " + e.getMessage());
+        }
+        return null;
+    }
+
+    // SELECT all
+    @Override
+    public List<Wallet> findAll() {
+        List<Wallet> wallets = new ArrayList<>();
+        String sql = "SELECT id, user_id FROM wallet";
+
+        try (Connection conn = OracleConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                String walletName = "Wallet " + rs.getInt("id");
+
+                wallets.add(new Wallet(
+                        rs.getInt("id"),
+                        rs.getInt("user_id"),
+                        walletName
+                ));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao listar carteiras: " + e.getMessage());
+        }
+
+        return wallets;
+    }
+
+    // READ - uma página, ordenada por ID
+    @Override
+    public Page<Wallet> findAll(int pageSize, String pageToken) {
+        int size = Page.clampSize(pageSize);
+        List<Wallet> wallets = new ArrayList<>(size + 1);
+        String sql = "SELECT id, user_id FROM wallet WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, PageToken.decodeId(pageToken));
+            stmt.setInt(2, size + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    wallets.add(new Wallet(
+                            rs.getInt("id"),
+                            rs.getInt("user_id"),
+                            "Wallet " + rs.getInt("id")
+                    ));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao listar carteiras: " + e.getMessage());
+        }
+
+        return Page.of(wallets, size, wallet -> PageToken.encodeId(wallet.getId()));
+    }
+
+    // READ - Todas as carteiras sob demanda
+    @Override
+    public Stream<Wallet> streamAll(int fetchSize) {
+        String sql = "SELECT id, user_id FROM wallet ORDER BY id";
+        return JdbcStream.query(sql, fetchSize, rs -> new Wallet(
+                rs.getInt("id"),
+                rs.getInt("user_id"),
+                "Wallet " + rs.getInt("id")
+        ), "Erro ao listar carteiras");
+    }
+}
\ No newline at end of file
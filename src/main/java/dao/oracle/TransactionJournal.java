@@ -0,0 +1,478 @@
+package dao.oracle;
+
+import model.Transaction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.CRC32;
+
+/**
+ * Log de transações só de acréscimo, em segmentos mapeados em memória ({@code journal-NNNNNN.log}).
+ *
+ * Cada registro tem tamanho fixo: comprimento e CRC32 do conteúdo, seguidos de número de sequência,
+ * usuário, ativo, quantidade, preço, tipo e data/hora. {@link #append} só escreve no mapeamento; uma
+ * thread de sincronização faz o {@code force()} de tudo o que foi acrescentado desde o anterior (group
+ * commit) e libera quem espera em {@link #awaitDurable}. Quanto mais escritores concorrentes, mais
+ * registros por fsync. Se o {@code force()} falhar, quem espera recebe o erro e a thread tenta de novo a
+ * cada SYNC_RETRY_MILLIS; as entradas continuam no log e ficam duráveis no primeiro {@code force()} que der certo.
+ *
+ * O journal tem um identificador aleatório ({@code journal.id}), gravado com a sequência em cada linha
+ * reprocessada para o banco ignorar a mesma entrada enviada duas vezes.
+ *
+ * A sequência da última entrada já gravada no banco fica em {@code replayed.pos}. Na abertura os
+ * segmentos são lidos até o primeiro registro inválido (fim de escrita interrompida), e as entradas
+ * depois de {@code replayed.pos} voltam para a fila de reprocessamento. Segmentos totalmente
+ * reprocessados são apagados.
+ */
+final class TransactionJournal implements AutoCloseable {
+
+    /**
+     * Entrada do journal; {@code seq} é crescente e nunca reutilizado.
+     */
+    record Entry(long seq, int userId, int cryptoAssetId, double amount, double price, String type,
+                 LocalDateTime timestamp) {
+    }
+
+    private static final int PAYLOAD_SIZE = 8 + 4 + 4 + 8 + 8 + 1 + 8 + 4;
+    private static final int HEADER_SIZE = 4 + 4;
+    static final int RECORD_SIZE = HEADER_SIZE + PAYLOAD_SIZE;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String REPLAYED_FILE = "replayed.pos";
+    private static final String ID_FILE = "journal.id";
+    private static final long SYNC_RETRY_MILLIS = 1000;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final FileChannel replayedChannel;
+    private long journalId;
+
+    // Segmentos do mais antigo ao ativo (último); protegidos por "this"
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private long nextSeq;
+    private volatile long appendedSeq;
+
+    // Sincronização: durableSeq só avança depois do force(); syncFailure é o erro do último force() que falhou
+    private final Object syncMonitor = new Object();
+    private long durableSeq;
+    private IOException syncFailure;
+    private boolean closed;
+    private final Thread syncThread;
+    private long forces;
+
+    private final ConcurrentLinkedQueue<Entry> unreplayed = new ConcurrentLinkedQueue<>();
+    private volatile long replayedSeq;
+
+    private TransactionJournal(Path directory, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = Math.max(RECORD_SIZE, segmentBytes);
+        this.replayedChannel = FileChannel.open(directory.resolve(REPLAYED_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.syncThread = new Thread(this::syncLoop, "voltz-journal-sync");
+        this.syncThread.setDaemon(true);
+    }
+
+    static TransactionJournal open(Path directory, long segmentBytes) throws IOException {
+        Files.createDirectories(directory);
+        TransactionJournal journal = new TransactionJournal(directory, segmentBytes);
+        try {
+            journal.recover();
+        } catch (IOException e) {
+            journal.replayedChannel.close();
+            throw e;
+        }
+        journal.syncThread.start();
+        return journal;
+    }
+
+    // ===================== RECUPERAÇÃO =====================
+
+    private void recover() throws IOException {
+        journalId = loadOrCreateId();
+        ByteBuffer position = ByteBuffer.allocate(8);
+        if (replayedChannel.read(position, 0) == 8) {
+            replayedSeq = position.flip().getLong();
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+
+        long lastSeq = replayedSeq;
+        for (Path file : files) {
+            Segment segment = Segment.map(file, indexOf(file), Math.max(Files.size(file), segmentBytes));
+            lastSeq = scan(segment, lastSeq);
+            segments.add(segment);
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.map(segmentPath(1), 1, segmentBytes));
+        }
+        nextSeq = lastSeq + 1;
+        appendedSeq = lastSeq;
+        durableSeq = lastSeq;
+        deleteReplayedSegments();
+    }
+
+    private long loadOrCreateId() throws IOException {
+        Path idFile = directory.resolve(ID_FILE);
+        if (Files.exists(idFile)) {
+            byte[] bytes = Files.readAllBytes(idFile);
+            if (bytes.length == 8) {
+                return ByteBuffer.wrap(bytes).getLong();
+            }
+            throw new IOException("identificador do journal corrompido em " + idFile);
+        }
+        long id = new SecureRandom().nextLong() & Long.MAX_VALUE;
+        Path temp = directory.resolve(ID_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = ByteBuffer.allocate(8).putLong(id).flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, idFile, StandardCopyOption.ATOMIC_MOVE);
+        return id;
+    }
+
+    /**
+     * Lê os registros válidos do segmento, posicionando a escrita depois do último.
+     *
+     * @return sequência do último registro válido (ou {@code lastSeq}, se não houver)
+     */
+    private long scan(Segment segment, long lastSeq) {
+        MappedByteBuffer buffer = segment.buffer;
+        long previous = 0;
+        int pos = 0;
+        while (pos + RECORD_SIZE <= buffer.capacity()) {
+            if (buffer.getInt(pos) != PAYLOAD_SIZE || checksum(buffer, pos) != buffer.getInt(pos + 4)) {
+                break;
+            }
+            Entry entry = read(buffer, pos + HEADER_SIZE);
+            // Sequência que não cresce indica lixo depois do fim real
+            if (entry.seq() <= previous) {
+                break;
+            }
+            previous = entry.seq();
+            if (entry.seq() > replayedSeq) {
+                unreplayed.add(entry);
+            }
+            lastSeq = Math.max(lastSeq, entry.seq());
+            pos += RECORD_SIZE;
+        }
+        segment.buffer.position(pos);
+        segment.lastSeq = lastSeq;
+        return lastSeq;
+    }
+
+    // ===================== ESCRITA =====================
+
+    /**
+     * Acrescenta a transação ao log (ainda sem garantia de durabilidade). Tipos diferentes de BUY e SELL
+     * são recusados com {@link IllegalArgumentException}.
+     *
+     * @return sequência da entrada, para {@link #awaitDurable}
+     */
+    synchronized long append(Transaction transaction, int userId, int cryptoAssetId) throws IOException {
+        encodeType(transaction.getType());
+        if (closed) {
+            throw new IOException("journal fechado");
+        }
+        Segment active = segments.getLast();
+        if (active.buffer.remaining() < RECORD_SIZE) {
+            active = roll();
+        }
+        Entry entry = new Entry(nextSeq++, userId, cryptoAssetId, transaction.getAmount(), transaction.getPrice(),
+                transaction.getType(), transaction.getTimestamp());
+        MappedByteBuffer buffer = active.buffer;
+        int pos = buffer.position();
+        write(buffer, pos + HEADER_SIZE, entry);
+        buffer.putInt(pos + 4, checksum(buffer, pos));
+        buffer.putInt(pos, PAYLOAD_SIZE);
+        buffer.position(pos + RECORD_SIZE);
+        active.lastSeq = entry.seq();
+
+        unreplayed.add(entry);
+        appendedSeq = entry.seq();
+        synchronized (syncMonitor) {
+            syncMonitor.notifyAll();
+        }
+        return entry.seq();
+    }
+
+    /**
+     * Espera até a entrada {@code seq} estar em disco. Com o {@code force()} falhando, lança o erro sem
+     * esperar a próxima tentativa; a entrada continua no log e não deve ser gravada por outro caminho.
+     */
+    void awaitDurable(long seq) throws IOException {
+        synchronized (syncMonitor) {
+            while (durableSeq < seq) {
+                if (syncFailure != null) {
+                    throw syncFailure;
+                }
+                if (closed) {
+                    throw new IOException("journal fechado antes da confirmação");
+                }
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("espera pela confirmação interrompida", e);
+                }
+            }
+        }
+    }
+
+    private Segment roll() throws IOException {
+        Segment full = segments.getLast();
+        // O segmento cheio é sincronizado aqui; a thread de sincronização só olha o ativo
+        try {
+            full.buffer.force();
+        } catch (RuntimeException e) {
+            throw new IOException("falha ao sincronizar o segmento " + full.path + ": " + e.getMessage(), e);
+        }
+        Segment next = Segment.map(segmentPath(full.index + 1), full.index + 1, segmentBytes);
+        next.lastSeq = full.lastSeq;
+        segments.add(next);
+        return next;
+    }
+
+    private void syncLoop() {
+        while (true) {
+            synchronized (syncMonitor) {
+                while (!closed && appendedSeq <= durableSeq) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed && appendedSeq <= durableSeq) {
+                    return;
+                }
+            }
+            try {
+                long target;
+                MappedByteBuffer active;
+                synchronized (this) {
+                    target = appendedSeq;
+                    active = segments.getLast().buffer;
+                }
+                active.force();
+                synchronized (syncMonitor) {
+                    durableSeq = Math.max(durableSeq, target);
+                    syncFailure = null;
+                    forces++;
+                    syncMonitor.notifyAll();
+                }
+            } catch (RuntimeException e) {
+                synchronized (syncMonitor) {
+                    syncFailure = new IOException("falha ao sincronizar o journal: " + e.getMessage(), e);
+                    syncMonitor.notifyAll();
+                    // Nova tentativa depois de um intervalo; close() acorda a thread para a tentativa final
+                    if (!closed) {
+                        try {
+                            syncMonitor.wait(SYNC_RETRY_MILLIS);
+                        } catch (InterruptedException interrupted) {
+                            return;
+                        }
+                    }
+                    if (closed) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    // ===================== REPROCESSAMENTO =====================
+
+    /**
+     * Até {@code max} entradas já duráveis e ainda não gravadas no banco, em ordem de sequência.
+     */
+    List<Entry> peekDurable(int max) {
+        long durable;
+        synchronized (syncMonitor) {
+            durable = durableSeq;
+        }
+        List<Entry> batch = new ArrayList<>(Math.min(max, 1024));
+        for (Iterator<Entry> it = unreplayed.iterator(); it.hasNext() && batch.size() < max; ) {
+            Entry entry = it.next();
+            if (entry.seq() > durable) {
+                break;
+            }
+            batch.add(entry);
+        }
+        return batch;
+    }
+
+    /**
+     * Registra que as entradas até {@code seq} foram tratadas (gravadas ou rejeitadas pelo banco).
+     */
+    synchronized void markReplayed(long seq) throws IOException {
+        Entry head;
+        while ((head = unreplayed.peek()) != null && head.seq() <= seq) {
+            unreplayed.poll();
+        }
+        ByteBuffer position = ByteBuffer.allocate(8).putLong(seq).flip();
+        while (position.hasRemaining()) {
+            replayedChannel.write(position, position.position());
+        }
+        replayedChannel.force(false);
+        replayedSeq = seq;
+        deleteReplayedSegments();
+    }
+
+    private void deleteReplayedSegments() throws IOException {
+        while (segments.size() > 1 && segments.getFirst().lastSeq <= replayedSeq) {
+            Segment done = segments.removeFirst();
+            Files.deleteIfExists(done.path);
+        }
+    }
+
+    /**
+     * Identificador deste journal, gravado junto com a sequência de cada linha reprocessada.
+     */
+    long getJournalId() {
+        return journalId;
+    }
+
+    int getUnreplayedCount() {
+        return unreplayed.size();
+    }
+
+    long getAppendedSeq() {
+        return appendedSeq;
+    }
+
+    long getForces() {
+        synchronized (syncMonitor) {
+            return forces;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncMonitor) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            syncMonitor.notifyAll();
+        }
+        try {
+            syncThread.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            synchronized (this) {
+                segments.getLast().buffer.force();
+                synchronized (syncMonitor) {
+                    durableSeq = appendedSeq;
+                    syncMonitor.notifyAll();
+                }
+            }
+        } catch (RuntimeException e) {
+            // As entradas não confirmadas continuam no log e são relidas na próxima abertura, se chegaram ao disco
+            throw new IOException("falha ao sincronizar o journal no fechamento: " + e.getMessage(), e);
+        } finally {
+            replayedChannel.close();
+        }
+    }
+
+    // ===================== FORMATO =====================
+
+    private int checksum(ByteBuffer buffer, int recordPos) {
+        crc.reset();
+        crc.update(buffer.slice(recordPos + HEADER_SIZE, PAYLOAD_SIZE));
+        return (int) crc.getValue();
+    }
+
+    private static void write(ByteBuffer buffer, int pos, Entry entry) {
+        buffer.putLong(pos, entry.seq());
+        buffer.putInt(pos + 8, entry.userId());
+        buffer.putInt(pos + 12, entry.cryptoAssetId());
+        buffer.putDouble(pos + 16, entry.amount());
+        buffer.putDouble(pos + 24, entry.price());
+        buffer.put(pos + 32, encodeType(entry.type()));
+        buffer.putLong(pos + 33, entry.timestamp().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(pos + 41, entry.timestamp().getNano());
+    }
+
+    private static byte encodeType(String type) {
+        if ("BUY".equals(type)) {
+            return 0;
+        }
+        if ("SELL".equals(type)) {
+            return 1;
+        }
+        throw new IllegalArgumentException("Tipo de transação inválido: " + type + " (use BUY ou SELL)");
+    }
+
+    private static Entry read(ByteBuffer buffer, int pos) {
+        return new Entry(
+                buffer.getLong(pos),
+                buffer.getInt(pos + 8),
+                buffer.getInt(pos + 12),
+                buffer.getDouble(pos + 16),
+                buffer.getDouble(pos + 24),
+                buffer.get(pos + 32) == 1 ? "SELL" : "BUY",
+                LocalDateTime.ofEpochSecond(buffer.getLong(pos + 33), buffer.getInt(pos + 41), ZoneOffset.UTC));
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private static long indexOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long index;
+        private final MappedByteBuffer buffer;
+        private long lastSeq;
+
+        private Segment(Path path, long index, MappedByteBuffer buffer) {
+            this.path = path;
+            this.index = index;
+            this.buffer = buffer;
+        }
+
+        static Segment map(Path path, long index, long size) throws IOException {
+            // O mapeamento continua válido depois de fechar o canal
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                return new Segment(path, index, channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        Math.min(size, Integer.MAX_VALUE)));
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package dao.oracle;
+
+import config.AppConfig;
+import dao.BatchResult;
+import dao.MarketDAO;
+import dao.PriceUpdate;
+import db.OracleConnection;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Escrita adiada dos preços: {@link #save} só guarda o último preço de cada símbolo em memória, e uma
+ * thread de fundo grava os pendentes a cada MARKET_FLUSH_INTERVAL_MS (ou assim que houver
+ * MARKET_FLUSH_MAX_PENDING símbolos) em um único MERGE em lote. Com o feed mandando BTC 50 vezes por
+ * segundo, só o último valor de cada intervalo chega ao banco; os anteriores são contados como descartados.
+ *
+ * Leituras por símbolo e a lista completa enxergam os pendentes. {@link #findUpdatedSince} lê só o banco,
+ * mas como o last_updated gravado é o horário do flush, a busca incremental não perde nada.
+ * O flush final acontece em {@link #close()}, registrado em {@link OracleConnection#closeConnection()}.
+ */
+public final class WriteBehindMarketDAO implements MarketDAO, AutoCloseable {
+
+    private static final long FLUSH_INTERVAL_MS = AppConfig.getLong("MARKET_FLUSH_INTERVAL_MS", 200);
+    private static final int FLUSH_MAX_PENDING = AppConfig.getInt("MARKET_FLUSH_MAX_PENDING", 500);
+
+    private final OracleMarketDAO delegate;
+    private final int maxPending;
+    private final ConcurrentHashMap<String, Double> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder coalescedTicks = new LongAdder();
+    private long flushes;
+    private long rowsWritten;
+    private long failedRows;
+
+    private WriteBehindMarketDAO(OracleMarketDAO delegate, int maxPending) {
+        this.delegate = delegate;
+        this.maxPending = Math.max(1, maxPending);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "voltz-market-flush");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static WriteBehindMarketDAO open(OracleMarketDAO delegate) {
+        return open(delegate, FLUSH_INTERVAL_MS, FLUSH_MAX_PENDING);
+    }
+
+    /**
+     * Cria o DAO e só então agenda o flush e o registra para o encerramento da conexão.
+     */
+    public static WriteBehindMarketDAO open(OracleMarketDAO delegate, long flushIntervalMillis, int maxPending) {
+        WriteBehindMarketDAO dao = new WriteBehindMarketDAO(delegate, maxPending);
+        dao.scheduler.scheduleWithFixedDelay(dao::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        OracleConnection.addCloseListener(dao::close);
+        return dao;
+    }
+
+    @Override
+    public boolean save(String symbol, double price) {
+        if (closed) {
+            // Depois do flush final não há thread para gravar: vai direto ao banco
+            return delegate.save(symbol, price);
+        }
+        return saveTick(symbol, price);
+    }
+
+    @Override
+    public boolean saveTick(String symbol, double price) {
+        if (closed) {
+            return delegate.saveTick(symbol, price);
+        }
+        ticks.increment();
+        if (pending.put(symbol, price) != null) {
+            coalescedTicks.increment();
+        }
+        if (closed) {
+            // close() rodou entre a checagem acima e o put: o flush final pode não ter visto este preço
+            flush();
+            return true;
+        }
+        if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                flush(); // close() começou agora
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public BatchResult saveAll(Map<String, Double> prices, int batchSize) {
+        // Lote explícito já é um único MERGE; os pendentes desses símbolos ficariam mais velhos que ele
+        prices.keySet().forEach(pending::remove);
+        return delegate.saveAll(prices, batchSize);
+    }
+
+    @Override
+    public Double getPrice(String symbol) {
+        Double price = pending.get(symbol);
+        return price != null ? price : delegate.getPrice(symbol);
+    }
+
+    @Override
+    public Map<String, Double> getAllPrices() {
+        Map<String, Double> prices = new HashMap<>(delegate.getAllPrices());
+        prices.putAll(pending);
+        return prices;
+    }
+
+    @Override
+    public List<PriceUpdate> findUpdatedSince(LocalDateTime since) {
+        return delegate.findUpdatedSince(since);
+    }
+
+    @Override
+    public void delete(String symbol) {
+        // Grava antes para o DELETE não ser seguido de um MERGE antigo que recriaria o símbolo
+        flush();
+        delegate.delete(symbol);
+    }
+
+    /**
+     * Grava agora os preços pendentes em um MERGE em lote.
+     *
+     * @return quantidade de símbolos gravados
+     */
+    public synchronized int flush() {
+        flushRequested.set(false);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        Map<String, Double> batch = new LinkedHashMap<>(pending);
+        BatchResult result = delegate.merge(batch, BatchResult.DEFAULT_BATCH_SIZE);
+
+        int row = 0;
+        for (Map.Entry<String, Double> entry : batch.entrySet()) {
+            // Só remove se nenhum tick novo chegou durante o MERGE; linhas com falha ficam para o próximo flush
+            if (result.isSuccess(row++)) {
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        flushes++;
+        rowsWritten += result.getSucceededCount();
+        failedRows += result.getFailedCount();
+        if (!result.isFullySuccessful()) {
+            result.printSummary("Gravação adiada de preços");
+        }
+        return result.getSucceededCount();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Erro ao gravar preços pendentes: " + e.getMessage());
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Ticks substituídos por um mais novo do mesmo símbolo antes de chegarem ao banco.
+     */
+    public long getCoalescedTicks() {
+        return coalescedTicks.sum();
+    }
+
+    public synchronized void printStats() {
+        System.out.printf("💾 Escrita adiada de preços: ticks=%d | descartados=%d | gravados=%d | " +
+                        "flushes=%d | falhas=%d | pendentes=%d%n",
+                ticks.sum(), coalescedTicks.sum(), rowsWritten, flushes, failedRows, pending.size());
+    }
+
+    private synchronized boolean markClosed() {
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        return true;
+    }
+
+    /**
+     * Para a thread de fundo e grava o que estiver pendente.
+     */
+    @Override
+    public void close() {
+        if (!markClosed()) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (!pending.isEmpty()) {
+            System.err.println("⚠️ " + pending.size() + " preço(s) não puderam ser gravados no encerramento.");
+        }
+        if (ticks.sum() > 0) {
+            printStats();
+        }
+    }
+}
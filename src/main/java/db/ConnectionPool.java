@@ -0,0 +1,376 @@
+package db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool de conexões JDBC.
+ *
+ * Cada chamada a {@link #getConnection()} empresta uma conexão física embrulhada em um proxy:
+ * o {@code close()} do proxy devolve a conexão ao pool em vez de fechá-la, então os DAOs podem
+ * continuar usando try-with-resources normalmente. A quantidade de conexões emprestadas é limitada
+ * por um semáforo (tamanho máximo), e uma thread de manutenção descarta conexões ociosas além do
+ * tamanho mínimo.
+ */
+public final class ConnectionPool {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long validationIntervalMillis;
+    private final int statementCacheSize;
+
+    // LIFO: a conexão devolvida mais recentemente é a primeira a ser reutilizada
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService maintenance;
+    private volatile boolean shutdown;
+
+    // Estatísticas
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder destroyedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    /**
+     * @param validationIntervalMillis conexões usadas há menos que esse intervalo não são revalidadas
+     *                                 no empréstimo, evitando um round trip extra por consulta
+     * @param statementCacheSize       quantidade de PreparedStatements mantidos por conexão (0 desativa o cache)
+     */
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long acquireTimeoutMillis, long idleTimeoutMillis, long validationIntervalMillis,
+                          int statementCacheSize) throws SQLException {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Tamanhos de pool inválidos: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        try {
+            for (int i = 0; i < minSize; i++) {
+                idle.offerLast(create());
+            }
+        } catch (SQLException e) {
+            shutdown();
+            throw e;
+        }
+
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "voltz-pool-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, 30_000) / 2);
+        maintenance.scheduleWithFixedDelay(this::maintain, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Empresta uma conexão do pool, aguardando no máximo o timeout de aquisição configurado.
+     */
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("❌ Pool de conexões já foi encerrado.");
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("❌ Thread interrompida enquanto aguardava conexão do pool.", e);
+        }
+        if (!acquired) {
+            timeoutCount.increment();
+            throw new SQLTimeoutException("❌ Tempo esgotado (" + acquireTimeoutMillis
+                    + "ms) aguardando conexão livre no pool (máximo " + maxSize + ").");
+        }
+
+        try {
+            PooledConnection pooled = takeIdleOrCreate();
+            borrowCount.increment();
+            totalWaitNanos.add(System.nanoTime() - start);
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public PoolStats getStats() {
+        int total = totalConnections.get();
+        int idleNow = idle.size();
+        return new PoolStats(
+                total,
+                idleNow,
+                maxSize - permits.availablePermits(),
+                permits.getQueueLength(),
+                borrowCount.sum(),
+                createdCount.sum(),
+                destroyedCount.sum(),
+                timeoutCount.sum(),
+                validationFailures.sum(),
+                TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum()),
+                statementCacheHits.sum(),
+                statementCacheMisses.sum(),
+                statementCacheEvictions.sum()
+        );
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Fecha as conexões ociosas e impede novos empréstimos. Conexões ainda emprestadas
+     * são fechadas quando devolvidas.
+     */
+    public void shutdown() {
+        shutdown = true;
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    // ===================== INTERNOS =====================
+
+    private PooledConnection takeIdleOrCreate() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            validationFailures.increment();
+            destroy(pooled);
+        }
+        return create();
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastReturned < validationIntervalMillis) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection create() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        totalConnections.incrementAndGet();
+        createdCount.increment();
+        return new PooledConnection(physical);
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        destroyedCount.increment();
+        if (pooled.statementCache != null) {
+            pooled.statementCache.closeAll();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao fechar conexão descartada do pool: " + e.getMessage());
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        try {
+            if (!shutdown && reset(pooled)) {
+                pooled.lastReturned = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            } else {
+                destroy(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Desfaz o estado deixado pelo último usuário antes de a conexão voltar ao pool.
+     */
+    private boolean reset(PooledConnection pooled) {
+        if (pooled.broken) {
+            return false;
+        }
+        try {
+            Connection conn = pooled.physical;
+            if (conn.isClosed()) {
+                return false;
+            }
+            if (!conn.getAutoCommit()) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+            if (conn.isReadOnly()) {
+                conn.setReadOnly(false);
+            }
+            conn.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void maintain() {
+        try {
+            long now = System.currentTimeMillis();
+            // Ociosas mais antigas ficam no fim da fila
+            PooledConnection oldest;
+            while (totalConnections.get() > minSize
+                    && (oldest = idle.peekLast()) != null
+                    && now - oldest.lastReturned > idleTimeoutMillis) {
+                if (idle.removeLastOccurrence(oldest)) {
+                    destroy(oldest);
+                }
+            }
+            while (!shutdown && totalConnections.get() < minSize) {
+                idle.offerLast(create());
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro na manutenção do pool de conexões: " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("❌ Erro inesperado na manutenção do pool: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Conexão física mantida pelo pool.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private volatile long lastReturned = System.currentTimeMillis();
+        private volatile boolean broken;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = statementCacheSize > 0
+                    ? new StatementCache(physical, statementCacheSize,
+                            statementCacheHits, statementCacheMisses, statementCacheEvictions)
+                    : null;
+        }
+
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeaseHandler(this));
+        }
+    }
+
+    /**
+     * Proxy entregue ao chamador a cada empréstimo. Depois do {@code close()} o proxy fica inutilizável,
+     * mesmo que a conexão física já tenha sido emprestada para outra thread.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean closed;
+
+        private LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("❌ Conexão já foi devolvida ao pool.");
+            }
+
+            // prepareStatement(String) passa pelo cache de statements da conexão física
+            if (pooled.statementCache != null && args != null && args.length == 1
+                    && method.getName().equals("prepareStatement")) {
+                return invokePhysical(() -> pooled.statementCache.prepare((String) args[0], (Connection) proxy));
+            }
+
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                // SQLState classe 08 = falha de conexão: não devolve essa conexão ao pool
+                if (cause instanceof SQLException sqlException
+                        && sqlException.getSQLState() != null
+                        && sqlException.getSQLState().startsWith("08")) {
+                    pooled.broken = true;
+                }
+                throw cause;
+            }
+        }
+
+        private Object invokePhysical(SqlCall call) throws SQLException {
+            try {
+                return call.run();
+            } catch (SQLException e) {
+                if (e.getSQLState() != null && e.getSQLState().startsWith("08")) {
+                    pooled.broken = true;
+                }
+                throw e;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlCall {
+        Object run() throws SQLException;
+    }
+}
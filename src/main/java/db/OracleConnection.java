@@ -1,54 +1,109 @@
 package db;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import io.github.cdimascio.dotenv.Dotenv;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-public class OracleConnection {
+import config.AppConfig;
 
-    // Carrega as variáveis do arquivo .env
-    private static final Dotenv dotenv = Dotenv.configure()
-            .directory(".")  // Procura na raiz do projeto
-            .ignoreIfMalformed()
-            .ignoreIfMissing()
-            .load();
+public class OracleConnection {
 
     // Configurações do banco usando .env
-    private static final String URL = dotenv.get("DB_URL");
-    private static final String USER = dotenv.get("DB_USER");
-    private static final String PASS = dotenv.get("DB_PASS");
+    private static final String URL = AppConfig.get("DB_URL");
+    private static final String USER = AppConfig.get("DB_USER");
+    private static final String PASS = AppConfig.get("DB_PASS");
+
+    // Configurações do pool (opcionais no .env)
+    private static final int POOL_MIN_SIZE = AppConfig.getInt("DB_POOL_MIN_SIZE", 2);
+    private static final int POOL_MAX_SIZE = AppConfig.getInt("DB_POOL_MAX_SIZE", 10);
+    private static final long POOL_ACQUIRE_TIMEOUT_MS = AppConfig.getLong("DB_POOL_ACQUIRE_TIMEOUT_MS", 30_000);
+    private static final long POOL_IDLE_TIMEOUT_MS = AppConfig.getLong("DB_POOL_IDLE_TIMEOUT_MS", 600_000);
+    private static final long POOL_VALIDATION_INTERVAL_MS = AppConfig.getLong("DB_POOL_VALIDATION_INTERVAL_MS", 500);
+    private static final int STATEMENT_CACHE_SIZE = AppConfig.getInt("DB_STATEMENT_CACHE_SIZE", 50);
+
+    private static volatile ConnectionPool pool;
 
-    private static Connection connection;
+    // Executados por closeConnection() antes de encerrar o pool (ex.: gravar escritas adiadas)
+    private static final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
 
     private OracleConnection() {
     }
 
-    public static synchronized Connection getConnection() throws SQLException {
-        try {
-            if (connection == null || connection.isClosed()) {
-                if (URL == null || USER == null || PASS == null) {
-                    throw new SQLException("❌ Configurações do .env não foram carregadas corretamente. Verifique se o arquivo .env existe na raiz do projeto.");
-                }
+    /**
+     * Empresta uma conexão do pool. O {@code close()} da conexão a devolve ao pool.
+     */
+    public static Connection getConnection() throws SQLException {
+        return getPool().getConnection();
+    }
 
-                Class.forName("oracle.jdbc.driver.OracleDriver");
-                connection = DriverManager.getConnection(URL, USER, PASS);
-                System.out.println("✅ Conexão Oracle estabelecida com sucesso!");
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (OracleConnection.class) {
+                current = pool;
+                if (current == null) {
+                    current = createPool();
+                    pool = current;
+                }
             }
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("❌ Driver Oracle não encontrado. Verifique se ojdbc11.jar está no classpath.", e);
         }
-        return connection;
+        return current;
+    }
+
+    /**
+     * Tamanho máximo configurado do pool (DB_POOL_MAX_SIZE), sem precisar abrir o pool.
+     */
+    public static int getMaxPoolSize() {
+        return POOL_MAX_SIZE;
+    }
+
+    /**
+     * Estatísticas do pool, ou {@code null} se o pool ainda não foi inicializado.
+     */
+    public static PoolStats getPoolStats() {
+        ConnectionPool current = pool;
+        return current != null ? current.getStats() : null;
+    }
+
+    /**
+     * Registra uma ação a executar em {@link #closeConnection()} enquanto o pool ainda está aberto.
+     */
+    public static void addCloseListener(Runnable listener) {
+        closeListeners.add(listener);
     }
 
     public static synchronized void closeConnection() {
-        if (connection != null) {
+        for (Runnable listener : closeListeners) {
             try {
-                connection.close();
-                System.out.println("🔒 Conexão Oracle fechada com sucesso!");
-            } catch (SQLException e) {
-                System.err.println("❌ Erro ao fechar a conexão: " + e.getMessage());
+                listener.run();
+            } catch (RuntimeException e) {
+                System.err.println("❌ Erro ao finalizar recurso antes de fechar o pool: " + e.getMessage());
             }
         }
+        ConnectionPool current = pool;
+        if (current != null) {
+            pool = null;
+            current.shutdown();
+            System.out.println("🔒 Pool de conexões Oracle encerrado com sucesso! (" + current.getStats() + ")");
+        }
+    }
+
+    private static ConnectionPool createPool() throws SQLException {
+        if (URL == null || USER == null || PASS == null) {
+            throw new SQLException("❌ Configurações do .env não foram carregadas corretamente. Verifique se o arquivo .env existe na raiz do projeto.");
+        }
+
+        try {
+            Class.forName("oracle.jdbc.driver.OracleDriver");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("❌ Driver Oracle não encontrado. Verifique se ojdbc11.jar está no classpath.", e);
+        }
+
+        ConnectionPool created = new ConnectionPool(URL, USER, PASS, POOL_MIN_SIZE, POOL_MAX_SIZE,
+                POOL_ACQUIRE_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_VALIDATION_INTERVAL_MS, STATEMENT_CACHE_SIZE);
+        System.out.println("✅ Pool de conexões Oracle estabelecido com sucesso! (min=" + POOL_MIN_SIZE
+                + ", max=" + POOL_MAX_SIZE + ", cache de statements=" + STATEMENT_CACHE_SIZE + ")");
+        return created;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package db;
+
+/**
+ * Fotografia dos contadores do {@link ConnectionPool} em um dado instante.
+ */
+public record PoolStats(
+        int totalConnections,
+        int idleConnections,
+        int activeConnections,
+        int waitingThreads,
+        long borrowCount,
+        long createdCount,
+        long destroyedCount,
+        long timeoutCount,
+        long validationFailures,
+        long totalWaitMillis,
+        long statementCacheHits,
+        long statementCacheMisses,
+        long statementCacheEvictions
+) {
+
+    public double averageWaitMillis() {
+        return borrowCount == 0 ? 0.0 : (double) totalWaitMillis / borrowCount;
+    }
+
+    public double statementCacheHitRate() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("total=%d | ociosas=%d | ativas=%d | aguardando=%d | empréstimos=%d | criadas=%d | " +
+                        "descartadas=%d | timeouts=%d | falhas de validação=%d | espera média=%.2fms | " +
+                        "cache de statements: hits=%d, misses=%d, evictions=%d (%.1f%%)",
+                totalConnections, idleConnections, activeConnections, waitingThreads, borrowCount, createdCount,
+                destroyedCount, timeoutCount, validationFailures, averageWaitMillis(),
+                statementCacheHits, statementCacheMisses, statementCacheEvictions, statementCacheHitRate() * 100);
+    }
+}
@@ -0,0 +1,232 @@
+package db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU de {@link PreparedStatement} de uma conexão física, indexado pelo texto do SQL.
+ *
+ * Os DAOs continuam chamando {@code conn.prepareStatement(sql)} e fechando o statement com
+ * try-with-resources; o statement entregue é um proxy cujo {@code close()} limpa os parâmetros e
+ * devolve o statement já parseado ao cache, evitando um novo parse e a abertura de cursores no
+ * Oracle a cada chamada.
+ *
+ * Uma conexão é usada por uma thread de cada vez (pool), então o cache não precisa de concorrência
+ * fina; os métodos são sincronizados apenas por segurança.
+ */
+class StatementCache {
+
+    private final Connection physical;
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    StatementCache(Connection physical, int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        // accessOrder = true: a entrada menos usada recentemente é a primeira da iteração
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Retorna um statement do cache para o SQL, preparando e guardando um novo se necessário.
+     *
+     * @param owner proxy da conexão emprestada, devolvido por {@code getConnection()} do statement
+     */
+    synchronized PreparedStatement prepare(String sql, Connection owner) throws SQLException {
+        CachedStatement cached = statements.get(sql);
+        if (cached != null && !cached.inUse) {
+            hits.increment();
+            return cached.lease(owner);
+        }
+
+        misses.increment();
+        PreparedStatement created = physical.prepareStatement(sql);
+        if (cached != null) {
+            // O mesmo SQL já está aberto nesta conexão (uso aninhado): statement avulso, fora do cache
+            return created;
+        }
+
+        cached = new CachedStatement(sql, created);
+        statements.put(sql, cached);
+        evictIfNeeded();
+        return cached.lease(owner);
+    }
+
+    synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * Fecha todos os statements. Usado quando a conexão física é descartada.
+     */
+    synchronized void closeAll() {
+        for (CachedStatement cached : statements.values()) {
+            cached.closePhysical();
+        }
+        statements.clear();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<CachedStatement> iterator = statements.values().iterator();
+        while (statements.size() > maxSize && iterator.hasNext()) {
+            CachedStatement eldest = iterator.next();
+            iterator.remove();
+            evictions.increment();
+            if (eldest.inUse) {
+                eldest.evicted = true; // fecha quando for devolvido
+            } else {
+                eldest.closePhysical();
+            }
+        }
+    }
+
+    private synchronized void giveBack(CachedStatement cached) {
+        cached.inUse = false;
+        if (cached.evicted) {
+            cached.closePhysical();
+        }
+    }
+
+    /**
+     * Statement físico guardado no cache.
+     */
+    private final class CachedStatement {
+        private final String sql;
+        private final PreparedStatement statement;
+        private final int defaultFetchSize;
+        private final int defaultMaxRows;
+        private final int defaultQueryTimeout;
+        private boolean inUse;
+        private boolean evicted;
+
+        private CachedStatement(String sql, PreparedStatement statement) throws SQLException {
+            this.sql = sql;
+            this.statement = statement;
+            this.defaultFetchSize = statement.getFetchSize();
+            this.defaultMaxRows = statement.getMaxRows();
+            this.defaultQueryTimeout = statement.getQueryTimeout();
+        }
+
+        private PreparedStatement lease(Connection owner) {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new LeaseHandler(this, owner));
+        }
+
+        /**
+         * Limpa o estado deixado pelo último uso antes de o statement voltar ao cache.
+         */
+        private void reset(ResultSet lastResultSet, boolean settingsChanged) throws SQLException {
+            if (lastResultSet != null) {
+                lastResultSet.close();
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            if (settingsChanged) {
+                statement.setFetchSize(defaultFetchSize);
+                statement.setMaxRows(defaultMaxRows);
+                statement.setQueryTimeout(defaultQueryTimeout);
+            }
+        }
+
+        private void closePhysical() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                System.err.println("❌ Erro ao fechar statement do cache (" + sql + "): " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Proxy entregue ao DAO a cada {@code prepareStatement}.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection owner;
+        // Executar de novo fecha o ResultSet anterior (JDBC), então basta guardar o último
+        private ResultSet lastResultSet;
+        private boolean settingsChanged;
+        private boolean closed;
+
+        private LeaseHandler(CachedStatement cached, Connection owner) {
+            this.cached = cached;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.sql + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("❌ Statement já foi fechado.");
+            }
+            if (name.equals("setFetchSize") || name.equals("setMaxRows") || name.equals("setQueryTimeout")) {
+                settingsChanged = true;
+            }
+
+            try {
+                Object result = method.invoke(cached.statement, args);
+                if (result instanceof ResultSet resultSet) {
+                    lastResultSet = resultSet;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void release() throws SQLException {
+            try {
+                cached.reset(lastResultSet, settingsChanged);
+            } catch (SQLException e) {
+                // Statement em estado desconhecido: tira do cache
+                synchronized (StatementCache.this) {
+                    statements.remove(cached.sql, cached);
+                }
+                cached.evicted = true;
+                throw e;
+            } finally {
+                lastResultSet = null;
+                giveBack(cached);
+            }
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package market;
+
+import config.AppConfig;
+import dao.BatchResult;
+import dao.CandleDAO;
+import model.Candle;
+import model.CandleResolution;
+import model.Transaction;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monta candles OHLCV de 1m, 5m, 1h e 1d por símbolo à medida que chegam preços ({@link #onPrice}) e
+ * transações ({@link #onTrade}, que somam volume). Cada evento atualiza as quatro resoluções em O(1): o
+ * candle aberto de cada uma fica em arrays primitivos e só vira {@link Candle} quando fecha.
+ *
+ * Um candle fecha quando chega um evento de um período seguinte ou, para símbolos parados, quando a
+ * thread de fundo percebe que o período terminou. Os fechados ficam em memória (CANDLE_HISTORY_SIZE
+ * por símbolo e resolução) para {@link #getLastCandles} e são gravados pelo {@link CandleDAO} em lotes, a
+ * cada CANDLE_FLUSH_MS ou assim que CANDLE_BATCH_SIZE estiverem na fila.
+ *
+ * Os períodos são alinhados ao fuso do sistema, com o deslocamento em vigor no instante de cada evento: o
+ * diário vai de uma meia-noite local à seguinte (23 ou 25 horas nos dias de troca de horário de verão). Os
+ * horários dos candles são locais, como no resto do banco; na hora repetida do fim do horário de verão, os
+ * candles intradiários das duas passagens têm o mesmo início e o MERGE junta os dois. Eventos de um período
+ * que já fechou são ignorados.
+ */
+public class CandleAggregator implements PriceListener, AutoCloseable {
+
+    private static final int HISTORY_SIZE = AppConfig.getInt("CANDLE_HISTORY_SIZE", 500);
+    private static final long FLUSH_INTERVAL_MS = AppConfig.getLong("CANDLE_FLUSH_MS", 5_000);
+    private static final int BATCH_SIZE = AppConfig.getInt("CANDLE_BATCH_SIZE", 500);
+
+    private static final CandleResolution[] RESOLUTIONS = CandleResolution.values();
+
+    private final CandleDAO candleDAO;
+    private final int historySize;
+    private final ZoneId zone;
+    private final ConcurrentHashMap<String, SymbolCandles> bySymbol = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Candle> toPersist = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private volatile ScheduledExecutorService scheduler;
+
+    // Contados com a trava de um símbolo: sem a trava do agregador, que flush() segura antes das dos símbolos
+    private final LongAdder candlesClosed = new LongAdder();
+    private final LongAdder lateEvents = new LongAdder();
+    private long candlesSaved;
+    private long candlesFailed;
+
+    /**
+     * @param candleDAO onde gravar os candles fechados, ou {@code null} para manter só em memória
+     */
+    public CandleAggregator(CandleDAO candleDAO) {
+        this(candleDAO, HISTORY_SIZE);
+    }
+
+    public CandleAggregator(CandleDAO candleDAO, int historySize) {
+        this(candleDAO, historySize, ZoneId.systemDefault());
+    }
+
+    /**
+     * @param zone fuso usado para alinhar os períodos e para os horários dos candles
+     */
+    public CandleAggregator(CandleDAO candleDAO, int historySize, ZoneId zone) {
+        this.candleDAO = candleDAO;
+        this.historySize = Math.max(1, historySize);
+        this.zone = zone;
+    }
+
+    /**
+     * Agenda o fechamento de períodos vencidos e a gravação em lote.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "voltz-candle-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    // ===================== EVENTOS =====================
+
+    @Override
+    public void onPrice(String symbol, long timestampMillis, double price) {
+        candles(symbol).onPrice(timestampMillis, price);
+    }
+
+    /**
+     * Soma {@code amount} (compra ou venda) ao volume dos candles do símbolo.
+     */
+    public void onTrade(String symbol, long timestampMillis, double amount) {
+        candles(symbol).onVolume(timestampMillis, Math.abs(amount));
+    }
+
+    public void onTransaction(Transaction transaction) {
+        long timestamp = transaction.getTimestamp().atZone(zone).toInstant().toEpochMilli();
+        onTrade(transaction.getAsset().getSymbol(), timestamp, transaction.getAmount());
+    }
+
+    private SymbolCandles candles(String symbol) {
+        SymbolCandles candles = bySymbol.get(symbol);
+        return candles != null ? candles : bySymbol.computeIfAbsent(symbol, SymbolCandles::new);
+    }
+
+    // ===================== CONSULTA =====================
+
+    /**
+     * Os últimos {@code count} candles do símbolo, do mais antigo para o mais recente. O último pode ser
+     * o candle ainda aberto do período atual.
+     */
+    public List<Candle> getLastCandles(String symbol, CandleResolution resolution, int count) {
+        SymbolCandles candles = bySymbol.get(symbol);
+        return candles != null ? candles.last(resolution, count) : List.of();
+    }
+
+    // ===================== GRAVAÇÃO =====================
+
+    /**
+     * Fecha os candles cujo período já terminou e grava a fila no banco.
+     *
+     * @return quantidade de candles gravados
+     */
+    public synchronized int flush() {
+        flushRequested.set(false);
+        long now = System.currentTimeMillis();
+        for (SymbolCandles candles : bySymbol.values()) {
+            candles.closeExpired(now);
+        }
+        if (candleDAO == null) {
+            toPersist.clear();
+            queued.set(0);
+            return 0;
+        }
+        int saved = 0;
+        List<Candle> batch = new ArrayList<>(BATCH_SIZE);
+        Candle candle;
+        while ((candle = toPersist.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(candle);
+            if (batch.size() == BATCH_SIZE) {
+                saved += save(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            saved += save(batch);
+        }
+        return saved;
+    }
+
+    private int save(List<Candle> batch) {
+        BatchResult result = candleDAO.saveAll(batch, BATCH_SIZE);
+        candlesSaved += result.getSucceededCount();
+        candlesFailed += result.getFailedCount();
+        if (!result.isFullySuccessful()) {
+            result.printSummary("Gravação de candles");
+        }
+        return result.getSucceededCount();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Erro ao gravar candles: " + e.getMessage());
+        }
+    }
+
+    private void enqueue(Candle candle) {
+        toPersist.add(candle);
+        ScheduledExecutorService current = scheduler;
+        if (queued.incrementAndGet() >= BATCH_SIZE && current != null && flushRequested.compareAndSet(false, true)) {
+            try {
+                current.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false); // close() grava o que sobrou
+            }
+        }
+    }
+
+    public synchronized void printStats() {
+        System.out.printf("🕯️ Candles: %d símbolo(s) | fechados=%d | gravados=%d | falhas=%d | na fila=%d | eventos atrasados=%d%n",
+                bySymbol.size(), candlesClosed.sum(), candlesSaved, candlesFailed, queued.get(), lateEvents.sum());
+    }
+
+    /**
+     * Para a thread de fundo e grava a fila, incluindo os candles ainda abertos (o MERGE atualiza o
+     * período se ele continuar em outra execução).
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdown();
+                scheduler = null;
+            }
+        }
+        for (SymbolCandles candles : bySymbol.values()) {
+            candles.persistOpen();
+        }
+        flush();
+    }
+
+    /**
+     * Candles abertos e fechados de um símbolo; todos os métodos travam o próprio objeto.
+     */
+    private final class SymbolCandles {
+        private final String symbol;
+        // Candle aberto por resolução (índice = ordinal)
+        private final long[] start = new long[RESOLUTIONS.length];
+        private final long[] end = new long[RESOLUTIONS.length];
+        // Fim do último período fechado: eventos anteriores a ele chegaram tarde
+        private final long[] closedEnd = new long[RESOLUTIONS.length];
+        private final double[] open = new double[RESOLUTIONS.length];
+        private final double[] high = new double[RESOLUTIONS.length];
+        private final double[] low = new double[RESOLUTIONS.length];
+        private final double[] close = new double[RESOLUTIONS.length];
+        private final double[] volume = new double[RESOLUTIONS.length];
+        private final boolean[] active = new boolean[RESOLUTIONS.length];
+        private final boolean[] hasPrice = new boolean[RESOLUTIONS.length];
+        private final List<ArrayDeque<Candle>> closed = new ArrayList<>(RESOLUTIONS.length);
+        private double lastPrice = Double.NaN;
+
+        private SymbolCandles(String symbol) {
+            this.symbol = symbol;
+            for (int r = 0; r < RESOLUTIONS.length; r++) {
+                closed.add(new ArrayDeque<>());
+                closedEnd[r] = Long.MIN_VALUE;
+            }
+        }
+
+        private synchronized void onPrice(long timestamp, double price) {
+            for (int r = 0; r < RESOLUTIONS.length; r++) {
+                if (!roll(r, timestamp)) {
+                    continue;
+                }
+                if (hasPrice[r]) {
+                    high[r] = Math.max(high[r], price);
+                    low[r] = Math.min(low[r], price);
+                } else {
+                    open[r] = price;
+                    high[r] = price;
+                    low[r] = price;
+                    hasPrice[r] = true;
+                }
+                close[r] = price;
+            }
+            lastPrice = price;
+        }
+
+        private synchronized void onVolume(long timestamp, double amount) {
+            for (int r = 0; r < RESOLUTIONS.length; r++) {
+                if (roll(r, timestamp)) {
+                    volume[r] += amount;
+                }
+            }
+        }
+
+        /**
+         * Garante que o candle aberto da resolução é o do período de {@code timestamp}.
+         *
+         * @return {@code false} se o evento é de um período que já fechou
+         */
+        private boolean roll(int r, long timestamp) {
+            // Caminho comum: evento dentro do período aberto, sem consultar as regras do fuso
+            if (active[r] && timestamp >= start[r] && timestamp < end[r]) {
+                return true;
+            }
+            if (timestamp < (active[r] ? start[r] : closedEnd[r])) {
+                lateEvents.increment();
+                return false;
+            }
+            if (active[r]) {
+                closeCandle(r);
+            }
+            start[r] = periodStart(RESOLUTIONS[r], timestamp);
+            end[r] = periodEnd(RESOLUTIONS[r], start[r]);
+            volume[r] = 0;
+            hasPrice[r] = false;
+            active[r] = true;
+            return true;
+        }
+
+        private void closeCandle(int r) {
+            active[r] = false;
+            closedEnd[r] = end[r];
+            Candle candle = toCandle(r);
+            if (candle == null) {
+                return;
+            }
+            ArrayDeque<Candle> history = closed.get(r);
+            history.addLast(candle);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            candlesClosed.increment();
+            enqueue(candle);
+        }
+
+        private Candle toCandle(int r) {
+            if (!hasPrice[r]) {
+                // Só volume no período: candle "parado" no último preço conhecido
+                if (Double.isNaN(lastPrice)) {
+                    return null;
+                }
+                return new Candle(symbol, RESOLUTIONS[r], toDateTime(start[r]),
+                        lastPrice, lastPrice, lastPrice, lastPrice, volume[r]);
+            }
+            return new Candle(symbol, RESOLUTIONS[r], toDateTime(start[r]), open[r], high[r], low[r], close[r], volume[r]);
+        }
+
+        private synchronized void closeExpired(long now) {
+            for (int r = 0; r < RESOLUTIONS.length; r++) {
+                if (active[r] && now >= end[r]) {
+                    closeCandle(r);
+                }
+            }
+        }
+
+        private synchronized void persistOpen() {
+            for (int r = 0; r < RESOLUTIONS.length; r++) {
+                Candle candle = active[r] ? toCandle(r) : null;
+                if (candle != null) {
+                    enqueue(candle);
+                }
+            }
+        }
+
+        private synchronized List<Candle> last(CandleResolution resolution, int count) {
+            int r = resolution.ordinal();
+            Candle current = active[r] ? toCandle(r) : null;
+            int fromHistory = Math.max(0, Math.min(closed.get(r).size(), current != null ? count - 1 : count));
+            List<Candle> result = new ArrayList<>(fromHistory + 1);
+            Iterator<Candle> newestFirst = closed.get(r).descendingIterator();
+            for (int i = 0; i < fromHistory; i++) {
+                result.add(newestFirst.next());
+            }
+            Collections.reverse(result);
+            if (current != null && count > 0) {
+                result.add(current);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Início do período de {@code timestamp}, com o deslocamento do fuso em vigor naquele instante.
+     */
+    private long periodStart(CandleResolution resolution, long timestamp) {
+        Instant instant = Instant.ofEpochMilli(timestamp);
+        if (resolution == CandleResolution.ONE_DAY) {
+            return LocalDate.ofInstant(instant, zone).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        long offsetMillis = zone.getRules().getOffset(instant).getTotalSeconds() * 1000L;
+        return timestamp - Math.floorMod(timestamp + offsetMillis, resolution.getMillis());
+    }
+
+    private long periodEnd(CandleResolution resolution, long start) {
+        if (resolution == CandleResolution.ONE_DAY) {
+            LocalDate day = LocalDate.ofInstant(Instant.ofEpochMilli(start), zone);
+            return day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        return start + resolution.getMillis();
+    }
+
+    private LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+}
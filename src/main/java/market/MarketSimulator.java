@@ -0,0 +1,270 @@
+package market;
+
+import config.AppConfig;
+import dao.MarketDAO;
+import model.Market;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gerador de ticks para teste de carga: milhares de símbolos seguindo um movimento browniano geométrico
+ * (drift e volatilidade próprios), com choques correlacionados por um fator comum de mercado.
+ *
+ * A cada rodada (SIM_ROUND_MS) o agendador sorteia o fator de mercado e os workers geram a sua parte dos
+ * ticks da rodada, cada um com o seu {@link SplittableRandom}, até atingir SIM_TICKS_PER_SECOND. Os
+ * preços são publicados no {@link PriceEngine} do {@link Market} (um setPrices por worker e rodada) e,
+ * se informado, em {@link MarketDAO#saveTick} a cada tick (sem uma mensagem no console por tick).
+ *
+ * Com a mesma semente, os mesmos símbolos e o mesmo número de workers, cada rodada produz os mesmos preços.
+ */
+public class MarketSimulator implements AutoCloseable {
+
+    public static final int DEFAULT_TICKS_PER_SECOND = AppConfig.getInt("SIM_TICKS_PER_SECOND", 10_000);
+    public static final int DEFAULT_WORKERS = AppConfig.getInt("SIM_WORKERS",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    public static final long DEFAULT_SEED = AppConfig.getLong("SIM_SEED", 42);
+    private static final long ROUND_MS = AppConfig.getLong("SIM_ROUND_MS", 10);
+    // Correlação de cada símbolo com o fator comum (0 = independentes, 1 = todos andam juntos)
+    private static final double CORRELATION = Math.min(1, Math.max(0, AppConfig.getDouble("SIM_CORRELATION", 0.3)));
+    // Tempo simulado que cada tick representa
+    private static final double TICK_DT_SECONDS = AppConfig.getDouble("SIM_TICK_DT_SECONDS", 1);
+
+    private static final double SECONDS_PER_YEAR = 365.0 * 24 * 3600;
+
+    private final PriceEngine engine;
+    private final MarketDAO marketDAO;
+    private final SplittableRandom factorRandom;
+    private final List<Worker> workers = new ArrayList<>();
+    private final int ticksPerSecond;
+    private final int ticksPerRound;
+    private final long roundNanos;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService pool;
+    private final LongAdder ticks = new LongAdder();
+    private volatile long rounds;
+    private volatile long overruns;
+    private volatile long startNanos;
+    private volatile long stopNanos;
+
+    public MarketSimulator(Market market, MarketDAO marketDAO, List<SimulatedSymbol> symbols) {
+        this(market, marketDAO, symbols, DEFAULT_TICKS_PER_SECOND, DEFAULT_WORKERS, DEFAULT_SEED);
+    }
+
+    /**
+     * @param marketDAO DAO que recebe cada tick, ou {@code null} para publicar só no {@link Market}
+     */
+    public MarketSimulator(Market market, MarketDAO marketDAO, List<SimulatedSymbol> symbols,
+                           int ticksPerSecond, int workerCount, long seed) {
+        if (symbols.isEmpty() || ticksPerSecond < 1 || workerCount < 1) {
+            throw new IllegalArgumentException("Simulação precisa de símbolos, ticks/s e workers positivos.");
+        }
+        this.engine = market.getEngine();
+        this.marketDAO = marketDAO;
+        this.ticksPerSecond = ticksPerSecond;
+        // Rodadas com pelo menos um tick; em taxas baixas a rodada fica mais longa que SIM_ROUND_MS
+        this.ticksPerRound = (int) Math.max(1, Math.round(ticksPerSecond * ROUND_MS / 1000.0));
+        this.roundNanos = TimeUnit.SECONDS.toNanos(1) * ticksPerRound / ticksPerSecond;
+
+        SplittableRandom master = new SplittableRandom(seed);
+        this.factorRandom = master.split();
+        int workerTotal = Math.min(workerCount, symbols.size());
+        List<List<SimulatedSymbol>> partitions = new ArrayList<>();
+        for (int w = 0; w < workerTotal; w++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < symbols.size(); i++) {
+            partitions.get(i % workerTotal).add(symbols.get(i));
+        }
+        for (int w = 0; w < workerTotal; w++) {
+            int quota = ticksPerRound / workerTotal + (w < ticksPerRound % workerTotal ? 1 : 0);
+            workers.add(new Worker(partitions.get(w), quota, master.split()));
+        }
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        pool = Executors.newFixedThreadPool(workers.size(), r -> {
+            Thread t = new Thread(r, "voltz-sim-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "voltz-sim-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        startNanos = System.nanoTime();
+        stopNanos = 0;
+        scheduler.scheduleAtFixedRate(this::roundQuietly, 0, roundNanos, TimeUnit.NANOSECONDS);
+        System.out.printf("📈 Simulador iniciado: %d símbolo(s), %d worker(s), meta de %,d ticks/s%n",
+                engine.size(), workers.size(), ticksPerSecond);
+    }
+
+    /**
+     * Roda a simulação por {@code millis} milissegundos e mostra as estatísticas.
+     */
+    public void run(long millis) throws InterruptedException {
+        start();
+        try {
+            Thread.sleep(millis);
+        } finally {
+            close();
+        }
+        printStats();
+    }
+
+    /**
+     * Gera uma rodada de ticks na thread atual (usado pelo agendador; útil também para reproduzir rodadas).
+     */
+    public void round() throws InterruptedException {
+        long begin = System.nanoTime();
+        double marketShock = factorRandom.nextGaussian();
+        if (pool == null || workers.size() == 1) {
+            for (Worker worker : workers) {
+                worker.tick(marketShock);
+            }
+        } else {
+            List<Callable<Void>> tasks = new ArrayList<>(workers.size());
+            for (Worker worker : workers) {
+                tasks.add(() -> {
+                    worker.tick(marketShock);
+                    return null;
+                });
+            }
+            pool.invokeAll(tasks);
+        }
+        rounds++;
+        if (System.nanoTime() - begin > roundNanos) {
+            overruns++;
+        }
+    }
+
+    private void roundQuietly() {
+        try {
+            round();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Erro na rodada do simulador: " + e.getMessage());
+        }
+    }
+
+    public long getTicks() {
+        return ticks.sum();
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Rodadas que demoraram mais que o intervalo entre rodadas (a taxa real fica abaixo da meta).
+     */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    public double getAchievedTicksPerSecond() {
+        long end = stopNanos != 0 ? stopNanos : System.nanoTime();
+        long elapsed = end - startNanos;
+        return startNanos == 0 || elapsed <= 0 ? 0 : ticks.sum() * 1e9 / elapsed;
+    }
+
+    public void printStats() {
+        System.out.printf("📈 Simulador: %,d tick(s) em %,d rodada(s) | %,.0f ticks/s (meta %,d) | rodadas atrasadas=%d%n",
+                getTicks(), rounds, getAchievedTicksPerSecond(), ticksPerSecond, overruns);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        pool.shutdownNow();
+        stopNanos = System.nanoTime();
+        scheduler = null;
+        pool = null;
+    }
+
+    /**
+     * Parte dos símbolos com estado próprio; só uma thread usa um worker por vez.
+     */
+    private final class Worker {
+        private final String[] symbols;
+        private final int[] ids;
+        private final double[] prices;
+        private final double[] driftTerm;
+        private final double[] volTerm;
+        private final int quota;
+        private final int[] outIds;
+        private final int[] outIndexes;
+        private final double[] outPrices;
+        private final SplittableRandom random;
+        private final double marketWeight = Math.sqrt(CORRELATION);
+        private final double ownWeight = Math.sqrt(1 - CORRELATION);
+        private int cursor;
+
+        private Worker(List<SimulatedSymbol> partition, int quota, SplittableRandom random) {
+            int size = partition.size();
+            this.symbols = new String[size];
+            this.ids = new int[size];
+            this.prices = new double[size];
+            this.driftTerm = new double[size];
+            this.volTerm = new double[size];
+            double dt = TICK_DT_SECONDS / SECONDS_PER_YEAR;
+            for (int i = 0; i < size; i++) {
+                SimulatedSymbol spec = partition.get(i);
+                symbols[i] = spec.symbol();
+                ids[i] = engine.register(spec.symbol(), spec.initialPrice());
+                prices[i] = spec.initialPrice();
+                // GBM: S(t+dt) = S(t) * exp((mu - sigma²/2) dt + sigma sqrt(dt) Z)
+                driftTerm[i] = (spec.drift() - spec.volatility() * spec.volatility() / 2) * dt;
+                volTerm[i] = spec.volatility() * Math.sqrt(dt);
+            }
+            this.quota = quota;
+            this.outIds = new int[quota];
+            this.outIndexes = new int[quota];
+            this.outPrices = new double[quota];
+            this.random = random;
+        }
+
+        private void tick(double marketShock) {
+            for (int k = 0; k < quota; k++) {
+                int i = cursor;
+                cursor = cursor + 1 == ids.length ? 0 : cursor + 1;
+                double shock = marketWeight * marketShock + ownWeight * random.nextGaussian();
+                prices[i] *= Math.exp(driftTerm[i] + volTerm[i] * shock);
+                outIds[k] = ids[i];
+                outIndexes[k] = i;
+                outPrices[k] = prices[i];
+            }
+            engine.setPrices(outIds, outPrices, quota);
+            if (marketDAO != null) {
+                for (int k = 0; k < quota; k++) {
+                    marketDAO.saveTick(symbols[outIndexes[k]], outPrices[k]);
+                }
+            }
+            ticks.add(quota);
+        }
+    }
+}
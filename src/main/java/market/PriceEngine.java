@@ -0,0 +1,223 @@
+package market;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Preços correntes por símbolo em um array primitivo indexado pelo ID da {@link SymbolTable}.
+ *
+ * Cada preço é guardado como os bits do double em um {@link AtomicLongArray}, então ler ou gravar um
+ * preço não aloca (sem Double) e nunca vê um valor pela metade. Para ler vários preços de um mesmo
+ * instante (ex.: avaliar uma carteira), as escritas passam por um seqlock: o escritor deixa a versão
+ * ímpar enquanto grava e par ao terminar, e {@link #snapshot(double[])} repete a cópia se a versão
+ * mudou no meio. Leitores nunca travam; escritores são serializados entre si.
+ */
+public final class PriceEngine {
+
+    /** Preço de um ID ainda sem valor. */
+    public static final double NO_PRICE = Double.NaN;
+
+    /**
+     * Novo preço de um símbolo a partir do atual, usado em {@link #updateAll}.
+     */
+    @FunctionalInterface
+    public interface PriceFunction {
+        double apply(int symbolId, double currentPrice);
+    }
+
+    private final SymbolTable symbols;
+    private final AtomicLong version = new AtomicLong();
+    private final Object writeLock = new Object();
+    private volatile AtomicLongArray prices;
+
+    public PriceEngine() {
+        this(new SymbolTable(), 16);
+    }
+
+    public PriceEngine(SymbolTable symbols, int initialCapacity) {
+        this.symbols = symbols;
+        this.prices = emptyArray(Math.max(Math.max(1, initialCapacity), symbols.size()));
+    }
+
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Cadastra o símbolo (se necessário) com o preço inicial.
+     *
+     * @return o ID do símbolo
+     */
+    public int register(String symbol, double price) {
+        synchronized (writeLock) {
+            int id = symbols.intern(symbol);
+            beginWrite();
+            try {
+                ensureCapacity(id + 1);
+                prices.set(id, Double.doubleToRawLongBits(price));
+            } finally {
+                endWrite();
+            }
+            return id;
+        }
+    }
+
+    // ===================== LEITURA (sem trava) =====================
+
+    /**
+     * @return o preço do ID, ou {@link #NO_PRICE}
+     */
+    public double getPrice(int symbolId) {
+        AtomicLongArray current = prices;
+        if (symbolId < 0 || symbolId >= current.length()) {
+            return NO_PRICE;
+        }
+        return Double.longBitsToDouble(current.get(symbolId));
+    }
+
+    /**
+     * @return o preço do símbolo, ou {@link #NO_PRICE} se ele não estiver cadastrado
+     */
+    public double getPrice(String symbol) {
+        return getPrice(symbols.idOf(symbol));
+    }
+
+    /**
+     * Copia para {@code dest} os preços de um mesmo instante (posição = ID do símbolo), sem alocar.
+     * {@code dest} precisa ter pelo menos {@link #size()} posições; as que sobrarem não são tocadas.
+     *
+     * @return a versão copiada, para comparar com {@link #getVersion()} depois
+     */
+    public long snapshot(double[] dest) {
+        while (true) {
+            long before = version.get();
+            if ((before & 1) != 0) {
+                Thread.onSpinWait(); // escrita em andamento
+                continue;
+            }
+            AtomicLongArray current = prices;
+            int count = Math.min(symbols.size(), current.length());
+            if (dest.length < count) {
+                throw new IllegalArgumentException("Array de destino com " + dest.length
+                        + " posição(ões); são necessárias " + count + ".");
+            }
+            for (int i = 0; i < count; i++) {
+                dest[i] = Double.longBitsToDouble(current.get(i));
+            }
+            if (version.get() == before) {
+                return before;
+            }
+        }
+    }
+
+    public double[] snapshot() {
+        while (true) {
+            double[] dest = new double[symbols.size()];
+            try {
+                snapshot(dest);
+                return dest;
+            } catch (IllegalArgumentException e) {
+                // Um símbolo foi cadastrado entre o size() e a cópia: tenta com o tamanho novo
+            }
+        }
+    }
+
+    /**
+     * Muda a cada escrita; igual entre duas leituras significa que nenhum preço mudou nesse intervalo.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    public int size() {
+        return symbols.size();
+    }
+
+    // ===================== ESCRITA =====================
+
+    public void setPrice(int symbolId, double price) {
+        synchronized (writeLock) {
+            checkId(symbolId);
+            beginWrite();
+            try {
+                prices.set(symbolId, Double.doubleToRawLongBits(price));
+            } finally {
+                endWrite();
+            }
+        }
+    }
+
+    /**
+     * Grava {@code count} preços de uma vez; leitores de {@link #snapshot} veem todos ou nenhum.
+     */
+    public void setPrices(int[] symbolIds, double[] newPrices, int count) {
+        synchronized (writeLock) {
+            for (int i = 0; i < count; i++) {
+                checkId(symbolIds[i]);
+            }
+            beginWrite();
+            try {
+                AtomicLongArray current = prices;
+                for (int i = 0; i < count; i++) {
+                    current.set(symbolIds[i], Double.doubleToRawLongBits(newPrices[i]));
+                }
+            } finally {
+                endWrite();
+            }
+        }
+    }
+
+    /**
+     * Recalcula o preço de todos os símbolos com {@code function} em uma única escrita.
+     */
+    public void updateAll(PriceFunction function) {
+        synchronized (writeLock) {
+            beginWrite();
+            try {
+                AtomicLongArray current = prices;
+                int count = Math.min(symbols.size(), current.length());
+                for (int i = 0; i < count; i++) {
+                    double price = Double.longBitsToDouble(current.get(i));
+                    current.set(i, Double.doubleToRawLongBits(function.apply(i, price)));
+                }
+            } finally {
+                endWrite();
+            }
+        }
+    }
+
+    private void beginWrite() {
+        version.incrementAndGet(); // ímpar: leitores de snapshot esperam
+    }
+
+    private void endWrite() {
+        version.incrementAndGet();
+    }
+
+    private void checkId(int symbolId) {
+        if (symbolId < 0 || symbolId >= symbols.size() || symbolId >= prices.length()) {
+            throw new IllegalArgumentException("ID de símbolo não cadastrado: " + symbolId);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        AtomicLongArray current = prices;
+        if (required <= current.length()) {
+            return;
+        }
+        AtomicLongArray grown = emptyArray(Math.max(required, current.length() * 2));
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        prices = grown;
+    }
+
+    private static AtomicLongArray emptyArray(int length) {
+        AtomicLongArray array = new AtomicLongArray(length);
+        long noPrice = Double.doubleToRawLongBits(NO_PRICE);
+        for (int i = 0; i < length; i++) {
+            array.set(i, noPrice);
+        }
+        return array;
+    }
+}
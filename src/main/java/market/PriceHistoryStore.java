@@ -0,0 +1,560 @@
+package market;
+
+import config.AppConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Histórico de preços por símbolo, fora do Oracle.
+ *
+ * Os ticks recentes de cada símbolo ficam em um buffer circular fora do heap (ByteBuffer direto com pares
+ * timestamp/preço, HISTORY_RING_CAPACITY posições). Quando o buffer enche, a metade mais antiga é
+ * despejada no segmento ativo em disco: registros fixos de 20 bytes (ID do símbolo, timestamp, preço),
+ * com um novo arquivo a cada HISTORY_SEGMENT_BYTES. Os IDs são os da {@link SymbolTable} da própria
+ * store, persistida em symbols.txt (linha N = ID N) para continuar válida entre execuções; o arquivo é
+ * sincronizado antes que qualquer registro com um ID novo chegue a um segmento.
+ *
+ * Cada segmento mantém em memória o índice das sequências contíguas de registros de cada símbolo (os
+ * despejos gravam metade do buffer de um símbolo de uma vez), com o intervalo de timestamps de cada uma:
+ * a consulta lê do disco só as sequências do símbolo que cruzam o período pedido.
+ *
+ * {@link #close()} despeja também o que está nos buffers, então o histórico sobrevive ao reinício.
+ */
+public class PriceHistoryStore implements PriceListener, AutoCloseable {
+
+    public static final String DEFAULT_DIRECTORY = AppConfig.get("HISTORY_DIR", "history");
+    private static final int RING_CAPACITY = AppConfig.getInt("HISTORY_RING_CAPACITY", 1024);
+    private static final long SEGMENT_BYTES = AppConfig.getLong("HISTORY_SEGMENT_BYTES", 64L * 1024 * 1024);
+
+    static final int RECORD_BYTES = Integer.BYTES + Long.BYTES + Double.BYTES;
+    private static final int SLOT_BYTES = Long.BYTES + Double.BYTES;
+    private static final String SYMBOLS_FILE = "symbols.txt";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final Path directory;
+    private final int ringCapacity;
+    private final long segmentBytes;
+    private final SymbolTable symbols = new SymbolTable();
+    private volatile Ring[] rings = new Ring[16];
+    // Símbolos já sincronizados em symbols.txt (IDs 0..persistedSymbols-1); protegido pela trava da store
+    private int persistedSymbols;
+
+    // Estado do disco, protegido por writeLock. Ordem das travas: ring -> writeLock
+    private final Object writeLock = new Object();
+    private final List<Segment> segments = new ArrayList<>();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(RECORD_BYTES * 4096);
+    private FileChannel active;
+    private long recordsOnDisk;
+    private long lostRecords;
+    private boolean closed;
+
+    private PriceHistoryStore(Path directory, int ringCapacity, long segmentBytes) {
+        this.directory = directory;
+        this.ringCapacity = Math.max(2, ringCapacity);
+        this.segmentBytes = Math.max(RECORD_BYTES, segmentBytes - segmentBytes % RECORD_BYTES);
+    }
+
+    public static PriceHistoryStore open() throws IOException {
+        return open(Path.of(DEFAULT_DIRECTORY), RING_CAPACITY, SEGMENT_BYTES);
+    }
+
+    /**
+     * Abre (ou cria) o histórico em {@code directory}, carregando os símbolos e o índice dos segmentos.
+     */
+    public static PriceHistoryStore open(Path directory, int ringCapacity, long segmentBytes) throws IOException {
+        Files.createDirectories(directory);
+        PriceHistoryStore store = new PriceHistoryStore(directory, ringCapacity, segmentBytes);
+        store.load();
+        return store;
+    }
+
+    private void load() throws IOException {
+        Path symbolsFile = directory.resolve(SYMBOLS_FILE);
+        if (Files.exists(symbolsFile)) {
+            byte[] content = Files.readAllBytes(symbolsFile);
+            int complete = content.length;
+            while (complete > 0 && content[complete - 1] != '\n') {
+                complete--;
+            }
+            if (complete < content.length) {
+                // Linha incompleta de uma queda no meio da escrita: nenhum registro usa esse ID
+                try (FileChannel channel = FileChannel.open(symbolsFile, StandardOpenOption.WRITE)) {
+                    channel.truncate(complete);
+                    channel.force(true);
+                }
+            }
+            for (String line : new String(content, 0, complete, StandardCharsets.UTF_8).split("\n")) {
+                if (!line.isBlank()) {
+                    symbols.intern(line.trim());
+                }
+            }
+        }
+        persistedSymbols = symbols.size();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            segments.add(Segment.scan(file));
+        }
+        recordsOnDisk = segments.stream().mapToLong(s -> s.records).sum();
+    }
+
+    // ===================== GRAVAÇÃO =====================
+
+    public void record(String symbol, double price) {
+        record(symbol, System.currentTimeMillis(), price);
+    }
+
+    public void record(String symbol, long timestampMillis, double price) {
+        ring(symbol).add(timestampMillis, price);
+    }
+
+    @Override
+    public void onPrice(String symbol, long timestampMillis, double price) {
+        record(symbol, timestampMillis, price);
+    }
+
+    private Ring ring(String symbol) {
+        int id = symbols.idOf(symbol);
+        Ring[] current = rings;
+        if (id != SymbolTable.NOT_FOUND && id < current.length && current[id] != null) {
+            return current[id];
+        }
+        return createRing(symbol);
+    }
+
+    private synchronized Ring createRing(String symbol) {
+        int id = symbols.intern(symbol);
+        persistSymbols();
+        Ring[] current = rings;
+        if (id >= current.length) {
+            current = Arrays.copyOf(current, Math.max(id + 1, current.length * 2));
+        }
+        if (current[id] == null) {
+            current[id] = new Ring(id);
+            rings = current;
+        }
+        return current[id];
+    }
+
+    /**
+     * Acrescenta a symbols.txt, em ordem de ID, os símbolos ainda não gravados e sincroniza o arquivo.
+     *
+     * @return {@code true} se todos os IDs conhecidos estão em disco
+     */
+    private synchronized boolean persistSymbols() {
+        int size = symbols.size();
+        if (persistedSymbols >= size) {
+            return true;
+        }
+        StringBuilder lines = new StringBuilder();
+        for (int id = persistedSymbols; id < size; id++) {
+            lines.append(symbols.symbolOf(id)).append('\n');
+        }
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(lines.toString());
+        try (FileChannel channel = FileChannel.open(directory.resolve(SYMBOLS_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+            persistedSymbols = size;
+            return true;
+        } catch (IOException e) {
+            System.err.println("❌ Erro ao registrar símbolo no histórico: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Grava no disco os registros ainda no buffer de escrita (não despeja os buffers circulares).
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            try {
+                drainWriteBuffer();
+            } catch (IOException e) {
+                System.err.println("❌ Erro ao gravar histórico de preços: " + e.getMessage());
+            }
+        }
+    }
+
+    private void spill(int symbolId, ByteBuffer ringData, int head, int count) {
+        synchronized (writeLock) {
+            if (closed) {
+                lostRecords += count;
+                return;
+            }
+            if (!symbolPersisted(symbolId) && !persistSymbols()) {
+                // Sem o nome em disco o ID apontaria para outro símbolo depois do reinício
+                lostRecords += count;
+                return;
+            }
+            int i = 0;
+            try {
+                for (; i < count; i++) {
+                    int slot = ((head + i) % ringCapacity) * SLOT_BYTES;
+                    if (writeBuffer.remaining() < RECORD_BYTES) {
+                        drainWriteBuffer();
+                    }
+                    writeBuffer.putInt(symbolId)
+                            .putLong(ringData.getLong(slot))
+                            .putDouble(ringData.getDouble(slot + Long.BYTES));
+                }
+            } catch (IOException e) {
+                // O que já estava no buffer de escrita foi contado por drainWriteBuffer
+                lostRecords += count - i;
+                System.err.println("❌ Erro ao gravar histórico de preços: " + e.getMessage());
+            }
+        }
+    }
+
+    private synchronized boolean symbolPersisted(int symbolId) {
+        return symbolId < persistedSymbols;
+    }
+
+    // Chamados com writeLock
+    private void drainWriteBuffer() throws IOException {
+        writeBuffer.flip();
+        try {
+            drainFlipped();
+        } catch (IOException e) {
+            lostRecords += writeBuffer.remaining() / RECORD_BYTES;
+            throw e;
+        } finally {
+            writeBuffer.clear();
+        }
+    }
+
+    private void drainFlipped() throws IOException {
+        while (writeBuffer.hasRemaining()) {
+            Segment segment = activeSegment();
+            int records = writeBuffer.remaining() / RECORD_BYTES;
+            int fits = (int) Math.min(records, (segmentBytes - segment.bytes()) / RECORD_BYTES);
+            if (fits == 0) {
+                rollSegment();
+                continue;
+            }
+            ByteBuffer chunk = writeBuffer.slice(writeBuffer.position(), fits * RECORD_BYTES);
+            while (chunk.hasRemaining()) {
+                active.write(chunk);
+            }
+            // Indexa só o que já foi gravado
+            for (int i = 0; i < fits; i++) {
+                segment.index(segment.records + i, chunk.getInt(i * RECORD_BYTES),
+                        chunk.getLong(i * RECORD_BYTES + Integer.BYTES));
+            }
+            writeBuffer.position(writeBuffer.position() + fits * RECORD_BYTES);
+            segment.records += fits;
+            recordsOnDisk += fits;
+        }
+    }
+
+    private Segment activeSegment() throws IOException {
+        if (active == null) {
+            Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (last == null || last.bytes() >= segmentBytes) {
+                last = new Segment(directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segments.size(),
+                        SEGMENT_SUFFIX)));
+                segments.add(last);
+            }
+            active = FileChannel.open(last.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            // Descarta um registro incompleto do fim antes de continuar gravando
+            active.truncate(last.bytes());
+            active.position(last.bytes());
+        }
+        return segments.get(segments.size() - 1);
+    }
+
+    private void rollSegment() throws IOException {
+        active.force(false);
+        active.close();
+        active = null;
+        activeSegment();
+    }
+
+    // ===================== CONSULTA =====================
+
+    /**
+     * Ticks do símbolo com timestamp entre {@code fromMillis} e {@code toMillis} (inclusive): primeiro os
+     * dos segmentos em disco, depois os do buffer circular.
+     */
+    public PriceSeries query(String symbol, long fromMillis, long toMillis) {
+        PriceSeries series = new PriceSeries(symbol, 64);
+        int id = symbols.idOf(symbol);
+        Ring[] current = rings;
+        Ring ring = id != SymbolTable.NOT_FOUND && id < current.length ? current[id] : null;
+        if (id == SymbolTable.NOT_FOUND) {
+            return series;
+        }
+        if (ring == null) {
+            readSegments(id, fromMillis, toMillis, series);
+            return series;
+        }
+        // A trava do buffer impede que um despejo mova ticks entre as duas leituras
+        synchronized (ring) {
+            readSegments(id, fromMillis, toMillis, series);
+            ring.read(fromMillis, toMillis, series);
+        }
+        return series;
+    }
+
+    private void readSegments(int symbolId, long fromMillis, long toMillis, PriceSeries series) {
+        List<Path> files = new ArrayList<>();
+        List<long[]> ranges = new ArrayList<>();
+        synchronized (writeLock) {
+            try {
+                drainWriteBuffer();
+            } catch (IOException e) {
+                System.err.println("❌ Erro ao gravar histórico de preços: " + e.getMessage());
+            }
+            for (Segment segment : segments) {
+                if (segment.records > 0 && segment.maxTimestamp >= fromMillis && segment.minTimestamp <= toMillis) {
+                    long[] runs = segment.runsOf(symbolId, fromMillis, toMillis);
+                    if (runs.length > 0) {
+                        files.add(segment.file);
+                        ranges.add(runs);
+                    }
+                }
+            }
+        }
+        ByteBuffer data = ByteBuffer.allocate(RECORD_BYTES * 1024);
+        for (int i = 0; i < files.size(); i++) {
+            long[] runs = ranges.get(i);
+            try (FileChannel channel = FileChannel.open(files.get(i), StandardOpenOption.READ)) {
+                for (int r = 0; r < runs.length; r += 2) {
+                    int bytes = (int) runs[r + 1] * RECORD_BYTES;
+                    if (data.capacity() < bytes) {
+                        data = ByteBuffer.allocate(bytes);
+                    }
+                    data.clear().limit(bytes);
+                    long position = runs[r] * RECORD_BYTES;
+                    while (data.hasRemaining()) {
+                        if (channel.read(data, position + data.position()) < 0) {
+                            break;
+                        }
+                    }
+                    for (int offset = 0; offset < data.position(); offset += RECORD_BYTES) {
+                        long timestamp = data.getLong(offset + Integer.BYTES);
+                        if (timestamp >= fromMillis && timestamp <= toMillis) {
+                            series.add(timestamp, data.getDouble(offset + Integer.BYTES + Long.BYTES));
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("❌ Erro ao ler histórico de " + series.getSymbol() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public long getRecordsOnDisk() {
+        synchronized (writeLock) {
+            return recordsOnDisk;
+        }
+    }
+
+    public int getSymbolCount() {
+        return symbols.size();
+    }
+
+    public void printStatus() {
+        synchronized (writeLock) {
+            System.out.printf("🗂️ Histórico de preços: %d símbolo(s) | %,d registro(s) em %d segmento(s) | perdidos=%d (%s)%n",
+                    symbols.size(), recordsOnDisk, segments.size(), lostRecords, directory.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Despeja os buffers circulares no disco e fecha o segmento ativo.
+     */
+    @Override
+    public void close() {
+        for (Ring ring : rings) {
+            if (ring != null) {
+                ring.spillAll();
+            }
+        }
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            try {
+                drainWriteBuffer();
+                if (active != null) {
+                    active.force(false);
+                    active.close();
+                    active = null;
+                }
+            } catch (IOException e) {
+                System.err.println("❌ Erro ao fechar histórico de preços: " + e.getMessage());
+            }
+            closed = true;
+        }
+    }
+
+    /**
+     * Buffer circular fora do heap de um símbolo; as operações travam o próprio objeto.
+     */
+    private final class Ring {
+        private final int symbolId;
+        private final ByteBuffer data;
+        private int head;
+        private int count;
+
+        private Ring(int symbolId) {
+            this.symbolId = symbolId;
+            this.data = ByteBuffer.allocateDirect(ringCapacity * SLOT_BYTES);
+        }
+
+        private synchronized void add(long timestampMillis, double price) {
+            if (count == ringCapacity) {
+                // Despeja metade de uma vez: uma ida ao lock de escrita a cada capacity/2 ticks
+                spillOldest(ringCapacity / 2);
+            }
+            int slot = ((head + count) % ringCapacity) * SLOT_BYTES;
+            data.putLong(slot, timestampMillis);
+            data.putDouble(slot + Long.BYTES, price);
+            count++;
+        }
+
+        private synchronized void spillAll() {
+            spillOldest(count);
+        }
+
+        private void spillOldest(int n) {
+            if (n == 0) {
+                return;
+            }
+            spill(symbolId, data, head, n);
+            head = (head + n) % ringCapacity;
+            count -= n;
+        }
+
+        private synchronized void read(long fromMillis, long toMillis, PriceSeries series) {
+            for (int i = 0; i < count; i++) {
+                int slot = ((head + i) % ringCapacity) * SLOT_BYTES;
+                long timestamp = data.getLong(slot);
+                if (timestamp >= fromMillis && timestamp <= toMillis) {
+                    series.add(timestamp, data.getDouble(slot + Long.BYTES));
+                }
+            }
+        }
+    }
+
+    /**
+     * Arquivo de segmento, o intervalo de timestamps que ele contém (para pular segmentos na consulta) e,
+     * por símbolo, as sequências contíguas de registros com o próprio intervalo de timestamps.
+     */
+    private static final class Segment {
+        private final Path file;
+        private long records;
+        private long minTimestamp = Long.MAX_VALUE;
+        private long maxTimestamp = Long.MIN_VALUE;
+        private Runs[] runsBySymbol = new Runs[16];
+
+        private Segment(Path file) {
+            this.file = file;
+        }
+
+        private static Segment scan(Path file) throws IOException {
+            Segment segment = new Segment(file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                // Um registro incompleto no fim (queda no meio da escrita) é ignorado
+                long size = channel.size() - channel.size() % RECORD_BYTES;
+                if (size > 0) {
+                    MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    for (int offset = 0; offset < size; offset += RECORD_BYTES) {
+                        segment.index(offset / RECORD_BYTES, data.getInt(offset), data.getLong(offset + Integer.BYTES));
+                    }
+                }
+                segment.records = size / RECORD_BYTES;
+            }
+            return segment;
+        }
+
+        private long bytes() {
+            return records * RECORD_BYTES;
+        }
+
+        private void index(long record, int symbolId, long timestamp) {
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+            if (symbolId < 0) {
+                return;
+            }
+            if (symbolId >= runsBySymbol.length) {
+                runsBySymbol = Arrays.copyOf(runsBySymbol, Math.max(symbolId + 1, runsBySymbol.length * 2));
+            }
+            Runs runs = runsBySymbol[symbolId];
+            if (runs == null) {
+                runs = runsBySymbol[symbolId] = new Runs();
+            }
+            runs.add(record, timestamp);
+        }
+
+        /**
+         * Pares (primeiro registro, quantidade) das sequências do símbolo que cruzam o período.
+         */
+        private long[] runsOf(int symbolId, long fromMillis, long toMillis) {
+            Runs runs = symbolId < runsBySymbol.length ? runsBySymbol[symbolId] : null;
+            return runs == null ? new long[0] : runs.overlapping(fromMillis, toMillis);
+        }
+    }
+
+    /**
+     * Sequências contíguas de registros de um símbolo dentro de um segmento, em ordem de posição.
+     */
+    private static final class Runs {
+        private long[] starts = new long[4];
+        private int[] counts = new int[4];
+        private long[] minTimestamps = new long[4];
+        private long[] maxTimestamps = new long[4];
+        private int size;
+
+        private void add(long record, long timestamp) {
+            int last = size - 1;
+            if (last >= 0 && starts[last] + counts[last] == record) {
+                counts[last]++;
+                minTimestamps[last] = Math.min(minTimestamps[last], timestamp);
+                maxTimestamps[last] = Math.max(maxTimestamps[last], timestamp);
+                return;
+            }
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+                minTimestamps = Arrays.copyOf(minTimestamps, size * 2);
+                maxTimestamps = Arrays.copyOf(maxTimestamps, size * 2);
+            }
+            starts[size] = record;
+            counts[size] = 1;
+            minTimestamps[size] = timestamp;
+            maxTimestamps[size] = timestamp;
+            size++;
+        }
+
+        private long[] overlapping(long fromMillis, long toMillis) {
+            long[] result = new long[size * 2];
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (maxTimestamps[i] >= fromMillis && minTimestamps[i] <= toMillis) {
+                    result[n++] = starts[i];
+                    result[n++] = counts[i];
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+    }
+}
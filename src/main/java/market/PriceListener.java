@@ -0,0 +1,10 @@
+package market;
+
+/**
+ * Recebe cada preço gravado pelo {@link PublishingMarketDAO}.
+ */
+@FunctionalInterface
+public interface PriceListener {
+
+    void onPrice(String symbol, long timestampMillis, double price);
+}
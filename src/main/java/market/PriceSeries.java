@@ -0,0 +1,75 @@
+package market;
+
+import java.util.Arrays;
+
+/**
+ * Série de preços de um símbolo em arrays primitivos (timestamp em epoch millis e preço), na ordem em
+ * que foram gravados.
+ */
+public final class PriceSeries {
+
+    private final String symbol;
+    private long[] timestamps;
+    private double[] prices;
+    private int size;
+
+    PriceSeries(String symbol, int initialCapacity) {
+        this.symbol = symbol;
+        this.timestamps = new long[Math.max(8, initialCapacity)];
+        this.prices = new double[timestamps.length];
+    }
+
+    void add(long timestampMillis, double price) {
+        if (size == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+            prices = Arrays.copyOf(prices, size * 2);
+        }
+        timestamps[size] = timestampMillis;
+        prices[size] = price;
+        size++;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getTimestamp(int index) {
+        checkIndex(index);
+        return timestamps[index];
+    }
+
+    public double getPrice(int index) {
+        checkIndex(index);
+        return prices[index];
+    }
+
+    public double getMinPrice() {
+        double min = Double.NaN;
+        for (int i = 0; i < size; i++) {
+            min = i == 0 ? prices[i] : Math.min(min, prices[i]);
+        }
+        return min;
+    }
+
+    public double getMaxPrice() {
+        double max = Double.NaN;
+        for (int i = 0; i < size; i++) {
+            max = i == 0 ? prices[i] : Math.max(max, prices[i]);
+        }
+        return max;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora da série (tamanho " + size + ")");
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package market;
+
+import config.AppConfig;
+import dao.MarketDAO;
+import dao.PriceUpdate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cópia em memória da tabela market, para avaliar carteiras sem uma consulta por símbolo.
+ *
+ * A primeira carga traz todos os preços; depois, uma thread de fundo busca a cada intervalo só as
+ * linhas com {@code last_updated} mais novo que a maior data já vista (high-water mark). A busca volta
+ * um pouco antes da marca (MARKET_REFRESH_OVERLAP_MS) para não perder linhas gravadas com horário da
+ * aplicação e confirmadas depois; reaplicar uma linha é inofensivo. Exclusões não aparecem na busca
+ * incremental, então de tempos em tempos (MARKET_FULL_RELOAD_MS) a cópia é recarregada inteira.
+ *
+ * Limite de defasagem: se a última atualização bem-sucedida for mais antiga que
+ * MARKET_MAX_STALENESS_MS, a leitura atualiza a cópia antes de responder.
+ */
+public class PriceSnapshot implements AutoCloseable {
+
+    private static final long REFRESH_INTERVAL_MS = AppConfig.getLong("MARKET_REFRESH_MS", 1_000);
+    private static final long MAX_STALENESS_MS = AppConfig.getLong("MARKET_MAX_STALENESS_MS", 5_000);
+    private static final long REFRESH_OVERLAP_MS = AppConfig.getLong("MARKET_REFRESH_OVERLAP_MS", 2_000);
+    private static final long FULL_RELOAD_MS = AppConfig.getLong("MARKET_FULL_RELOAD_MS", 300_000);
+
+    private final MarketDAO marketDAO;
+    private final long refreshIntervalMillis;
+    private final long maxStalenessNanos;
+    private final ConcurrentHashMap<String, Double> prices = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    // Escritos só dentro de refresh() (sincronizado); lidos por qualquer thread
+    private volatile LocalDateTime highWaterMark;
+    private volatile long lastRefreshNanos;
+    private volatile long lastFullReloadNanos;
+    private volatile boolean loaded;
+    private boolean reloadRequested;
+
+    private long refreshCount;
+    private long rowsApplied;
+    private long failures;
+
+    public PriceSnapshot(MarketDAO marketDAO) {
+        this(marketDAO, REFRESH_INTERVAL_MS, MAX_STALENESS_MS);
+    }
+
+    public PriceSnapshot(MarketDAO marketDAO, long refreshIntervalMillis, long maxStalenessMillis) {
+        this.marketDAO = marketDAO;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+    }
+
+    /**
+     * Faz a carga inicial e agenda as atualizações incrementais.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        refresh();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "voltz-market-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMillis, refreshIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return o preço do símbolo, ou {@code null} se não existir
+     */
+    public Double getPrice(String symbol) {
+        ensureFresh();
+        return prices.get(symbol);
+    }
+
+    /**
+     * Visão somente leitura dos preços (reflete as próximas atualizações).
+     */
+    public Map<String, Double> getAllPrices() {
+        ensureFresh();
+        return Collections.unmodifiableMap(prices);
+    }
+
+    /**
+     * Milissegundos desde a última atualização bem-sucedida ({@code Long.MAX_VALUE} antes da primeira).
+     */
+    public long getStalenessMillis() {
+        return loaded ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastRefreshNanos) : Long.MAX_VALUE;
+    }
+
+    public boolean isStale() {
+        return !loaded || System.nanoTime() - lastRefreshNanos > maxStalenessNanos;
+    }
+
+    public LocalDateTime getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Busca no banco as alterações desde a última marca (ou tudo, na primeira vez e a cada recarga completa).
+     *
+     * @return quantidade de linhas aplicadas
+     */
+    public synchronized int refresh() {
+        long now = System.nanoTime();
+        boolean fullReload = !loaded || reloadRequested
+                || now - lastFullReloadNanos > TimeUnit.MILLISECONDS.toNanos(FULL_RELOAD_MS);
+        LocalDateTime mark = highWaterMark;
+        LocalDateTime since = fullReload || mark == null
+                ? null
+                : mark.minusNanos(TimeUnit.MILLISECONDS.toNanos(REFRESH_OVERLAP_MS));
+
+        List<PriceUpdate> updates = marketDAO.findUpdatedSince(since);
+        if (fullReload) {
+            // Símbolos excluídos do banco saem da cópia; os demais são sobrescritos abaixo
+            prices.keySet().retainAll(updates.stream().map(PriceUpdate::symbol).toList());
+            lastFullReloadNanos = now;
+            reloadRequested = false;
+        }
+        for (PriceUpdate update : updates) {
+            prices.put(update.symbol(), update.price());
+            if (mark == null || update.lastUpdated().isAfter(mark)) {
+                mark = update.lastUpdated();
+            }
+        }
+
+        highWaterMark = mark;
+        lastRefreshNanos = now;
+        loaded = true;
+        refreshCount++;
+        rowsApplied += updates.size();
+        return updates.size();
+    }
+
+    /**
+     * Recarrega a cópia inteira agora. Usado depois de excluir preços, que a busca incremental não enxerga.
+     */
+    public synchronized int reload() {
+        reloadRequested = true;
+        return refresh();
+    }
+
+    private void ensureFresh() {
+        if (isStale()) {
+            synchronized (this) {
+                // Outra thread pode ter atualizado enquanto esta esperava o lock
+                if (isStale()) {
+                    refreshQuietly();
+                }
+            }
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                failures++;
+            }
+            // O DAO já reportou o erro; a cópia continua com os últimos preços e fica marcada como defasada
+        }
+    }
+
+    public synchronized void printStatus() {
+        System.out.printf("💹 Snapshot de preços: %d símbolo(s) | defasagem=%s | marca=%s | atualizações=%d | " +
+                        "linhas aplicadas=%d | falhas=%d%n",
+                prices.size(), loaded ? getStalenessMillis() + "ms" : "sem carga", highWaterMark,
+                refreshCount, rowsApplied, failures);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
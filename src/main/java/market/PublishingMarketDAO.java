@@ -0,0 +1,86 @@
+package market;
+
+import dao.BatchResult;
+import dao.MarketDAO;
+import dao.PriceUpdate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repassa tudo ao DAO de mercado e avisa os {@link PriceListener} de cada preço salvo (histórico,
+ * candles), já que a tabela market só mantém o último valor de cada símbolo. Preços que o DAO recusou
+ * não são repassados.
+ */
+public class PublishingMarketDAO implements MarketDAO {
+
+    private final MarketDAO delegate;
+    private final List<PriceListener> listeners;
+
+    public PublishingMarketDAO(MarketDAO delegate, List<PriceListener> listeners) {
+        this.delegate = delegate;
+        this.listeners = List.copyOf(listeners);
+    }
+
+    public MarketDAO getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean save(String symbol, double price) {
+        boolean saved = delegate.save(symbol, price);
+        if (saved) {
+            publish(symbol, System.currentTimeMillis(), price);
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean saveTick(String symbol, double price) {
+        boolean saved = delegate.saveTick(symbol, price);
+        if (saved) {
+            publish(symbol, System.currentTimeMillis(), price);
+        }
+        return saved;
+    }
+
+    @Override
+    public BatchResult saveAll(Map<String, Double> prices, int batchSize) {
+        BatchResult result = delegate.saveAll(prices, batchSize);
+        long now = System.currentTimeMillis();
+        int row = 0;
+        for (Map.Entry<String, Double> entry : prices.entrySet()) {
+            if (result.isSuccess(row++)) {
+                publish(entry.getKey(), now, entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private void publish(String symbol, long timestampMillis, double price) {
+        for (PriceListener listener : listeners) {
+            listener.onPrice(symbol, timestampMillis, price);
+        }
+    }
+
+    @Override
+    public Double getPrice(String symbol) {
+        return delegate.getPrice(symbol);
+    }
+
+    @Override
+    public Map<String, Double> getAllPrices() {
+        return delegate.getAllPrices();
+    }
+
+    @Override
+    public List<PriceUpdate> findUpdatedSince(LocalDateTime since) {
+        return delegate.findUpdatedSince(since);
+    }
+
+    @Override
+    public void delete(String symbol) {
+        delegate.delete(symbol);
+    }
+}
@@ -0,0 +1,54 @@
+package market;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * Parâmetros de um símbolo no {@link MarketSimulator}.
+ *
+ * @param drift      retorno esperado anual (0.1 = +10% ao ano)
+ * @param volatility desvio padrão anual dos retornos (0.8 = 80% ao ano)
+ */
+public record SimulatedSymbol(String symbol, double initialPrice, double drift, double volatility) {
+
+    public SimulatedSymbol {
+        if (initialPrice <= 0 || volatility < 0) {
+            throw new IllegalArgumentException("Parâmetros inválidos para " + symbol
+                    + ": preço=" + initialPrice + ", volatilidade=" + volatility);
+        }
+    }
+
+    /**
+     * Gera {@code count} símbolos SIM00000, SIM00001... com preço, drift e volatilidade sorteados a
+     * partir da semente (a mesma semente gera sempre os mesmos símbolos).
+     */
+    public static List<SimulatedSymbol> generate(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<SimulatedSymbol> symbols = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double price = Math.max(0.01, Math.round(Math.exp(random.nextDouble(-2, 11)) * 100.0) / 100.0);
+            symbols.add(new SimulatedSymbol(String.format("SIM%05d", i), price,
+                    random.nextDouble(-0.1, 0.3), random.nextDouble(0.2, 1.2)));
+        }
+        return symbols;
+    }
+
+    /**
+     * Símbolos a partir de preços existentes (ex.: a tabela market), com drift e volatilidade sorteados.
+     */
+    public static List<SimulatedSymbol> fromPrices(Map<String, Double> prices, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<SimulatedSymbol> symbols = new ArrayList<>(prices.size());
+        // Ordem fixa para que a semente reproduza os mesmos parâmetros
+        for (Map.Entry<String, Double> entry : new TreeMap<>(prices).entrySet()) {
+            if (entry.getValue() != null && entry.getValue() > 0) {
+                symbols.add(new SimulatedSymbol(entry.getKey(), entry.getValue(),
+                        random.nextDouble(-0.1, 0.3), random.nextDouble(0.2, 1.2)));
+            }
+        }
+        return symbols;
+    }
+}
@@ -0,0 +1,71 @@
+package market;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Associa cada símbolo a um ID inteiro denso (0, 1, 2...), usado como índice nos arrays do
+ * {@link PriceEngine}. IDs nunca são reaproveitados nem removidos.
+ *
+ * A busca por símbolo não trava nem aloca; só {@link #intern} (raro, quando surge um símbolo novo)
+ * é sincronizado.
+ */
+public final class SymbolTable {
+
+    public static final int NOT_FOUND = -1;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] symbols;
+    private volatile int size;
+
+    public SymbolTable() {
+        this(16);
+    }
+
+    public SymbolTable(int initialCapacity) {
+        this.symbols = new String[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * @return o ID do símbolo, ou {@link #NOT_FOUND}
+     */
+    public int idOf(String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : NOT_FOUND;
+    }
+
+    /**
+     * Devolve o ID do símbolo, criando um novo se ele ainda não existir.
+     */
+    public int intern(String symbol) {
+        int id = idOf(symbol);
+        return id != NOT_FOUND ? id : register(symbol);
+    }
+
+    private synchronized int register(String symbol) {
+        Integer existing = ids.get(symbol);
+        if (existing != null) {
+            return existing;
+        }
+        int id = size;
+        if (id == symbols.length) {
+            symbols = Arrays.copyOf(symbols, id * 2);
+        }
+        // O nome fica visível antes do ID: quem achou o ID no mapa sempre encontra o símbolo
+        symbols[id] = symbol;
+        size = id + 1;
+        ids.put(symbol, id);
+        return id;
+    }
+
+    public String symbolOf(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("ID de símbolo inválido: " + id);
+        }
+        return symbols[id];
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,71 @@
+package model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Barra OHLCV de um símbolo: preços de abertura, máxima, mínima e fechamento no período e o volume
+ * negociado (soma das quantidades das transações).
+ */
+public class Candle {
+    private final String symbol;
+    private final CandleResolution resolution;
+    private final LocalDateTime startTime;
+    private final double open;
+    private final double high;
+    private final double low;
+    private final double close;
+    private final double volume;
+
+    public Candle(String symbol, CandleResolution resolution, LocalDateTime startTime,
+                  double open, double high, double low, double close, double volume) {
+        this.symbol = symbol;
+        this.resolution = resolution;
+        this.startTime = startTime;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public CandleResolution getResolution() {
+        return resolution;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return startTime.plusNanos(resolution.getMillis() * 1_000_000L);
+    }
+
+    public double getOpen() {
+        return open;
+    }
+
+    public double getHigh() {
+        return high;
+    }
+
+    public double getLow() {
+        return low;
+    }
+
+    public double getClose() {
+        return close;
+    }
+
+    public double getVolume() {
+        return volume;
+    }
+
+    public void showCandle() {
+        System.out.printf("[%s %s] %s O=%.2f H=%.2f L=%.2f C=%.2f V=%.4f%n",
+                resolution.getCode(), startTime, symbol, open, high, low, close, volume);
+    }
+}
@@ -0,0 +1,36 @@
+package model;
+
+/**
+ * Períodos de agregação dos candles. O código curto é o gravado na coluna candle.resolution.
+ */
+public enum CandleResolution {
+    ONE_MINUTE("1m", 60_000L),
+    FIVE_MINUTES("5m", 5 * 60_000L),
+    ONE_HOUR("1h", 60 * 60_000L),
+    ONE_DAY("1d", 24 * 60 * 60_000L);
+
+    private final String code;
+    private final long millis;
+
+    CandleResolution(String code, long millis) {
+        this.code = code;
+        this.millis = millis;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public static CandleResolution fromCode(String code) {
+        for (CandleResolution resolution : values()) {
+            if (resolution.code.equalsIgnoreCase(code.trim())) {
+                return resolution;
+            }
+        }
+        throw new IllegalArgumentException("Resolução de candle inválida: " + code + " (use 1m, 5m, 1h ou 1d)");
+    }
+}
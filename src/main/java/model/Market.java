@@ -1,39 +1,53 @@
 package model;
-import java.util.*;
 
+import market.PriceEngine;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Preços simulados do mercado, guardados em um {@link PriceEngine} (seguro para várias threads).
+ */
 public class Market {
-    private Map<String, Double> prices;
+    private final PriceEngine engine;
 
     public Market() {
-        prices = new HashMap<>();
+        this(new PriceEngine());
         initializePrices();
     }
 
+    public Market(PriceEngine engine) {
+        this.engine = engine;
+    }
+
     private void initializePrices() {
-        prices.put("BTC", 65000.0);
-        prices.put("ETH", 3200.0);
-        prices.put("ADA", 0.45);
-        prices.put("SOL", 150.0);
+        engine.register("BTC", 65000.0);
+        engine.register("ETH", 3200.0);
+        engine.register("ADA", 0.45);
+        engine.register("SOL", 150.0);
     }
 
     public void updatePrices() {
-        Random rand = new Random();
-        for (String symbol : prices.keySet()) {
-            double variation = (rand.nextDouble() * 2 - 1) * 0.05;
-            double currentPrice = prices.get(symbol);
+        engine.updateAll((symbolId, currentPrice) -> {
+            double variation = (ThreadLocalRandom.current().nextDouble() * 2 - 1) * 0.05;
             double newPrice = currentPrice + (currentPrice * variation);
-            prices.put(symbol, Math.round(newPrice * 100.0) / 100.0);
-        }
+            return Math.round(newPrice * 100.0) / 100.0;
+        });
     }
 
     public double getPrice(String symbol) {
-        return prices.getOrDefault(symbol, 0.0);
+        double price = engine.getPrice(symbol);
+        return Double.isNaN(price) ? 0.0 : price;
+    }
+
+    public PriceEngine getEngine() {
+        return engine;
     }
 
     public void showPrices() {
         System.out.println("=== MARKET PRICES ===");
-        for (String symbol : prices.keySet()) {
-            System.out.println(symbol + ": $" + prices.get(symbol));
+        double[] prices = engine.snapshot();
+        for (int id = 0; id < prices.length; id++) {
+            System.out.println(engine.getSymbols().symbolOf(id) + ": $" + prices[id]);
         }
     }
-}
\ No newline at end of file
+}
@@ -2,22 +2,40 @@ package model;
 import java.time.LocalDateTime;
 
 public class Transaction {
+    private int id;
     private CryptoAsset asset;
     private double amount;
+    // Preço unitário na execução; NaN quando não foi registrado (transações antigas)
+    private double price;
     private String type;
     private LocalDateTime timestamp;
+    private int userId;
 
     public Transaction(CryptoAsset asset, double amount, String type) {
         this.asset = asset;
         this.amount = amount;
+        this.price = asset.getPrice();
         this.type = type.toUpperCase();
         this.timestamp = LocalDateTime.now();
     }
 
+    public Transaction(CryptoAsset asset, double amount, String type, int userId) {
+        this(asset, amount, type);
+        this.userId = userId;
+    }
+
     public void showTransaction() {
         System.out.println("[" + timestamp + "] " + type + " " + amount + " of " + asset.getSymbol());
     }
 
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public CryptoAsset getAsset() {
         return asset;
     }
@@ -26,6 +44,14 @@ public class Transaction {
         return amount;
     }
 
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
     public String getType() {
         return type;
     }
@@ -33,4 +59,16 @@ public class Transaction {
     public LocalDateTime getTimestamp() {
         return timestamp;
     }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
 }
\ No newline at end of file
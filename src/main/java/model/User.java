@@ -1,9 +1,10 @@
 package model;
 
-import db.OracleConnection;
+import dao.DAOFactory;
+import dao.Page;
+import dao.UserDAO;
+import dao.UserWriteResult;
 
-import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 
 public class User extends Entity {
@@ -32,238 +33,88 @@ public class User extends Entity {
     }
 
     // ===================== MÉTODOS DE INTEGRAÇÃO COM DB =====================
+    // Delegam para o UserDAO do backend de armazenamento escolhido na inicialização
+
+    private static UserDAO dao() {
+        return DAOFactory.getInstance().getUserDAO();
+    }
 
     /**
      * Verifica se um usuário com o ID especificado já existe no banco
      */
     public static boolean existsById(int id) {
-        String sql = "SELECT COUNT(*) FROM users WHERE id = ?";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao verificar existência do usuário por ID: " + e.getMessage());
-        }
-        return false;
+        return dao().existsById(id);
     }
 
     /**
      * Verifica se um usuário com o email especificado já existe no banco
      */
     public static boolean existsByEmail(String email) {
-        String sql = "SELECT COUNT(*) FROM users WHERE email = ?";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, email);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao verificar existência do usuário por email: " + e.getMessage());
-        }
-        return false;
+        return dao().existsByEmail(email);
     }
 
     /**
      * Gera o próximo ID disponível automaticamente
      */
     public static int getNextAvailableId() {
-        String sql = "SELECT NVL(MAX(id), 0) + 1 FROM users";
-        try (Connection conn = OracleConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao buscar próximo ID: " + e.getMessage());
-        }
-        return 1; // Retorna 1 se houver erro
+        return dao().getNextAvailableId();
     }
 
     /**
-     * Inserir usuário no banco com verificações de duplicidade
+     * Inserir usuário no banco; duplicidade de ID ou email vem no resultado
      */
-    public void insert() {
-        // Verificar se já existe usuário com mesmo ID
-        if (existsById(this.id)) {
-            System.err.println("⚠️ Usuário com ID " + this.id + " já existe. Gerando novo ID...");
-            this.id = getNextAvailableId();
-            System.out.println("ℹ️ Novo ID gerado: " + this.id);
-        }
-
-        // Verificar se já existe usuário com mesmo email
-        if (existsByEmail(this.email)) {
-            System.err.println("❌ Usuário com email '" + this.email + "' já existe. Inserção cancelada.");
-            return;
-        }
-
-        String sql = "INSERT INTO users (id, name, email, password) VALUES (?, ?, ?, ?)";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            stmt.setString(2, name);
-            stmt.setString(3, email);
-            stmt.setString(4, password);
-
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected > 0) {
-                System.out.println("✅ Usuário inserido com sucesso: " + name + " (ID: " + id + ")");
-            } else {
-                System.out.println("⚠️ Nenhuma linha foi inserida.");
-            }
-        } catch (SQLException e) {
-            if (e.getErrorCode() == 1) { // ORA-00001: unique constraint violated
-                System.err.println("❌ Erro de chave duplicada: " + e.getMessage());
-                System.err.println("💡 Verifique se o ID (" + id + ") ou email ('" + email + "') já existem no banco.");
-            } else {
-                System.err.println("❌ Erro ao inserir usuário: " + e.getMessage());
-            }
-        }
+    public UserWriteResult insert() {
+        return dao().insert(this);
     }
 
     /**
      * Inserir usuário com ID automático
      */
-    public void insertWithAutoId() {
-        this.id = getNextAvailableId();
-        insert();
+    public UserWriteResult insertWithAutoId() {
+        this.id = 0;
+        return insert();
     }
 
     /**
      * Atualizar dados do usuário
      */
-    public void update() {
-        if (!existsById(this.id)) {
-            System.err.println("❌ Usuário com ID " + this.id + " não existe. Não é possível atualizar.");
-            return;
-        }
-
-        String sql = "UPDATE users SET name = ?, email = ?, password = ? WHERE id = ?";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, name);
-            stmt.setString(2, email);
-            stmt.setString(3, password);
-            stmt.setInt(4, id);
-
-            int rows = stmt.executeUpdate();
-            if (rows > 0) {
-                System.out.println("✅ Usuário atualizado com sucesso: " + name + " (ID: " + id + ")");
-            } else {
-                System.out.println("⚠️ Nenhuma linha foi atualizada.");
-            }
-        } catch (SQLException e) {
-            if (e.getErrorCode() == 1) { // ORA-00001: unique constraint violated
-                System.err.println("❌ Erro: Email '" + email + "' já está sendo usado por outro usuário.");
-            } else {
-                System.err.println("❌ Erro ao atualizar usuário: " + e.getMessage());
-            }
-        }
+    public UserWriteResult update() {
+        return dao().update(this);
     }
 
     /**
      * Excluir usuário do banco
      */
-    public void delete() {
-        if (!existsById(this.id)) {
-            System.err.println("❌ Usuário com ID " + this.id + " não existe. Não é possível excluir.");
-            return;
-        }
-
-        String sql = "DELETE FROM users WHERE id = ?";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-
-            int rows = stmt.executeUpdate();
-            if (rows > 0) {
-                System.out.println("✅ Usuário excluído com sucesso: " + name + " (ID: " + id + ")");
-            } else {
-                System.out.println("⚠️ Nenhuma linha foi excluída.");
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao excluir usuário: " + e.getMessage());
-        }
+    public UserWriteResult delete() {
+        return dao().delete(this);
     }
 
     /**
      * Buscar usuário por ID
      */
     public static User findById(int id) {
-        String sql = "SELECT id, name, email, password FROM users WHERE id = ?";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return new User(
-                            rs.getString("name"),
-                            rs.getInt("id"),
-                            rs.getString("email"),
-                            rs.getString("password")
-                    );
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao buscar usuário por ID: " + e.getMessage());
-        }
-        return null;
+        return dao().findById(id);
     }
 
     /**
      * Buscar usuário por email
      */
     public static User findByEmail(String email) {
-        String sql = "SELECT id, name, email, password FROM users WHERE email = ?";
-        try (Connection conn = OracleConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, email);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return new User(
-                            rs.getString("name"),
-                            rs.getInt("id"),
-                            rs.getString("email"),
-                            rs.getString("password")
-                    );
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao buscar usuário por email: " + e.getMessage());
-        }
-        return null;
+        return dao().findByEmail(email);
     }
 
     /**
      * Recuperar todos os usuários do banco
      */
     public static List<User> getAllUsers() {
-        List<User> users = new ArrayList<>();
-        String sql = "SELECT id, name, email, password FROM users ORDER BY id";
-        try (Connection conn = OracleConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                User u = new User(
-                        rs.getString("name"),
-                        rs.getInt("id"),
-                        rs.getString("email"),
-                        rs.getString("password")
-                );
-                users.add(u);
-            }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao recuperar usuários: " + e.getMessage());
-        }
-        return users;
+        return dao().findAll();
+    }
+
+    /**
+     * Recuperar uma página de usuários, ordenada por ID
+     */
+    public static Page<User> getUsersPage(int pageSize, String pageToken) {
+        return dao().findAll(pageSize, pageToken);
     }
 
     /**
@@ -285,13 +136,6 @@ public class User extends Entity {
      * Limpar todos os usuários da tabela (usar com cuidado!)
      */
     public static void deleteAllUsers() {
-        String sql = "DELETE FROM users";
-        try (Connection conn = OracleConnection.getConnection();
-             Statement stmt = conn.createStatement()) {
-            int rows = stmt.executeUpdate(sql);
-            System.out.println("✅ " + rows + " usuário(s) excluído(s) da tabela.");
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao limpar tabela de usuários: " + e.getMessage());
-        }
+        dao().deleteAll();
     }
-}
\ No newline at end of file
+}
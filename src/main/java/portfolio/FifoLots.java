@@ -0,0 +1,143 @@
+package portfolio;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Lotes de compra de um símbolo em ordem de chegada (fila circular de quantidade e preço). A venda
+ * consome os lotes mais antigos primeiro. Lotes sem preço (NaN) contam na quantidade, mas ficam fora do
+ * custo e do lucro.
+ */
+final class FifoLots {
+
+    // Resto de lote abaixo disso é arredondamento da subtração, não posição
+    private static final double EPSILON = 1e-12;
+
+    private double[] quantities = new double[4];
+    private double[] prices = new double[4];
+    private int head;
+    private int size;
+
+    /**
+     * Quantidade vendida sem lote correspondente (vendas maiores que as compras registradas).
+     */
+    private double unmatched;
+
+    void buy(double quantity, double price) {
+        if (size == quantities.length) {
+            quantities = unwrap(quantities, quantities.length * 2);
+            prices = unwrap(prices, prices.length * 2);
+            head = 0;
+        }
+        int tail = (head + size) % quantities.length;
+        quantities[tail] = quantity;
+        prices[tail] = price;
+        size++;
+    }
+
+    /**
+     * Consome os lotes mais antigos.
+     *
+     * @return lucro realizado (preço de venda menos o custo de cada lote consumido)
+     */
+    double sell(double quantity, double price) {
+        double remaining = quantity;
+        double realized = 0;
+        while (remaining > EPSILON && size > 0) {
+            double lot = quantities[head];
+            double used = Math.min(lot, remaining);
+            double cost = prices[head];
+            if (!Double.isNaN(cost) && !Double.isNaN(price)) {
+                realized += (price - cost) * used;
+            }
+            remaining -= used;
+            if (lot - used > EPSILON) {
+                quantities[head] = lot - used;
+            } else {
+                head = (head + 1) % quantities.length;
+                size--;
+            }
+        }
+        if (remaining > EPSILON) {
+            unmatched += remaining;
+        }
+        return realized;
+    }
+
+    double getQuantity() {
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += quantities[(head + i) % quantities.length];
+        }
+        return total;
+    }
+
+    /**
+     * Custo dos lotes com preço.
+     */
+    double getCostBasis() {
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % quantities.length;
+            if (!Double.isNaN(prices[index])) {
+                total += quantities[index] * prices[index];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Quantidade dos lotes com preço (a parte que entra no lucro não realizado).
+     */
+    double getPricedQuantity() {
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % quantities.length;
+            if (!Double.isNaN(prices[index])) {
+                total += quantities[index];
+            }
+        }
+        return total;
+    }
+
+    double getUnmatched() {
+        return unmatched;
+    }
+
+    int getLotCount() {
+        return size;
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeDouble(unmatched);
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % quantities.length;
+            out.writeDouble(quantities[index]);
+            out.writeDouble(prices[index]);
+        }
+    }
+
+    static FifoLots read(DataInput in) throws IOException {
+        FifoLots lots = new FifoLots();
+        lots.unmatched = in.readDouble();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("quantidade de lotes inválida: " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            lots.buy(in.readDouble(), in.readDouble());
+        }
+        return lots;
+    }
+
+    private double[] unwrap(double[] ring, int capacity) {
+        double[] result = Arrays.copyOf(ring, capacity);
+        for (int i = 0; i < size; i++) {
+            result[i] = ring[(head + i) % ring.length];
+        }
+        return result;
+    }
+}
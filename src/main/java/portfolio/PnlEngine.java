@@ -0,0 +1,324 @@
+package portfolio;
+
+import config.AppConfig;
+import dao.TransactionDAO;
+import model.Transaction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Lucro/prejuízo pelo método FIFO: as compras de cada usuário viram lotes (quantidade e preço de
+ * execução) e cada venda consome os lotes mais antigos, acumulando o lucro realizado. O não realizado é
+ * calculado na consulta, com os lotes restantes contra o preço atual.
+ *
+ * Cada usuário guarda a chave (data/hora, ID) da última transação aplicada; {@link #refresh} lê as
+ * transações do usuário da mais recente para a mais antiga e para na primeira já aplicada, então só as
+ * novas são processadas. O estado é gravado em PNL_CHECKPOINT_FILE ({@link #checkpoint()}) e recarregado
+ * na abertura: mesmo depois de reiniciar, o histórico não é relido desde o início. Transações gravadas
+ * com data/hora anterior à última aplicada (ou excluídas depois de aplicadas) só entram com {@link #rebuild}.
+ */
+public class PnlEngine {
+
+    public static final String DEFAULT_CHECKPOINT_FILE = AppConfig.get("PNL_CHECKPOINT_FILE", "pnl-checkpoint.dat");
+
+    private static final int MAGIC = 0x564F4C50; // "VOLP"
+    private static final int FORMAT_VERSION = 1;
+
+    private final TransactionDAO transactionDAO;
+    private final Path checkpointFile;
+    private final Map<Integer, UserState> users = new HashMap<>();
+    private long appliedTransactions;
+
+    private PnlEngine(TransactionDAO transactionDAO, Path checkpointFile) {
+        this.transactionDAO = transactionDAO;
+        this.checkpointFile = checkpointFile;
+    }
+
+    public static PnlEngine open(TransactionDAO transactionDAO) {
+        return open(transactionDAO, Path.of(DEFAULT_CHECKPOINT_FILE));
+    }
+
+    /**
+     * Abre o motor carregando o checkpoint, se existir. Checkpoint ilegível é descartado (os usuários
+     * são recalculados do início na primeira consulta).
+     */
+    public static PnlEngine open(TransactionDAO transactionDAO, Path checkpointFile) {
+        PnlEngine engine = new PnlEngine(transactionDAO, checkpointFile);
+        if (Files.exists(checkpointFile)) {
+            try {
+                engine.load();
+            } catch (IOException e) {
+                engine.users.clear();
+                System.err.println("⚠️ Checkpoint de lucro/prejuízo ignorado (" + checkpointFile + "): " + e.getMessage());
+            }
+        }
+        return engine;
+    }
+
+    // ===================== ATUALIZAÇÃO =====================
+
+    /**
+     * Aplica as transações do usuário ainda não processadas.
+     *
+     * @return quantidade de transações aplicadas
+     * @throws dao.UncheckedSQLException se a leitura falhar; nesse caso nenhuma transação é aplicada
+     */
+    public synchronized int refresh(int userId) {
+        UserState state = users.computeIfAbsent(userId, id -> new UserState());
+        List<Transaction> pending = new ArrayList<>();
+        try (Stream<Transaction> newestFirst = transactionDAO.streamByUserId(userId)) {
+            Iterator<Transaction> cursor = newestFirst.iterator();
+            while (cursor.hasNext()) {
+                Transaction transaction = cursor.next();
+                if (!state.isAfterLast(transaction)) {
+                    break;
+                }
+                pending.add(transaction);
+            }
+        }
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            apply(state, pending.get(i));
+        }
+        return pending.size();
+    }
+
+    /**
+     * Aplica uma transação nova do usuário. Transações já aplicadas (chave menor ou igual à última)
+     * são ignoradas.
+     *
+     * @return {@code false} se a transação foi ignorada
+     */
+    public synchronized boolean apply(Transaction transaction) {
+        return apply(users.computeIfAbsent(transaction.getUserId(), id -> new UserState()), transaction);
+    }
+
+    /**
+     * Descarta o estado do usuário e reaplica todo o histórico.
+     */
+    public synchronized int rebuild(int userId) {
+        users.remove(userId);
+        return refresh(userId);
+    }
+
+    private boolean apply(UserState state, Transaction transaction) {
+        if (!state.isAfterLast(transaction)) {
+            return false;
+        }
+        String symbol = transaction.getAsset().getSymbol();
+        SymbolState position = state.symbols.computeIfAbsent(symbol, s -> new SymbolState(new FifoLots()));
+        if ("BUY".equals(transaction.getType())) {
+            position.lots.buy(transaction.getAmount(), transaction.getPrice());
+        } else {
+            position.realized += position.lots.sell(transaction.getAmount(), transaction.getPrice());
+        }
+        state.lastTimestamp = transaction.getTimestamp();
+        state.lastId = transaction.getId();
+        appliedTransactions++;
+        return true;
+    }
+
+    // ===================== CONSULTA =====================
+
+    /**
+     * Lucro/prejuízo do usuário por símbolo, em ordem alfabética, com o não realizado calculado pelos
+     * preços de {@code prices} (símbolo sem preço fica com não realizado zero).
+     */
+    public synchronized List<SymbolPnl> getPositions(int userId, Function<String, Double> prices) {
+        List<SymbolPnl> result = new ArrayList<>();
+        UserState state = users.get(userId);
+        if (state == null) {
+            return result;
+        }
+        new TreeMap<>(state.symbols).forEach((symbol, position) -> {
+            FifoLots lots = position.lots;
+            Double price = prices.apply(symbol);
+            double costBasis = lots.getCostBasis();
+            double marketValue = price != null ? lots.getPricedQuantity() * price : Double.NaN;
+            double unrealized = price != null ? marketValue - costBasis : 0;
+            result.add(new SymbolPnl(symbol, lots.getQuantity(), costBasis, marketValue, position.realized,
+                    unrealized, lots.getUnmatched()));
+        });
+        return result;
+    }
+
+    public synchronized double getRealized(int userId) {
+        UserState state = users.get(userId);
+        if (state == null) {
+            return 0;
+        }
+        double total = 0;
+        for (SymbolState position : state.symbols.values()) {
+            total += position.realized;
+        }
+        return total;
+    }
+
+    public double getUnrealized(int userId, Function<String, Double> prices) {
+        double total = 0;
+        for (SymbolPnl position : getPositions(userId, prices)) {
+            total += position.unrealized();
+        }
+        return total;
+    }
+
+    public synchronized boolean isTracked(int userId) {
+        return users.containsKey(userId);
+    }
+
+    public void printReport(int userId, Function<String, Double> prices) {
+        List<SymbolPnl> positions = getPositions(userId, prices);
+        System.out.println("=== LUCRO/PREJUÍZO (FIFO) ===");
+        if (positions.isEmpty()) {
+            System.out.println("Nenhuma transação encontrada.");
+            return;
+        }
+        double realized = 0;
+        double unrealized = 0;
+        for (SymbolPnl position : positions) {
+            System.out.printf("- %s: %.4f un. | custo $%.2f | mercado %s | realizado $%.2f | não realizado $%.2f%s%n",
+                    position.symbol(), position.quantity(), position.costBasis(),
+                    Double.isNaN(position.marketValue()) ? "sem preço" : String.format("$%.2f", position.marketValue()),
+                    position.realized(), position.unrealized(),
+                    position.unmatchedQuantity() > 0
+                            ? String.format(" | ⚠️ %.4f vendido(s) sem compra registrada", position.unmatchedQuantity())
+                            : "");
+            realized += position.realized();
+            unrealized += position.unrealized();
+        }
+        System.out.printf("Total: realizado $%.2f | não realizado $%.2f%n", realized, unrealized);
+    }
+
+    public synchronized void printStats() {
+        System.out.printf("📒 Lucro/prejuízo: %d usuário(s) em memória | %d transação(ões) aplicadas nesta execução%n",
+                users.size(), appliedTransactions);
+    }
+
+    // ===================== CHECKPOINT =====================
+
+    /**
+     * Grava o estado de todos os usuários num arquivo temporário e o move sobre o checkpoint, então
+     * uma queda no meio da gravação mantém o checkpoint anterior.
+     */
+    public synchronized void checkpoint() throws IOException {
+        Path parent = checkpointFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, checkpointFile.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(users.size());
+                for (Map.Entry<Integer, UserState> entry : users.entrySet()) {
+                    UserState state = entry.getValue();
+                    out.writeInt(entry.getKey());
+                    out.writeBoolean(state.lastTimestamp != null);
+                    if (state.lastTimestamp != null) {
+                        out.writeLong(state.lastTimestamp.toEpochSecond(ZoneOffset.UTC));
+                        out.writeInt(state.lastTimestamp.getNano());
+                        out.writeInt(state.lastId);
+                    }
+                    out.writeInt(state.symbols.size());
+                    for (Map.Entry<String, SymbolState> symbol : state.symbols.entrySet()) {
+                        out.writeUTF(symbol.getKey());
+                        out.writeDouble(symbol.getValue().realized);
+                        symbol.getValue().lots.write(out);
+                    }
+                }
+                // O CRC cobre tudo o que foi escrito antes dele
+                out.writeLong(crc.getValue());
+            }
+            Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void load() throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(checkpointFile)), crc))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("arquivo não é um checkpoint de lucro/prejuízo");
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("versão " + version + " não suportada");
+            }
+            int userCount = in.readInt();
+            for (int u = 0; u < userCount; u++) {
+                int userId = in.readInt();
+                UserState state = new UserState();
+                if (in.readBoolean()) {
+                    long seconds = in.readLong();
+                    int nanos = in.readInt();
+                    state.lastTimestamp = LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+                    state.lastId = in.readInt();
+                }
+                int symbolCount = in.readInt();
+                for (int s = 0; s < symbolCount; s++) {
+                    String symbol = in.readUTF();
+                    double realized = in.readDouble();
+                    SymbolState position = new SymbolState(FifoLots.read(in));
+                    position.realized = realized;
+                    state.symbols.put(symbol, position);
+                }
+                users.put(userId, state);
+            }
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("checksum inválido");
+            }
+        }
+    }
+
+    /**
+     * Estado de um usuário: lotes e lucro realizado por símbolo, mais a chave da última transação aplicada.
+     */
+    private static final class UserState {
+        private final Map<String, SymbolState> symbols = new HashMap<>();
+        private LocalDateTime lastTimestamp;
+        private int lastId;
+
+        /**
+         * Mesma ordem de {@link TransactionDAO#findByUserId}: data/hora e, no empate, ID.
+         */
+        private boolean isAfterLast(Transaction transaction) {
+            if (lastTimestamp == null) {
+                return true;
+            }
+            int byTime = transaction.getTimestamp().compareTo(lastTimestamp);
+            return byTime > 0 || (byTime == 0 && transaction.getId() > lastId);
+        }
+    }
+
+    private static final class SymbolState {
+        private final FifoLots lots;
+        private double realized;
+
+        private SymbolState(FifoLots lots) {
+            this.lots = lots;
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package portfolio;
+
+import config.AppConfig;
+import dao.PortfolioSnapshot;
+import market.PriceListener;
+import market.SymbolTable;
+import model.CryptoAsset;
+import model.Wallet;
+
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Valor corrente de cada carteira e de cada usuário, mantido incrementalmente.
+ *
+ * Cada símbolo tem a lista das carteiras que o possuem (índice reverso símbolo -> carteiras, com a
+ * quantidade). Quando o preço muda, só essas carteiras são atualizadas, somando
+ * {@code quantidade * (novo - antigo)} ao total da carteira e do dono: O(detentores do símbolo) por tick,
+ * sem percorrer todas as carteiras nem recalcular {@code quantidade * preço} de cada ativo.
+ *
+ * Somas incrementais acumulam erro de arredondamento; a cada PORTFOLIO_RECOMPUTE_EVERY ticks os totais
+ * são recalculados do zero. Símbolos sem preço conhecido valem zero.
+ *
+ * Cada preço guarda o horário do tick que o trouxe: {@link #load} não troca por um preço do snapshot
+ * um tick que chegou depois da leitura do snapshot.
+ */
+public class PortfolioValuator implements PriceListener {
+
+    private static final long RECOMPUTE_EVERY = AppConfig.getLong("PORTFOLIO_RECOMPUTE_EVERY", 100_000);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SymbolTable symbols = new SymbolTable();
+
+    // Por símbolo (índice = ID na SymbolTable)
+    private double[] prices = new double[16];
+    private long[] priceTimes = new long[16];
+    private Holders[] holders = new Holders[16];
+
+    // Por carteira (índice = slot; slots de carteiras removidas são reaproveitados)
+    private final HashMap<Integer, Integer> slotByWalletId = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private int[] walletIds = new int[16];
+    private int[] walletUserSlot = new int[16];
+    private double[] walletValue = new double[16];
+    private final List<HashMap<Integer, Integer>> walletPositions = new ArrayList<>();
+    private int walletSlots;
+
+    // Por usuário (slot liberado quando a última carteira do usuário é removida)
+    private final HashMap<Integer, Integer> userSlotById = new HashMap<>();
+    private final ArrayDeque<Integer> freeUserSlots = new ArrayDeque<>();
+    private int[] userIds = new int[16];
+    private double[] userValue = new double[16];
+    private int[] userWallets = new int[16];
+    private int userSlots;
+
+    private long ticks;
+    private long ticksSinceRecompute;
+    private long positions;
+
+    public PortfolioValuator() {
+        Arrays.fill(prices, Double.NaN);
+    }
+
+    /**
+     * Carrega as carteiras, posições e preços de um {@link PortfolioSnapshot} (lido em poucas consultas por
+     * {@link dao.PortfolioDAO}), numa única aquisição da trava. Preços recebidos por tick depois de
+     * {@link PortfolioSnapshot#readAt()} são mantidos.
+     *
+     * @return número de carteiras carregadas
+     */
+    public int load(PortfolioSnapshot snapshot) {
+        long readAt = snapshot.readAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            snapshot.prices().forEach((symbol, price) -> {
+                int id = symbolId(symbol);
+                if (priceTimes[id] < readAt) {
+                    prices[id] = price;
+                }
+            });
+            for (Wallet wallet : snapshot.wallets()) {
+                walletSlot(wallet.getId(), wallet.getUserId());
+                for (CryptoAsset asset : wallet.getAssets()) {
+                    // Sem cotação na tabela market vale o preço do cadastro do ativo, como no snapshot
+                    int id = symbolId(asset.getSymbol());
+                    if (Double.isNaN(prices[id])) {
+                        prices[id] = asset.getPrice();
+                    }
+                    setHolding(wallet.getId(), wallet.getUserId(), asset.getSymbol(), asset.getQuantity());
+                }
+            }
+            recomputeLocked();
+            return snapshot.wallets().size();
+        } finally {
+            write.unlock();
+        }
+    }
+
+    // ===================== PREÇOS =====================
+
+    @Override
+    public void onPrice(String symbol, long timestampMillis, double price) {
+        updatePrice(symbol, timestampMillis, price);
+    }
+
+    /**
+     * Aplica o novo preço às carteiras que possuem o símbolo.
+     */
+    public void updatePrice(String symbol, double price) {
+        updatePrice(symbol, System.currentTimeMillis(), price);
+    }
+
+    private void updatePrice(String symbol, long timestampMillis, double price) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            int id = symbolId(symbol);
+            double delta = price - valueOf(prices[id]);
+            Holders list = holders[id];
+            if (list != null && delta != 0) {
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.walletSlots[i];
+                    double change = list.quantities[i] * delta;
+                    walletValue[slot] += change;
+                    userValue[walletUserSlot[slot]] += change;
+                }
+            }
+            prices[id] = price;
+            priceTimes[id] = Math.max(priceTimes[id], timestampMillis);
+            ticks++;
+            if (++ticksSinceRecompute >= RECOMPUTE_EVERY) {
+                recomputeLocked();
+            }
+        } finally {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Aplica vários preços de uma vez (ex.: carga inicial).
+     */
+    public void updatePrices(Map<String, Double> newPrices) {
+        newPrices.forEach(this::updatePrice);
+    }
+
+    // ===================== POSIÇÕES =====================
+
+    /**
+     * Registra a carteira (com valor zero) se ainda não existir.
+     */
+    public void addWallet(int walletId, int userId) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            walletSlot(walletId, userId);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Define a quantidade do símbolo na carteira ({@code 0} remove a posição). A carteira é criada se
+     * ainda não existir.
+     */
+    public void setHolding(int walletId, int userId, String symbol, double quantity) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            int slot = walletSlot(walletId, userId);
+            int id = symbolId(symbol);
+            double price = valueOf(prices[id]);
+            HashMap<Integer, Integer> walletHoldings = walletPositions.get(slot);
+            Integer position = walletHoldings.get(id);
+            double previous = 0;
+            if (position != null) {
+                previous = holders[id].quantities[position];
+                if (quantity == 0) {
+                    removePosition(slot, id, position);
+                } else {
+                    holders[id].quantities[position] = quantity;
+                }
+            } else if (quantity != 0) {
+                Holders list = holders[id] != null ? holders[id] : (holders[id] = new Holders());
+                walletHoldings.put(id, list.add(slot, quantity));
+                positions++;
+            }
+            double change = (quantity - previous) * price;
+            walletValue[slot] += change;
+            userValue[walletUserSlot[slot]] += change;
+        } finally {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Atualiza a posição a partir da quantidade de uma carteira já conhecida (ex.: saldo após uma compra).
+     *
+     * @return {@code false} se a carteira ainda não foi carregada
+     */
+    public boolean updateHolding(int walletId, String symbol, double quantity) {
+        Integer userId = getWalletOwner(walletId);
+        if (userId == null) {
+            return false;
+        }
+        setHolding(walletId, userId, symbol, quantity);
+        return true;
+    }
+
+    public void removeWallet(int walletId) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            Integer slot = slotByWalletId.remove(walletId);
+            if (slot == null) {
+                return;
+            }
+            HashMap<Integer, Integer> walletHoldings = walletPositions.get(slot);
+            for (Integer id : walletHoldings.keySet().toArray(new Integer[0])) {
+                removePosition(slot, id, walletHoldings.get(id));
+            }
+            int userSlot = walletUserSlot[slot];
+            userValue[userSlot] -= walletValue[slot];
+            walletValue[slot] = 0;
+            walletIds[slot] = 0;
+            freeSlots.push(slot);
+            if (--userWallets[userSlot] == 0) {
+                // Sem carteiras o usuário volta a ser desconhecido (getUserValue devolve null)
+                userSlotById.remove(userIds[userSlot]);
+                userValue[userSlot] = 0;
+                freeUserSlots.push(userSlot);
+            }
+        } finally {
+            write.unlock();
+        }
+    }
+
+    // Chamados com a trava de escrita
+
+    private int symbolId(String symbol) {
+        int id = symbols.intern(symbol);
+        if (id >= prices.length) {
+            int length = Math.max(id + 1, prices.length * 2);
+            int previous = prices.length;
+            prices = Arrays.copyOf(prices, length);
+            Arrays.fill(prices, previous, length, Double.NaN);
+            priceTimes = Arrays.copyOf(priceTimes, length);
+            holders = Arrays.copyOf(holders, length);
+        }
+        return id;
+    }
+
+    private int walletSlot(int walletId, int userId) {
+        Integer existing = slotByWalletId.get(walletId);
+        if (existing != null) {
+            return existing;
+        }
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+        } else {
+            slot = walletSlots++;
+            if (slot == walletIds.length) {
+                walletIds = Arrays.copyOf(walletIds, slot * 2);
+                walletUserSlot = Arrays.copyOf(walletUserSlot, slot * 2);
+                walletValue = Arrays.copyOf(walletValue, slot * 2);
+            }
+            walletPositions.add(new HashMap<>());
+        }
+        walletIds[slot] = walletId;
+        walletUserSlot[slot] = userSlot(userId);
+        userWallets[walletUserSlot[slot]]++;
+        walletValue[slot] = 0;
+        slotByWalletId.put(walletId, slot);
+        return slot;
+    }
+
+    private int userSlot(int userId) {
+        Integer existing = userSlotById.get(userId);
+        if (existing != null) {
+            return existing;
+        }
+        int slot;
+        if (!freeUserSlots.isEmpty()) {
+            slot = freeUserSlots.pop();
+        } else {
+            slot = userSlots++;
+            if (slot == userIds.length) {
+                userIds = Arrays.copyOf(userIds, slot * 2);
+                userValue = Arrays.copyOf(userValue, slot * 2);
+                userWallets = Arrays.copyOf(userWallets, slot * 2);
+            }
+        }
+        userIds[slot] = userId;
+        userValue[slot] = 0;
+        userSlotById.put(userId, slot);
+        return slot;
+    }
+
+    private void removePosition(int slot, int id, int position) {
+        Holders list = holders[id];
+        walletPositions.get(slot).remove(id);
+        int moved = list.removeAt(position);
+        if (moved >= 0) {
+            // A última posição da lista foi para o lugar da removida
+            walletPositions.get(moved).put(id, position);
+        }
+        positions--;
+    }
+
+    private void recomputeLocked() {
+        Arrays.fill(walletValue, 0, walletSlots, 0);
+        Arrays.fill(userValue, 0, userSlots, 0);
+        for (int id = 0; id < holders.length; id++) {
+            Holders list = holders[id];
+            if (list == null) {
+                continue;
+            }
+            double price = valueOf(prices[id]);
+            for (int i = 0; i < list.size; i++) {
+                walletValue[list.walletSlots[i]] += list.quantities[i] * price;
+            }
+        }
+        for (int slot = 0; slot < walletSlots; slot++) {
+            if (walletIds[slot] != 0) {
+                userValue[walletUserSlot[slot]] += walletValue[slot];
+            }
+        }
+        ticksSinceRecompute = 0;
+    }
+
+    private static double valueOf(double price) {
+        return Double.isNaN(price) ? 0 : price;
+    }
+
+    // ===================== CONSULTA =====================
+
+    /**
+     * @return valor da carteira, ou {@code null} se ela não foi carregada
+     */
+    public Double getWalletValue(int walletId) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            Integer slot = slotByWalletId.get(walletId);
+            return slot != null ? walletValue[slot] : null;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * @return soma das carteiras do usuário, ou {@code null} se ele não tem carteira carregada
+     */
+    public Double getUserValue(int userId) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            Integer slot = userSlotById.get(userId);
+            return slot != null ? userValue[slot] : null;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * IDs das carteiras carregadas do usuário, em ordem crescente.
+     */
+    public List<Integer> getUserWallets(int userId) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            Integer userSlot = userSlotById.get(userId);
+            List<Integer> result = new ArrayList<>();
+            if (userSlot != null) {
+                for (int slot = 0; slot < walletSlots; slot++) {
+                    if (walletIds[slot] != 0 && walletUserSlot[slot] == userSlot) {
+                        result.add(walletIds[slot]);
+                    }
+                }
+            }
+            result.sort(null);
+            return result;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    public Integer getWalletOwner(int walletId) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            Integer slot = slotByWalletId.get(walletId);
+            return slot != null ? userIds[walletUserSlot[slot]] : null;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Quantidade por símbolo da carteira, em ordem alfabética.
+     */
+    public Map<String, Double> getHoldings(int walletId) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            Map<String, Double> result = new TreeMap<>();
+            Integer slot = slotByWalletId.get(walletId);
+            if (slot != null) {
+                walletPositions.get(slot).forEach((id, position) ->
+                        result.put(symbols.symbolOf(id), holders[id].quantities[position]));
+            }
+            return result;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    public int getHolderCount(String symbol) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            int id = symbols.idOf(symbol);
+            return id != SymbolTable.NOT_FOUND && id < holders.length && holders[id] != null ? holders[id].size : 0;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Recalcula todos os totais a partir das posições e preços atuais.
+     */
+    public void recompute() {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            recomputeLocked();
+        } finally {
+            write.unlock();
+        }
+    }
+
+    public void printStatus() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            System.out.printf("💼 Avaliação de carteiras: %d carteira(s) | %d usuário(s) | %d posição(ões) | " +
+                            "%d símbolo(s) | %d tick(s) aplicados%n",
+                    slotByWalletId.size(), userSlotById.size(), positions, symbols.size(), ticks);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Carteiras que possuem um símbolo, com a quantidade de cada uma (arrays paralelos).
+     */
+    private static final class Holders {
+        private int[] walletSlots = new int[4];
+        private double[] quantities = new double[4];
+        private int size;
+
+        /**
+         * @return posição da carteira na lista
+         */
+        private int add(int walletSlot, double quantity) {
+            if (size == walletSlots.length) {
+                walletSlots = Arrays.copyOf(walletSlots, size * 2);
+                quantities = Arrays.copyOf(quantities, size * 2);
+            }
+            walletSlots[size] = walletSlot;
+            quantities[size] = quantity;
+            return size++;
+        }
+
+        /**
+         * Remove trocando com a última posição.
+         *
+         * @return slot da carteira que mudou de posição, ou -1 se a removida era a última
+         */
+        private int removeAt(int position) {
+            int last = --size;
+            if (position == last) {
+                return -1;
+            }
+            walletSlots[position] = walletSlots[last];
+            quantities[position] = quantities[last];
+            return walletSlots[position];
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package portfolio;
+
+/**
+ * Lucro/prejuízo de um usuário num símbolo.
+ *
+ * @param quantity          quantidade ainda em lotes abertos
+ * @param costBasis         custo FIFO dos lotes abertos com preço de execução conhecido
+ * @param marketValue       valor desses lotes ao preço atual, ou NaN se o símbolo não tem preço
+ * @param realized          lucro das vendas já casadas com lotes
+ * @param unrealized        {@code marketValue - costBasis}, ou zero sem preço atual
+ * @param unmatchedQuantity quantidade vendida sem compra registrada
+ */
+public record SymbolPnl(String symbol, double quantity, double costBasis, double marketValue, double realized,
+                        double unrealized, double unmatchedQuantity) {
+}
@@ -0,0 +1,129 @@
+package report;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * CSV (RFC 4180): cabeçalho com os nomes das colunas, separador vírgula, aspas só quando a célula
+ * contém vírgula, aspas ou quebra de linha. A linha é montada num StringBuilder reutilizado e enviada
+ * ao {@link Writer} (que deve ser bufferizado) de uma vez. O título não aparece no arquivo.
+ */
+public class CsvReportSink implements ReportSink {
+
+    private final Writer writer;
+    private final StringBuilder line = new StringBuilder(256);
+    private boolean firstCell = true;
+    private long rows;
+
+    public CsvReportSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void begin(String title, String... columns) throws IOException {
+        for (String column : columns) {
+            cell(column);
+        }
+        flushLine();
+    }
+
+    @Override
+    public void cell(String value) throws IOException {
+        separator();
+        if (value == null) {
+            return;
+        }
+        if (needsQuotes(value)) {
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        } else {
+            line.append(value);
+        }
+    }
+
+    @Override
+    public void cell(long value) throws IOException {
+        separator();
+        line.append(value);
+    }
+
+    @Override
+    public void cell(double value) throws IOException {
+        separator();
+        if (Double.isFinite(value)) {
+            line.append(value);
+        }
+    }
+
+    @Override
+    public void cell(LocalDateTime value) throws IOException {
+        separator();
+        if (value != null) {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(value, line);
+        }
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        flushLine();
+        rows++;
+    }
+
+    @Override
+    public ReportSink fork() {
+        return new CsvReportSink(new StringWriter());
+    }
+
+    @Override
+    public void join(ReportSink fork) throws IOException {
+        if (!(fork instanceof CsvReportSink child) || !(child.writer instanceof StringWriter text)) {
+            throw new IllegalArgumentException("Só é possível juntar um fork de CsvReportSink.");
+        }
+        writer.append(text.getBuffer());
+        rows += child.rows;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void separator() {
+        if (!firstCell) {
+            line.append(',');
+        }
+        firstCell = false;
+    }
+
+    private void flushLine() throws IOException {
+        line.append('\n');
+        writer.append(line);
+        line.setLength(0);
+        firstCell = true;
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,168 @@
+package report;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * JSON em streaming: {@code {"report": ..., "columns": [...], "rows": [{...}, ...], "count": N}}, com
+ * cada linha como um objeto cujas chaves são as colunas. Nada além da linha atual fica em memória;
+ * números não finitos viram {@code null}.
+ */
+public class JsonReportSink implements ReportSink {
+
+    private final Writer writer;
+    private final StringBuilder buffer = new StringBuilder(256);
+    private String[] columns = new String[0];
+    private int column;
+    private long rows;
+    private boolean begun;
+    // Num fork toda linha leva a vírgula; o join a remove se o trecho for o primeiro do relatório
+    private boolean fragment;
+
+    public JsonReportSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void begin(String title, String... columns) throws IOException {
+        this.columns = columns.clone();
+        buffer.append("{\"report\":");
+        appendString(title);
+        buffer.append(",\"columns\":[");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            appendString(columns[i]);
+        }
+        buffer.append("],\"rows\":[");
+        flushBuffer();
+        begun = true;
+    }
+
+    @Override
+    public void cell(String value) throws IOException {
+        key();
+        if (value == null) {
+            buffer.append("null");
+        } else {
+            appendString(value);
+        }
+    }
+
+    @Override
+    public void cell(long value) throws IOException {
+        key();
+        buffer.append(value);
+    }
+
+    @Override
+    public void cell(double value) throws IOException {
+        key();
+        if (Double.isFinite(value)) {
+            buffer.append(value);
+        } else {
+            buffer.append("null");
+        }
+    }
+
+    @Override
+    public void cell(LocalDateTime value) throws IOException {
+        key();
+        if (value == null) {
+            buffer.append("null");
+        } else {
+            buffer.append('"');
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(value, buffer);
+            buffer.append('"');
+        }
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        if (column == 0) {
+            buffer.append(rows > 0 || fragment ? ",\n{}" : "\n{}");
+        } else {
+            buffer.append('}');
+        }
+        column = 0;
+        rows++;
+        flushBuffer();
+    }
+
+    @Override
+    public ReportSink fork() {
+        JsonReportSink child = new JsonReportSink(new StringWriter());
+        child.columns = columns;
+        child.fragment = true;
+        return child;
+    }
+
+    @Override
+    public void join(ReportSink fork) throws IOException {
+        if (!(fork instanceof JsonReportSink child) || !(child.writer instanceof StringWriter text)) {
+            throw new IllegalArgumentException("Só é possível juntar um fork de JsonReportSink.");
+        }
+        StringBuffer rowsText = text.getBuffer();
+        writer.append(rowsText, rows == 0 && rowsText.length() > 0 ? 1 : 0, rowsText.length());
+        rows += child.rows;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (begun) {
+                buffer.append("],\"count\":").append(rows).append("}\n");
+                flushBuffer();
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void key() {
+        if (column == 0) {
+            buffer.append(rows > 0 || fragment ? ",\n{" : "\n{");
+        } else {
+            buffer.append(',');
+        }
+        appendString(column < columns.length ? columns[column] : "col" + column);
+        buffer.append(':');
+        column++;
+    }
+
+    private void appendString(String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> buffer.append("\\\"");
+                case '\\' -> buffer.append("\\\\");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                case '\t' -> buffer.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        buffer.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        buffer.append(c);
+                    }
+                }
+            }
+        }
+        buffer.append('"');
+    }
+
+    private void flushBuffer() throws IOException {
+        writer.append(buffer);
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,126 @@
+package report;
+
+import config.AppConfig;
+import model.Company;
+import model.Wallet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Versão paralela dos relatórios de carteiras e empresas. Os itens são lidos em trechos de
+ * REPORT_CHUNK_SIZE na thread que chama (pode ser o cursor de uma stream do banco); cada trecho é
+ * formatado num {@link ReportSink#fork()} por uma thread do {@link ForkJoinPool} (REPORT_WORKERS
+ * threads), com os seus próprios totais.
+ *
+ * Os trechos entram no arquivo e nos totais sempre na ordem de leitura, então a saída é a mesma do
+ * relatório sequencial e os totais não dependem do número de threads. Só uma janela de trechos fica
+ * em memória por vez (duas vezes o número de threads).
+ */
+public class ParallelReport {
+
+    public static final int DEFAULT_WORKERS = AppConfig.getInt("REPORT_WORKERS", Runtime.getRuntime().availableProcessors());
+    public static final int DEFAULT_CHUNK_SIZE = AppConfig.getInt("REPORT_CHUNK_SIZE", 1000);
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T item, ReportSink sink, ReportTotals totals) throws IOException;
+    }
+
+    private final int workers;
+    private final int chunkSize;
+
+    public ParallelReport() {
+        this(DEFAULT_WORKERS, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelReport(int workers, int chunkSize) {
+        this.workers = Math.max(1, workers);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * @param wallets carteiras na ordem do relatório, ex.: {@code stream::iterator} de
+     *                {@link dao.PortfolioDAO#streamWallets()}; percorridas uma única vez
+     */
+    public ReportTotals writeWalletReport(Iterable<Wallet> wallets, ReportSink sink) throws IOException {
+        sink.begin("wallets", Report.WALLET_COLUMNS);
+        return write(wallets.iterator(), sink, Report::writeWalletRows);
+    }
+
+    public ReportTotals writeCompanyReport(Iterable<Company> companies, ReportSink sink) throws IOException {
+        sink.begin("company_allocations", Report.COMPANY_COLUMNS);
+        return write(companies.iterator(), sink, Report::writeCompanyRows);
+    }
+
+    private <T> ReportTotals write(Iterator<T> items, ReportSink sink, RowWriter<T> rowWriter) throws IOException {
+        ReportTotals totals = new ReportTotals();
+        List<T> first = nextChunk(items);
+        if (workers == 1 || !items.hasNext()) {
+            // Mesmo sem threads, soma por trecho e junta na ordem: a soma em ponto flutuante não é associativa
+            for (List<T> part = first; !part.isEmpty(); part = nextChunk(items)) {
+                ReportTotals partTotals = new ReportTotals();
+                for (T item : part) {
+                    rowWriter.write(item, sink, partTotals);
+                }
+                totals.merge(partTotals);
+            }
+            return totals;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            ArrayDeque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+            int window = workers * 2;
+            List<T> pending = first;
+            while (!pending.isEmpty() || !inFlight.isEmpty()) {
+                while (!pending.isEmpty() && inFlight.size() < window) {
+                    List<T> part = pending;
+                    ReportSink fork = sink.fork();
+                    inFlight.add(pool.submit(() -> render(part, fork, rowWriter)));
+                    pending = nextChunk(items);
+                }
+                Chunk done;
+                try {
+                    done = inFlight.poll().join();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                sink.join(done.sink());
+                totals.merge(done.totals());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return totals;
+    }
+
+    private <T> List<T> nextChunk(Iterator<T> items) {
+        List<T> part = new ArrayList<>(Math.min(chunkSize, 1024));
+        while (part.size() < chunkSize && items.hasNext()) {
+            part.add(items.next());
+        }
+        return part;
+    }
+
+    private static <T> Chunk render(List<T> part, ReportSink fork, RowWriter<T> rowWriter) {
+        ReportTotals totals = new ReportTotals();
+        try {
+            for (T item : part) {
+                rowWriter.write(item, fork, totals);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Chunk(fork, totals);
+    }
+
+    private record Chunk(ReportSink sink, ReportTotals totals) {
+    }
+}
@@ -1,5 +1,8 @@
 package report;
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import model.Company;
 import model.CryptoAsset;
@@ -7,6 +10,9 @@ import model.Transaction;
 import model.Wallet;
 
 public class Report {
+    static final String[] WALLET_COLUMNS = {"wallet_id", "user_id", "symbol", "name", "quantity", "price", "value"};
+    static final String[] COMPANY_COLUMNS = {"company_id", "company", "identifier", "symbol", "quantity"};
+
     public void generateWalletReport(Wallet wallet) {
         System.out.println("=== WALLET REPORT ===");
         List<CryptoAsset> assets = wallet.getAssets();
@@ -42,4 +48,73 @@ public class Report {
             company.showAllocatedAssets();
         }
     }
-}
\ No newline at end of file
+
+    // Versões para arquivo: uma linha por vez no sink, sem montar o relatório em memória.
+    // Quem chama fecha o sink (e a stream, quando vier de um cursor).
+
+    public long writeWalletReport(Iterable<Wallet> wallets, ReportSink sink) throws IOException {
+        sink.begin("wallets", WALLET_COLUMNS);
+        for (Wallet wallet : wallets) {
+            writeWalletRows(wallet, sink, null);
+        }
+        return sink.getRowCount();
+    }
+
+    public long writeTransactionReport(Stream<Transaction> transactions, ReportSink sink) throws IOException {
+        sink.begin("transactions", "id", "timestamp", "user_id", "type", "symbol", "amount");
+        Iterator<Transaction> cursor = transactions.iterator();
+        while (cursor.hasNext()) {
+            Transaction t = cursor.next();
+            sink.cell(t.getId());
+            sink.cell(t.getTimestamp());
+            sink.cell(t.getUserId());
+            sink.cell(t.getType());
+            sink.cell(t.getAsset().getSymbol());
+            sink.cell(t.getAmount());
+            sink.endRow();
+        }
+        return sink.getRowCount();
+    }
+
+    public long writeCompanyReport(Iterable<Company> companies, ReportSink sink) throws IOException {
+        sink.begin("company_allocations", COMPANY_COLUMNS);
+        for (Company company : companies) {
+            writeCompanyRows(company, sink, null);
+        }
+        return sink.getRowCount();
+    }
+
+    /**
+     * Linhas de uma carteira, somando em {@code totals} se informado.
+     */
+    static void writeWalletRows(Wallet wallet, ReportSink sink, ReportTotals totals) throws IOException {
+        for (CryptoAsset asset : wallet.getAssets()) {
+            double value = asset.getTotalValue();
+            sink.cell(wallet.getId());
+            sink.cell(wallet.getUserId());
+            sink.cell(asset.getSymbol());
+            sink.cell(asset.getName());
+            sink.cell(asset.getQuantity());
+            sink.cell(asset.getPrice());
+            sink.cell(value);
+            sink.endRow();
+            if (totals != null) {
+                totals.add(asset.getSymbol(), asset.getQuantity(), value);
+            }
+        }
+    }
+
+    static void writeCompanyRows(Company company, ReportSink sink, ReportTotals totals) throws IOException {
+        for (CryptoAsset asset : company.getAllocatedAssets()) {
+            sink.cell(company.getId());
+            sink.cell(company.getName());
+            sink.cell(company.getIdentifier());
+            sink.cell(asset.getSymbol());
+            sink.cell(asset.getQuantity());
+            sink.endRow();
+            if (totals != null) {
+                totals.add(asset.getSymbol(), asset.getQuantity(), asset.getTotalValue());
+            }
+        }
+    }
+}
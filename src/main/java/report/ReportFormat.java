@@ -0,0 +1,57 @@
+package report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Formatos de arquivo de relatório, escolhidos pela extensão.
+ */
+public enum ReportFormat {
+    CSV(".csv"),
+    JSON(".json");
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final String extension;
+
+    ReportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ReportFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase();
+        for (ReportFormat format : values()) {
+            if (lower.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Formato de relatório desconhecido (use .csv ou .json): " + fileName);
+    }
+
+    public ReportSink open(Writer writer) {
+        return this == CSV ? new CsvReportSink(writer) : new JsonReportSink(writer);
+    }
+
+    /**
+     * Abre (ou substitui) o arquivo em UTF-8 com buffer de 64 KB, no formato indicado pela extensão.
+     */
+    public static ReportSink open(Path file) throws IOException {
+        ReportFormat format = fromFileName(file.getFileName().toString());
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel),
+                StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        return format.open(writer);
+    }
+}
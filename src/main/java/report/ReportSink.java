@@ -0,0 +1,52 @@
+package report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Destino de um relatório tabular: um cabeçalho com as colunas e depois uma linha por vez, célula a
+ * célula, sem guardar as linhas anteriores. As células de cada linha seguem a ordem das colunas.
+ *
+ * Os métodos tipados evitam montar uma String por célula; cada implementação formata direto no seu
+ * buffer reutilizado.
+ */
+public interface ReportSink extends Closeable {
+
+    /**
+     * Início do relatório. Deve ser chamado uma vez, antes da primeira linha.
+     */
+    void begin(String title, String... columns) throws IOException;
+
+    void cell(String value) throws IOException;
+
+    void cell(long value) throws IOException;
+
+    void cell(double value) throws IOException;
+
+    void cell(LocalDateTime value) throws IOException;
+
+    void endRow() throws IOException;
+
+    /**
+     * Sink em memória do mesmo formato e colunas, para montar um trecho do relatório em outra thread
+     * (sem {@link #begin}). O trecho entra no relatório com {@link #join}.
+     */
+    ReportSink fork();
+
+    /**
+     * Acrescenta as linhas de um {@link #fork()} deste sink. Os trechos aparecem na ordem dos joins.
+     */
+    void join(ReportSink fork) throws IOException;
+
+    /**
+     * Quantidade de linhas escritas até agora.
+     */
+    long getRowCount();
+
+    /**
+     * Termina o relatório e fecha o destino.
+     */
+    @Override
+    void close() throws IOException;
+}
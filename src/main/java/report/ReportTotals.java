@@ -0,0 +1,59 @@
+package report;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Totais de um relatório por símbolo (quantidade e valor), mais o total geral. Parciais de trechos
+ * diferentes são combinados com {@link #merge}; combinando sempre na mesma ordem, as somas em ponto
+ * flutuante dão o mesmo resultado em qualquer execução.
+ */
+public class ReportTotals {
+
+    private final Map<String, double[]> bySymbol = new TreeMap<>();
+    private long positions;
+    private double totalValue;
+
+    void add(String symbol, double quantity, double value) {
+        double[] sums = bySymbol.computeIfAbsent(symbol, k -> new double[2]);
+        sums[0] += quantity;
+        sums[1] += value;
+        positions++;
+        totalValue += value;
+    }
+
+    void merge(ReportTotals other) {
+        other.bySymbol.forEach((symbol, sums) -> {
+            double[] mine = bySymbol.computeIfAbsent(symbol, k -> new double[2]);
+            mine[0] += sums[0];
+            mine[1] += sums[1];
+        });
+        positions += other.positions;
+        totalValue += other.totalValue;
+    }
+
+    public long getPositions() {
+        return positions;
+    }
+
+    public double getTotalValue() {
+        return totalValue;
+    }
+
+    public double getQuantity(String symbol) {
+        double[] sums = bySymbol.get(symbol);
+        return sums != null ? sums[0] : 0;
+    }
+
+    public double getValue(String symbol) {
+        double[] sums = bySymbol.get(symbol);
+        return sums != null ? sums[1] : 0;
+    }
+
+    public void printSummary() {
+        System.out.println("=== TOTAIS POR SÍMBOLO ===");
+        bySymbol.forEach((symbol, sums) ->
+                System.out.printf("- %s: %.4f unidade(s) = $%.2f%n", symbol, sums[0], sums[1]));
+        System.out.printf("Total: %,d posição(ões) = $%.2f%n", positions, totalValue);
+    }
+}
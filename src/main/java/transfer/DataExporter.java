@@ -0,0 +1,174 @@
+package transfer;
+
+import config.AppConfig;
+import db.OracleConnection;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exporta todas as tabelas para um diretório de arquivos .txt.gz no formato de registros do
+ * {@link DataImporter}, mais um {@code manifest.txt} com as partes e a quantidade de linhas.
+ *
+ * Cada tabela é dividida em faixas da chave (aprox. EXPORT_CHUNK_ROWS linhas cada); as faixas são
+ * lidas em paralelo, cada uma com sua conexão do pool, e escritas direto no gzip conforme o cursor
+ * avança (fetch size EXPORT_FETCH_SIZE), sem carregar a tabela em memória.
+ *
+ * As partes são lidas em transações separadas, então a exportação não é um snapshot único do banco.
+ * O manifesto só é escrito se todas as partes forem exportadas.
+ */
+public class DataExporter {
+
+    public static final String MANIFEST_FILE = "manifest.txt";
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final int workers;
+    private final int fetchSize;
+    private final long chunkRows;
+
+    public DataExporter() {
+        this(AppConfig.getInt("EXPORT_WORKERS", 4),
+                AppConfig.getInt("EXPORT_FETCH_SIZE", 1000),
+                AppConfig.getLong("EXPORT_CHUNK_ROWS", 100_000));
+    }
+
+    public DataExporter(int workers, int fetchSize, long chunkRows) {
+        this.workers = Math.max(1, workers);
+        this.fetchSize = Math.max(1, fetchSize);
+        this.chunkRows = Math.max(1, chunkRows);
+    }
+
+    public ExportResult export(Path directory) throws IOException, SQLException {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(directory);
+
+        List<ExportPart> parts = planParts();
+        ExportResult result = new ExportResult(directory);
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(workers, OracleConnection.getPool().getMaxSize()), daemonThreads());
+        try {
+            List<Future<?>> futures = new ArrayList<>(parts.size());
+            for (ExportPart part : parts) {
+                futures.add(executor.submit(() -> result.recordPart(part, writePart(directory, part))));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() instanceof UncheckedIOException unchecked ? unchecked.getCause() : e.getCause();
+                    result.recordFailure(parts.get(i), cause.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Exportação interrompida.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (result.isComplete()) {
+            result.writeManifest(directory.resolve(MANIFEST_FILE));
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Divide cada tabela em faixas de chave de tamanho parecido.
+     */
+    private List<ExportPart> planParts() throws SQLException {
+        List<ExportPart> parts = new ArrayList<>();
+        try (Connection conn = OracleConnection.getConnection()) {
+            for (ExportTable table : ExportTable.values()) {
+                try (PreparedStatement stmt = conn.prepareStatement(table.statsSql());
+                     ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    long count = rs.getLong(1);
+                    if (!table.isChunked() || count == 0) {
+                        parts.add(new ExportPart(table, 0, 0, 0));
+                        continue;
+                    }
+                    long min = rs.getLong(2);
+                    long max = rs.getLong(3);
+                    long chunks = Math.max(1, (count + chunkRows - 1) / chunkRows);
+                    long width = Math.max(1, (max - min + chunks) / chunks);
+                    int index = 0;
+                    for (long from = min; from <= max; from += width) {
+                        parts.add(new ExportPart(table, index++, from, Math.min(max, from + width - 1)));
+                    }
+                }
+            }
+        }
+        return parts;
+    }
+
+    private long writePart(Path directory, ExportPart part) {
+        Path file = directory.resolve(part.fileName());
+        long rows = 0;
+        try (Connection conn = OracleConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(part.table().chunkSql());
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                     new GZIPOutputStream(Files.newOutputStream(file), WRITE_BUFFER_SIZE), StandardCharsets.UTF_8),
+                     WRITE_BUFFER_SIZE)) {
+
+            conn.setReadOnly(true);
+            stmt.setFetchSize(fetchSize);
+            if (part.table().isChunked()) {
+                stmt.setLong(1, part.fromKey());
+                stmt.setLong(2, part.toKey());
+            }
+
+            StringBuilder line = new StringBuilder(128);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    line.setLength(0);
+                    part.table().format(rs, line);
+                    writer.append(line).append('\n');
+                    rows++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new UncheckedIOException(new IOException("Erro ao exportar " + part.fileName() + ": " + e.getMessage(), e));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "voltz-export-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Faixa de chaves de uma tabela, exportada em um arquivo.
+     */
+    record ExportPart(ExportTable table, int index, long fromKey, long toKey) {
+        String fileName() {
+            return String.format("%s-%04d.txt.gz", table.getTableName(), index);
+        }
+    }
+}
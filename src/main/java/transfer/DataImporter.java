@@ -0,0 +1,549 @@
+package transfer;
+
+import config.AppConfig;
+import dao.AssetPosition;
+import dao.BatchResult;
+import dao.CompanyInvestment;
+import dao.DAOFactory;
+import model.Company;
+import model.CryptoAsset;
+import model.Transaction;
+import model.User;
+import model.Wallet;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Importação em streaming dos arquivos de dados (data.txt, data_test.txt ou exportações .gz).
+ *
+ * Formato: um registro por linha, colunas separadas por {@code ;} ou {@code |}, linhas vazias e
+ * iniciadas por {@code #} ignoradas.
+ * <pre>
+ * USER;id;email;name[;password]         (email e nome podem vir invertidos: o campo com '@' é o email)
+ * COMPANY;id;name;identifier
+ * ASSET;name;symbol;quantity;price
+ * PRICE;symbol;price
+ * WALLET;id;userId
+ * REL;userId;companyId[;investedAmount[;startDate]]
+ * ALLOC;companyId;symbol;quantity
+ * HOLDING;walletId;symbol;quantity
+ * TX;userId;symbol;amount;BUY|SELL[;timestamp[;price]]   (userId vazio = transação sem usuário)
+ * </pre>
+ * Dentro de um campo, {@code \} escapa o caractere seguinte ({@code \;}, {@code \|}, {@code \\}), e
+ * {@code \n}/{@code \r} são quebras de linha: é assim que o {@link DataExporter} grava valores com esses
+ * caracteres.
+ *
+ * O arquivo é lido uma vez por nível de chave estrangeira ({@link RecordType#getLevel()}), então
+ * usuários, empresas e ativos já estão no banco quando carteiras, relações e transações são gravadas.
+ * Cada passada monta lotes por tipo e os entrega a um pool de workers com fila limitada: quando a
+ * fila enche a própria thread de leitura grava o lote, segurando a leitura. A memória usada depende
+ * do tamanho do lote e da quantidade de chaves distintas (deduplicação), não do tamanho do arquivo.
+ *
+ * Registros repetidos são deduplicados pela chave: vale o primeiro, os seguintes são contados como
+ * duplicados. IDs de empresa do arquivo são traduzidos para os IDs gerados pelo banco via identifier;
+ * IDs que não aparecem em nenhum registro COMPANY são usados como estão.
+ *
+ * {@link #importDump(Path)} importa um diretório gerado pelo {@link DataExporter}: as partes listadas
+ * no manifesto são lidas apenas na passada do nível do seu tipo de registro.
+ */
+public class DataImporter {
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    static final char ESCAPE = '\\';
+
+    private final DAOFactory factory;
+    private final int batchSize;
+    private final int workers;
+    private final String defaultPassword;
+
+    public DataImporter() {
+        this(DAOFactory.getInstance(),
+                AppConfig.getInt("IMPORT_BATCH_SIZE", BatchResult.DEFAULT_BATCH_SIZE),
+                AppConfig.getInt("IMPORT_WORKERS", 4));
+    }
+
+    public DataImporter(DAOFactory factory, int batchSize, int workers) {
+        this.factory = factory;
+        this.batchSize = Math.max(1, batchSize);
+        this.workers = Math.max(1, workers);
+        this.defaultPassword = AppConfig.get("IMPORT_DEFAULT_PASSWORD", "voltz123");
+    }
+
+    public ImportResult importFile(Path file) throws IOException {
+        return run(file, List.of(new SourceFile(file, null)));
+    }
+
+    /**
+     * Importa uma exportação do {@link DataExporter}.
+     *
+     * @param dump o diretório da exportação ou o seu {@code manifest.txt}
+     */
+    public ImportResult importDump(Path dump) throws IOException {
+        Path manifest = Files.isDirectory(dump) ? dump.resolve(DataExporter.MANIFEST_FILE) : dump;
+        Path directory = manifest.toAbsolutePath().getParent();
+        List<SourceFile> files = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = split(line, ';');
+                // PART;arquivo;tabela;tipo de registro;linhas
+                if (fields.length >= 4 && fields[0].equals("PART")) {
+                    RecordType type = RecordType.fromTag(fields[3]);
+                    if (type == null) {
+                        throw new IOException("Tipo de registro desconhecido no manifesto: " + line);
+                    }
+                    files.add(new SourceFile(directory.resolve(fields[1]), type));
+                }
+            }
+        }
+        if (files.isEmpty()) {
+            throw new IOException("Manifesto sem partes: " + manifest);
+        }
+        return run(directory, files);
+    }
+
+    private ImportResult run(Path source, List<SourceFile> files) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportRun run = new ImportRun(source, files);
+        for (int level = 0; level < RecordType.LEVELS; level++) {
+            run.pass(level);
+            if (level == 0) {
+                run.resolveKeys();
+            }
+        }
+        run.result.setElapsedMillis(System.currentTimeMillis() - start);
+        return run.result;
+    }
+
+    static BufferedReader open(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, READ_BUFFER_SIZE);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+    }
+
+    /**
+     * Divide a linha pelo separador sem regex ({@code |} é metacaractere em {@link String#split}),
+     * ignorando separadores escapados e desfazendo os escapes de cada campo.
+     */
+    static String[] split(String line, char separator) {
+        List<String> fields = new ArrayList<>(6);
+        int start = 0;
+        boolean escaped = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == ESCAPE) {
+                escaped = true;
+                i++;
+            } else if (c == separator) {
+                fields.add(field(line, start, i, escaped));
+                start = i + 1;
+                escaped = false;
+            }
+        }
+        fields.add(field(line, start, line.length(), escaped));
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Separador da linha: {@code |} se houver algum não escapado, senão {@code ;}.
+     */
+    static char separatorOf(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == ESCAPE) {
+                i++;
+            } else if (c == '|') {
+                return '|';
+            }
+        }
+        return ';';
+    }
+
+    private static String field(String line, int start, int end, boolean escaped) {
+        String raw = line.substring(start, Math.min(end, line.length())).trim();
+        if (!escaped) {
+            return raw;
+        }
+        StringBuilder value = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == ESCAPE && i + 1 < raw.length()) {
+                char next = raw.charAt(++i);
+                value.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                value.append(c);
+            }
+        }
+        return value.toString();
+    }
+
+    /**
+     * Arquivo de entrada; {@code type} vem do manifesto e é {@code null} em arquivos com tipos misturados.
+     */
+    private record SourceFile(Path path, RecordType type) {
+    }
+
+    /**
+     * Estado de uma importação: chaves já vistas, tradução de IDs e contadores.
+     */
+    private final class ImportRun {
+        private final List<SourceFile> files;
+        private final ImportResult result;
+
+        private final LongHashSet userIds = new LongHashSet();
+        private final Set<String> userEmails = new HashSet<>();
+        private final LongHashSet companyIds = new LongHashSet();
+        private final Set<String> companyIdentifiers = new HashSet<>();
+        private final Set<String> assetSymbols = new HashSet<>();
+        private final Set<String> priceSymbols = new HashSet<>();
+        private final LongHashSet walletIds = new LongHashSet();
+        private final LongHashSet relationKeys = new LongHashSet();
+        private final LongHashSet allocationKeys = new LongHashSet();
+        private final LongHashSet holdingKeys = new LongHashSet();
+
+        // ID da empresa no arquivo -> identifier, e depois da primeira passada -> ID no banco
+        private final Map<Integer, String> companyIdentifierByFileId = new HashMap<>();
+        private final Map<Integer, Integer> companyIdByFileId = new HashMap<>();
+        private final Map<String, Integer> assetIdBySymbol = new HashMap<>();
+
+        private ImportRun(Path source, List<SourceFile> files) {
+            this.files = files;
+            this.result = new ImportResult(source);
+        }
+
+        private void pass(int level) throws IOException {
+            ThreadPoolExecutor executor = newExecutor(level);
+            Map<RecordType, List<Object>> pending = new EnumMap<>(RecordType.class);
+            try {
+                for (SourceFile file : files) {
+                    if (file.type() == null || file.type().getLevel() == level) {
+                        read(file.path(), level, executor, pending);
+                    }
+                }
+                pending.forEach((type, batch) -> submit(executor, type, batch));
+            } finally {
+                executor.shutdown();
+                awaitQuietly(executor);
+            }
+        }
+
+        private void read(Path file, int level, ThreadPoolExecutor executor,
+                          Map<RecordType, List<Object>> pending) throws IOException {
+            try (BufferedReader reader = open(file)) {
+                String line;
+                long lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    line = line.trim();
+                    if (line.isEmpty() || line.charAt(0) == '#') {
+                        continue;
+                    }
+                    String[] fields = split(line, separatorOf(line));
+                    RecordType type = RecordType.fromTag(fields[0]);
+                    if (type == null) {
+                        if (level == 0) {
+                            result.recordInvalid(null, lineNumber, file.getFileName() + ": tipo de registro desconhecido '" + fields[0] + "'");
+                        }
+                        continue;
+                    }
+                    if (type.getLevel() != level) {
+                        continue;
+                    }
+
+                    result.recordRead(type);
+                    Object row;
+                    try {
+                        row = toRow(type, fields);
+                    } catch (IllegalArgumentException e) {
+                        result.recordInvalid(type, lineNumber, file.getFileName() + ": " + e.getMessage());
+                        continue;
+                    }
+                    if (row == null) {
+                        result.recordDuplicate(type);
+                        continue;
+                    }
+
+                    List<Object> batch = pending.computeIfAbsent(type, t -> new ArrayList<>(batchSize));
+                    batch.add(row);
+                    if (batch.size() >= batchSize) {
+                        submit(executor, type, batch);
+                        pending.remove(type);
+                    }
+                }
+            }
+        }
+
+        private ThreadPoolExecutor newExecutor(int level) {
+            AtomicInteger counter = new AtomicInteger();
+            // Fila limitada + CallerRunsPolicy: quando os workers não dão conta, a leitura espera
+            return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(workers * 2),
+                    r -> {
+                        Thread t = new Thread(r, "voltz-import-" + level + "-" + counter.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        private void submit(ThreadPoolExecutor executor, RecordType type, List<Object> batch) {
+            executor.execute(() -> {
+                try {
+                    result.recordBatch(type, write(type, batch));
+                } catch (RuntimeException e) {
+                    result.recordBatchFailure(type, batch.size(), "erro inesperado no lote: " + e.getMessage());
+                }
+            });
+        }
+
+        private void awaitQuietly(ThreadPoolExecutor executor) {
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    System.out.println("⏳ Importação em andamento... " + result.getTotalWritten() + " registro(s) gravado(s).");
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Depois da primeira passada: IDs gerados para empresas e ativos.
+         */
+        private void resolveKeys() {
+            if (!companyIdentifierByFileId.isEmpty()) {
+                Map<String, Integer> idByIdentifier = new HashMap<>();
+                for (Company company : factory.getCompanyDAO().findAll()) {
+                    idByIdentifier.put(company.getIdentifier(), company.getId());
+                }
+                companyIdentifierByFileId.forEach((fileId, identifier) -> {
+                    Integer id = idByIdentifier.get(identifier);
+                    if (id != null) {
+                        companyIdByFileId.put(fileId, id);
+                    }
+                });
+                companyIdentifierByFileId.clear();
+            }
+            for (CryptoAsset asset : factory.getCryptoAssetDAO().findAll()) {
+                assetIdBySymbol.put(asset.getSymbol(), asset.getId());
+            }
+        }
+
+        /**
+         * Converte a linha no objeto gravado pelo DAO.
+         *
+         * @return o objeto, ou {@code null} se a chave já foi vista
+         * @throws IllegalArgumentException se a linha for inválida
+         */
+        private Object toRow(RecordType type, String[] f) {
+            switch (type) {
+                case USER: {
+                    require(f, 4, "USER;id;email;name");
+                    int id = parseInt(f[1], "id");
+                    // data.txt usa id;email;name e data_test.txt usa id|name|email
+                    boolean emailFirst = f[2].indexOf('@') >= 0;
+                    String email = emailFirst ? f[2] : f[3];
+                    String name = emailFirst ? f[3] : f[2];
+                    if (email.indexOf('@') < 0) {
+                        throw new IllegalArgumentException("usuário " + id + " sem email válido");
+                    }
+                    String password = f.length > 4 && !f[4].isEmpty() ? f[4] : defaultPassword;
+                    if (!userIds.add(id) || !userEmails.add(email)) {
+                        return null;
+                    }
+                    return new User(name, id, email, password);
+                }
+                case COMPANY: {
+                    require(f, 4, "COMPANY;id;name;identifier");
+                    int id = parseInt(f[1], "id");
+                    if (!companyIds.add(id) || !companyIdentifiers.add(f[3])) {
+                        return null;
+                    }
+                    companyIdentifierByFileId.put(id, f[3]);
+                    return new Company(f[2], id, f[3]);
+                }
+                case ASSET: {
+                    require(f, 5, "ASSET;name;symbol;quantity;price");
+                    double quantity = parseDouble(f[3], "quantity");
+                    double price = parseDouble(f[4], "price");
+                    if (!assetSymbols.add(f[2])) {
+                        return null;
+                    }
+                    return new CryptoAsset(f[1], f[2], quantity, price);
+                }
+                case PRICE: {
+                    require(f, 3, "PRICE;symbol;price");
+                    double price = parseDouble(f[2], "price");
+                    if (!priceSymbols.add(f[1])) {
+                        return null;
+                    }
+                    return Map.entry(f[1], price);
+                }
+                case WALLET: {
+                    require(f, 3, "WALLET;id;userId");
+                    int id = parseInt(f[1], "id");
+                    int userId = parseInt(f[2], "userId");
+                    if (!walletIds.add(id)) {
+                        return null;
+                    }
+                    return new Wallet(id, userId, f.length > 3 ? f[3] : null);
+                }
+                case REL: {
+                    require(f, 3, "REL;userId;companyId");
+                    int userId = parseInt(f[1], "userId");
+                    int companyId = companyId(parseInt(f[2], "companyId"));
+                    double invested = f.length > 3 && !f[3].isEmpty() ? parseDouble(f[3], "investedAmount") : 0.0;
+                    LocalDate startDate = f.length > 4 && !f[4].isEmpty() ? parseDate(f[4]) : LocalDate.now();
+                    if (!relationKeys.add(LongHashSet.pack(userId, companyId))) {
+                        return null;
+                    }
+                    return new CompanyInvestment(userId, companyId, invested, startDate);
+                }
+                case ALLOC: {
+                    require(f, 4, "ALLOC;companyId;symbol;quantity");
+                    int companyId = companyId(parseInt(f[1], "companyId"));
+                    int assetId = assetId(f[2]);
+                    double quantity = parseDouble(f[3], "quantity");
+                    if (!allocationKeys.add(LongHashSet.pack(companyId, assetId))) {
+                        return null;
+                    }
+                    return new AssetPosition(companyId, assetId, quantity);
+                }
+                case HOLDING: {
+                    require(f, 4, "HOLDING;walletId;symbol;quantity");
+                    int walletId = parseInt(f[1], "walletId");
+                    int assetId = assetId(f[2]);
+                    double quantity = parseDouble(f[3], "quantity");
+                    if (!holdingKeys.add(LongHashSet.pack(walletId, assetId))) {
+                        return null;
+                    }
+                    return new AssetPosition(walletId, assetId, quantity);
+                }
+                case TX: {
+                    require(f, 5, "TX;userId;symbol;amount;type");
+                    // 0 é gravado como user_id NULL
+                    int userId = f[1].isEmpty() ? 0 : parseInt(f[1], "userId");
+                    int assetId = assetId(f[2]);
+                    double amount = parseDouble(f[3], "amount");
+                    String txType = f[4].toUpperCase();
+                    if (!txType.equals("BUY") && !txType.equals("SELL")) {
+                        throw new IllegalArgumentException("tipo de transação inválido '" + f[4] + "'");
+                    }
+                    Transaction transaction = new Transaction(new CryptoAsset(assetId, null, f[2], 0, 0), amount, txType, userId);
+                    if (f.length > 5 && !f[5].isEmpty()) {
+                        transaction.setTimestamp(parseTimestamp(f[5]));
+                    }
+                    transaction.setPrice(f.length > 6 && !f[6].isEmpty() ? parseDouble(f[6], "price") : Double.NaN);
+                    return transaction;
+                }
+                default:
+                    throw new IllegalArgumentException("tipo não suportado " + type);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private BatchResult write(RecordType type, List<?> rows) {
+            switch (type) {
+                case USER:
+                    return factory.getUserDAO().insertAll((List<User>) rows, batchSize);
+                case COMPANY:
+                    return factory.getCompanyDAO().insertAll((List<Company>) rows, batchSize);
+                case ASSET:
+                    return factory.getCryptoAssetDAO().insertAll((List<CryptoAsset>) rows, batchSize);
+                case PRICE: {
+                    Map<String, Double> prices = new LinkedHashMap<>();
+                    for (Object row : rows) {
+                        Map.Entry<String, Double> entry = (Map.Entry<String, Double>) row;
+                        prices.put(entry.getKey(), entry.getValue());
+                    }
+                    return factory.getMarketDAO().saveAll(prices, batchSize);
+                }
+                case WALLET:
+                    return factory.getWalletDAO().insertAll((List<Wallet>) rows, batchSize);
+                case REL:
+                    return factory.getUserCompanyRelationDAO().insertAll((List<CompanyInvestment>) rows, batchSize);
+                case ALLOC:
+                    return factory.getCompanyCryptoAssetDAO().addOrUpdateAssetsForCompanies((List<AssetPosition>) rows, batchSize);
+                case HOLDING:
+                    return factory.getWalletCryptoAssetDAO().addCryptoAssetsToWallets((List<AssetPosition>) rows, batchSize);
+                case TX:
+                    return factory.getTransactionDAO().insertAll((List<Transaction>) rows, batchSize);
+                default:
+                    throw new IllegalStateException("Tipo não suportado: " + type);
+            }
+        }
+
+        private int companyId(int fileId) {
+            return companyIdByFileId.getOrDefault(fileId, fileId);
+        }
+
+        private int assetId(String symbol) {
+            Integer id = assetIdBySymbol.get(symbol);
+            if (id == null) {
+                throw new IllegalArgumentException("ativo '" + symbol + "' não existe");
+            }
+            return id;
+        }
+    }
+
+    private static void require(String[] fields, int count, String format) {
+        if (fields.length < count) {
+            throw new IllegalArgumentException("esperado " + format + ", recebido " + String.join(";", fields));
+        }
+    }
+
+    private static int parseInt(String value, String field) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " inválido '" + value + "'");
+        }
+    }
+
+    private static double parseDouble(String value, String field) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " inválido '" + value + "'");
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("data inválida '" + value + "' (use AAAA-MM-DD)");
+        }
+    }
+
+    private static LocalDateTime parseTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("data/hora inválida '" + value + "' (use AAAA-MM-DDTHH:MM:SS)");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package transfer;
+
+import transfer.DataExporter.ExportPart;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Resultado de uma exportação: linhas por parte e por tabela, e as partes que falharam.
+ */
+public class ExportResult {
+
+    private static final Comparator<ExportPart> PART_ORDER =
+            Comparator.comparing(ExportPart::table).thenComparingInt(ExportPart::index);
+
+    private final Path directory;
+    private final ConcurrentSkipListMap<ExportPart, Long> rowsByPart = new ConcurrentSkipListMap<>(PART_ORDER);
+    private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+    private long elapsedMillis;
+
+    ExportResult(Path directory) {
+        this.directory = directory;
+    }
+
+    void recordPart(ExportPart part, long rows) {
+        rowsByPart.put(part, rows);
+    }
+
+    void recordFailure(ExportPart part, String reason) {
+        failures.add(part.fileName() + ": " + reason);
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    public List<String> getFailures() {
+        return List.copyOf(failures);
+    }
+
+    public Map<String, Long> getRowsByTable() {
+        Map<ExportTable, Long> byTable = new EnumMap<>(ExportTable.class);
+        rowsByPart.forEach((part, rows) -> byTable.merge(part.table(), rows, Long::sum));
+        Map<String, Long> result = new LinkedHashMap<>();
+        byTable.forEach((table, rows) -> result.put(table.getTableName(), rows));
+        return result;
+    }
+
+    public long getTotalRows() {
+        long total = 0;
+        for (long rows : rowsByPart.values()) {
+            total += rows;
+        }
+        return total;
+    }
+
+    public int getPartCount() {
+        return rowsByPart.size();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    void writeManifest(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# VOLTZ CRYPTO MANAGEMENT SYSTEM - DATA EXPORT\n");
+            writer.write("# Generated: " + LocalDateTime.now() + "\n");
+            writer.write("# PART;arquivo;tabela;tipo de registro;linhas\n");
+            for (Map.Entry<ExportPart, Long> entry : rowsByPart.entrySet()) {
+                ExportPart part = entry.getKey();
+                writer.write(String.join(";", "PART", part.fileName(), part.table().getTableName(),
+                        part.table().getRecordType().name(), String.valueOf(entry.getValue())));
+                writer.newLine();
+            }
+            for (Map.Entry<String, Long> entry : getRowsByTable().entrySet()) {
+                writer.write("TABLE;" + entry.getKey() + ";" + entry.getValue());
+                writer.newLine();
+            }
+            writer.write("TOTAL;" + getTotalRows());
+            writer.newLine();
+        }
+    }
+
+    public void printSummary() {
+        if (isComplete()) {
+            System.out.println("\n📤 Exportação para " + directory + " concluída em " + elapsedMillis + "ms ("
+                    + getPartCount() + " parte(s), " + getTotalRows() + " linha(s))");
+            getRowsByTable().forEach((table, rows) -> System.out.printf("   %-22s %10d%n", table, rows));
+        } else {
+            System.err.println("\n❌ Exportação para " + directory + " incompleta: manifesto não foi gerado.");
+            for (String failure : getFailures()) {
+                System.err.println("   ❌ " + failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package transfer;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Tabelas exportadas, com o SQL de leitura e a conversão de cada linha para o formato de registro
+ * aceito pelo {@link DataImporter}.
+ */
+enum ExportTable {
+
+    USERS("users", RecordType.USER, "id",
+            "SELECT id, email, name, password FROM users") {
+        @Override
+        void format(ResultSet rs, StringBuilder line) throws SQLException {
+            append(line, rs.getInt("id"), rs.getString("email"), rs.getString("name"), rs.getString("password"));
+        }
+    },
+    COMPANY("company", RecordType.COMPANY, "id",
+            "SELECT id, name, identifier FROM company") {
+        @Override
+        void format(ResultSet rs, StringBuilder line) throws SQLException {
+            append(line, rs.getInt("id"), rs.getString("name"), rs.getString("identifier"));
+        }
+    },
+    CRYPTO_ASSET("cryptoAsset", RecordType.ASSET, "id",
+            "SELECT id, name, symbol, quantity, price FROM cryptoAsset") {
+        @Override
+        void format(ResultSet rs, StringBuilder line) throws SQLException {
+            append(line, rs.getString("name"), rs.getString("symbol"), rs.getDouble("quantity"), rs.getDouble("price"));
+        }
+    },
+    WALLET("wallet", RecordType.WALLET, "id",
+            "SELECT id, user_id FROM wallet") {
+        @Override
+        void format(ResultSet rs, StringBuilder line) throws SQLException {
+            append(line, rs.getInt("id"), rs.getInt("user_id"));
+        }
+    },
+    WALLET_CRYPTO_ASSET("wallet_cryptoAsset", RecordType.HOLDING, "wca.wallet_id",
+            "SELECT wca.wallet_id, ca.symbol, wca.quantity FROM wallet_cryptoAsset wca " +
+            "JOIN cryptoAsset ca ON ca.id = wca.crypto_asset_id") {
+        @Override
+        void format(ResultSet rs, StringBuilder line) throws SQLException {
+            append(line, rs.getInt("wallet_id"), rs.getString("symbol"), rs.getDouble("quantity"));
+        }
+    },
+    TRANSACTION("transaction", RecordType.TX, "t.id",
+            "SELECT t.user_id, ca.symbol, t.amount, t.type, t.timestamp, t.price FROM transaction t " +
+            "JOIN cryptoAsset ca ON ca.id = t.crypto_asset_id") {
+        @Override
+        void format(ResultSet rs, StringBuilder line) throws SQLException {
+            Timestamp timestamp = rs.getTimestamp("timestamp");
+            int userId = rs.getInt("user_id");
+            // Transação sem usuário: campo vazio, importado de volta como NULL
+            Object userField = rs.wasNull() ? "" : userId;
+            double price = rs.getDouble("price");
+            Object priceField = rs.wasNull() ? "" : price;
+            append(line, userField, rs.getString("symbol"), rs.getDouble("amount"), rs.getString("type"),
+                    timestamp != null ? timestamp.toLocalDateTime() : "", priceField);
+        }
+    },
+    USER_COMPANY_RELATION("userCompanyRelation", RecordType.REL, "user_id",
+            "SELECT user_id, company_id, invested_amount, start_date FROM userCompanyRelation") {
+        @Override
+        void format(ResultSet rs, StringBuilder line) throws SQLException {
+            append(line, rs.getInt("user_id"), rs.getInt("company_id"), rs.getDouble("invested_amount"),
+                    rs.getDate("start_date").toLocalDate());
+        }
+    },
+    COMPANY_CRYPTO_ASSET("company_cryptoAsset", RecordType.ALLOC, "cca.company_id",
+            "SELECT cca.company_id, ca.symbol, cca.quantity FROM company_cryptoAsset cca " +
+            "JOIN cryptoAsset ca ON ca.id = cca.crypto_asset_id") {
+        @Override
+        void format(ResultSet rs, StringBuilder line) throws SQLException {
+            append(line, rs.getInt("company_id"), rs.getString("symbol"), rs.getDouble("quantity"));
+        }
+    },
+    // Chave textual: exportada em uma única parte
+    MARKET("market", RecordType.PRICE, null,
+            "SELECT symbol, price FROM market") {
+        @Override
+        void format(ResultSet rs, StringBuilder line) throws SQLException {
+            append(line, rs.getString("symbol"), rs.getDouble("price"));
+        }
+    };
+
+    static final char SEPARATOR = ';';
+
+    private final String tableName;
+    private final RecordType recordType;
+    private final String keyColumn;
+    private final String selectSql;
+
+    ExportTable(String tableName, RecordType recordType, String keyColumn, String selectSql) {
+        this.tableName = tableName;
+        this.recordType = recordType;
+        this.keyColumn = keyColumn;
+        this.selectSql = selectSql;
+    }
+
+    /**
+     * Escreve a linha atual do ResultSet em {@code line}, sem a quebra de linha.
+     */
+    abstract void format(ResultSet rs, StringBuilder line) throws SQLException;
+
+    String getTableName() {
+        return tableName;
+    }
+
+    RecordType getRecordType() {
+        return recordType;
+    }
+
+    boolean isChunked() {
+        return keyColumn != null;
+    }
+
+    /**
+     * Quantidade de linhas e faixa de chaves, para dividir a tabela em partes.
+     */
+    String statsSql() {
+        return isChunked()
+                ? "SELECT COUNT(*), MIN(" + keyColumn + "), MAX(" + keyColumn + ") FROM " + fromClause()
+                : "SELECT COUNT(*) FROM " + tableName;
+    }
+
+    String chunkSql() {
+        return isChunked()
+                ? selectSql + " WHERE " + keyColumn + " BETWEEN ? AND ? ORDER BY " + keyColumn
+                : selectSql + " ORDER BY symbol";
+    }
+
+    private String fromClause() {
+        return selectSql.substring(selectSql.indexOf(" FROM ") + " FROM ".length());
+    }
+
+    void append(StringBuilder line, Object... fields) {
+        line.append(recordType.name());
+        for (Object field : fields) {
+            line.append(SEPARATOR);
+            if (field != null) {
+                appendEscaped(line, field.toString());
+            }
+        }
+    }
+
+    /**
+     * Escapa com {@code \} separadores, barras invertidas e quebras de linha dentro do campo
+     * (desfeito por {@link DataImporter#split}), para o valor voltar igual na importação.
+     */
+    private static void appendEscaped(StringBuilder line, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case SEPARATOR, '|', DataImporter.ESCAPE -> line.append(DataImporter.ESCAPE).append(c);
+                default -> line.append(c);
+            }
+        }
+    }
+}
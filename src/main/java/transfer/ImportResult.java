@@ -0,0 +1,144 @@
+package transfer;
+
+import dao.BatchResult;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de uma importação, por tipo de registro. Atualizados pela thread de leitura e pelos workers.
+ */
+public class ImportResult {
+
+    private static final int MAX_PROBLEMS = 50;
+
+    private final Path file;
+    private final LongAdder[] read = newCounters();
+    private final LongAdder[] duplicates = newCounters();
+    private final LongAdder[] invalid = newCounters();
+    private final LongAdder[] written = newCounters();
+    private final LongAdder[] failed = newCounters();
+    private final LongAdder ignoredLines = new LongAdder();
+    private final List<String> problems = new ArrayList<>();
+    private long problemCount;
+    private long elapsedMillis;
+
+    ImportResult(Path file) {
+        this.file = file;
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[RecordType.values().length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    void recordRead(RecordType type) {
+        read[type.ordinal()].increment();
+    }
+
+    void recordDuplicate(RecordType type) {
+        duplicates[type.ordinal()].increment();
+    }
+
+    void recordInvalid(RecordType type, long lineNumber, String reason) {
+        if (type != null) {
+            invalid[type.ordinal()].increment();
+        } else {
+            ignoredLines.increment();
+        }
+        addProblem("Linha " + lineNumber + ": " + reason);
+    }
+
+    void recordBatch(RecordType type, BatchResult result) {
+        written[type.ordinal()].add(result.getSucceededCount());
+        failed[type.ordinal()].add(result.getFailedCount());
+        for (String error : result.getErrors()) {
+            addProblem(type + ": " + error);
+        }
+    }
+
+    void recordBatchFailure(RecordType type, int rows, String reason) {
+        failed[type.ordinal()].add(rows);
+        addProblem(type + ": " + reason);
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    private synchronized void addProblem(String problem) {
+        problemCount++;
+        if (problems.size() < MAX_PROBLEMS) {
+            problems.add(problem);
+        }
+    }
+
+    public long getRead(RecordType type) {
+        return read[type.ordinal()].sum();
+    }
+
+    public long getDuplicates(RecordType type) {
+        return duplicates[type.ordinal()].sum();
+    }
+
+    public long getInvalid(RecordType type) {
+        return invalid[type.ordinal()].sum();
+    }
+
+    public long getWritten(RecordType type) {
+        return written[type.ordinal()].sum();
+    }
+
+    public long getFailed(RecordType type) {
+        return failed[type.ordinal()].sum();
+    }
+
+    public long getTotalWritten() {
+        long total = 0;
+        for (RecordType type : RecordType.values()) {
+            total += getWritten(type);
+        }
+        return total;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Primeiros problemas encontrados (linhas inválidas e linhas rejeitadas pelo banco).
+     */
+    public synchronized List<String> getProblems() {
+        return Collections.unmodifiableList(new ArrayList<>(problems));
+    }
+
+    public void printSummary() {
+        System.out.println("\n📥 Importação de " + file + " concluída em " + elapsedMillis + "ms");
+        System.out.printf("%-8s %10s %10s %10s %10s %10s%n", "Tipo", "Lidos", "Gravados", "Duplic.", "Inválidos", "Falhas");
+        for (RecordType type : RecordType.values()) {
+            if (getRead(type) > 0) {
+                System.out.printf("%-8s %10d %10d %10d %10d %10d%n", type, getRead(type), getWritten(type),
+                        getDuplicates(type), getInvalid(type), getFailed(type));
+            }
+        }
+        if (ignoredLines.sum() > 0) {
+            System.out.println("⚠️ " + ignoredLines.sum() + " linha(s) com tipo de registro desconhecido ignorada(s).");
+        }
+        List<String> shown = getProblems();
+        if (!shown.isEmpty()) {
+            System.err.println("⚠️ Problemas encontrados (" + problemCount + "):");
+            for (String problem : shown) {
+                System.err.println("   ❌ " + problem);
+            }
+            if (problemCount > shown.size()) {
+                System.err.println("   ... e mais " + (problemCount - shown.size()) + ".");
+            }
+        }
+    }
+}
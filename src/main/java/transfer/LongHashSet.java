@@ -0,0 +1,92 @@
+package transfer;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de {@code long} com endereçamento aberto, usado na deduplicação do importador para não
+ * manter um objeto {@code Long} por chave lida.
+ */
+final class LongHashSet {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int size;
+    private boolean containsEmptyKey;
+
+    LongHashSet() {
+        this(1024);
+    }
+
+    LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = newTable(capacity);
+    }
+
+    /**
+     * @return {@code true} se a chave ainda não estava no conjunto
+     */
+    boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsEmptyKey) {
+                return false;
+            }
+            containsEmptyKey = true;
+            size++;
+            return true;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+        if (!insert(keys, key)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Chave composta de dois inteiros (ex.: usuário e empresa de uma relação).
+     */
+    static long pack(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    private static boolean insert(long[] table, long key) {
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while (table[slot] != EMPTY) {
+            if (table[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = key;
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        long[] table = newTable(capacity);
+        for (long key : keys) {
+            if (key != EMPTY) {
+                insert(table, key);
+            }
+        }
+        keys = table;
+    }
+
+    private static long[] newTable(int capacity) {
+        long[] table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
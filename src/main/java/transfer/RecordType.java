@@ -0,0 +1,41 @@
+package transfer;
+
+/**
+ * Tipos de registro dos arquivos de dados, com o nível de cada um na ordem das chaves estrangeiras:
+ * um registro só é gravado depois de todos os registros dos níveis anteriores.
+ */
+public enum RecordType {
+    USER(0),
+    COMPANY(0),
+    ASSET(0),
+    WALLET(1),
+    REL(1),
+    PRICE(1),
+    ALLOC(1),
+    HOLDING(2),
+    TX(2);
+
+    static final int LEVELS = 3;
+
+    private final int level;
+
+    RecordType(int level) {
+        this.level = level;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return o tipo correspondente à primeira coluna da linha, ou {@code null} se não for reconhecido
+     */
+    static RecordType fromTag(String tag) {
+        for (RecordType type : values()) {
+            if (type.name().equalsIgnoreCase(tag)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}